@@ -0,0 +1,59 @@
+// Carga mixta login / refresh / introspección para comparar modos de ejecución (k6)
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e USER_EMAIL=... -e USER_PASSWORD=... docs/load-test/auth-load.js
+//
+// Variables opcionales: RATE (iteraciones/s, 200 por defecto), DURATION (5m), LOGIN_SHARE (0.1)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = Number(__ENV.RATE || 200);
+const DURATION = __ENV.DURATION || '5m';
+const LOGIN_SHARE = Number(__ENV.LOGIN_SHARE || 0.1);
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    thresholds: {
+        'http_req_duration{flow:refresh}': ['p(99)<500'],
+        'http_req_duration{flow:introspect}': ['p(99)<200'],
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function login() {
+    return http.post(`${BASE_URL}/auth/login`, JSON.stringify({
+        email: __ENV.USER_EMAIL,
+        password: __ENV.USER_PASSWORD,
+    }), Object.assign({ tags: { flow: 'login' } }, JSON_HEADERS));
+}
+
+export function setup() {
+    const res = login();
+    check(res, { 'login de preparación': (r) => r.status === 200 });
+    return res.json();
+}
+
+export default function (tokens) {
+    const roll = Math.random();
+    if (roll < LOGIN_SHARE) {
+        check(login(), { 'login 200': (r) => r.status === 200 });
+    } else if (roll < LOGIN_SHARE + (1 - LOGIN_SHARE) / 2) {
+        const res = http.post(`${BASE_URL}/auth/refresh`, JSON.stringify({ refreshToken: tokens.refreshToken }),
+            Object.assign({ tags: { flow: 'refresh' } }, JSON_HEADERS));
+        check(res, { 'refresh 200': (r) => r.status === 200 });
+    } else {
+        const res = http.post(`${BASE_URL}/auth/introspect`, JSON.stringify({ token: tokens.accessToken }),
+            Object.assign({ tags: { flow: 'introspect' } }, JSON_HEADERS));
+        check(res, { 'introspect 200': (r) => r.status === 200 });
+    }
+}
@@ -2,11 +2,18 @@ package edu.dosw.rideci.application.events.listener;
 
 import edu.dosw.rideci.application.events.UserSyncFailedEvent;
 import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.infrastructure.config.RabbitMQConfig;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 
 @Data
 @Component
@@ -19,13 +26,20 @@ public class UserSyncErrorListener {
         this.userAuthRepositoryOutPort = userAuthRepositoryOutPort;
     }
 
-    @RabbitListener(queues = "auth.sync.queue")
-    public void onUserCreateFailed(UserSyncFailedEvent event) {
-        log.error("Compensando creación fallida para {}", event.getEmail());
-
-        userAuthRepositoryOutPort.deleteByEmail(event.getEmail());
-
-        log.info("Compensación realizada correctamente");
+    /**
+     * Compensa por lotes: emails sin repetir, un solo deleteMany y ack del lote completo
+     * Si el borrado falla se rechaza todo el lote y RabbitMQ lo vuelve a entregar (borrar dos veces no cambia nada)
+     */
+    @RabbitListener(queues = RabbitMQConfig.USER_CREATE_QUEUE, containerFactory = RabbitMQConfig.USER_SYNC_BATCH_FACTORY)
+    public void onUserCreateFailed(List<UserSyncFailedEvent> events) {
+        Set<String> emails = events.stream()
+                .map(UserSyncFailedEvent::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        log.error("Compensando {} creación(es) fallida(s): {}", events.size(), emails);
+
+        List<String> deletedIds = userAuthRepositoryOutPort.deleteAllByEmail(emails);
+
+        log.info("Compensación realizada correctamente: {} usuario(s) borrados", deletedIds.size());
     }
 }
-
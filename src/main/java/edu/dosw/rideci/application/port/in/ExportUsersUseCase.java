@@ -0,0 +1,15 @@
+package edu.dosw.rideci.application.port.in;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface ExportUsersUseCase {
+
+    /**
+     * Recorre todos los usuarios y entrega cada uno a users, solo con los campos pedidos
+     * @param fields campos a exportar; null o vacío para los campos por defecto
+     * @throws edu.dosw.rideci.exceptions.AuthException si se pide un campo que no se puede exportar
+     */
+    void exportUsers(List<String> fields, Consumer<Map<String, Object>> users);
+}
@@ -0,0 +1,16 @@
+package edu.dosw.rideci.application.port.in;
+
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.UserImportRow;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.UserImportResult;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public interface ImportUsersUseCase {
+
+    /**
+     * Importa las filas a medida que se leen (sin cargar el archivo completo)
+     * Cada resultado se entrega a results en cuanto su lote termina
+     */
+    void importUsers(Iterator<UserImportRow> rows, Consumer<UserImportResult> results);
+}
@@ -0,0 +1,10 @@
+package edu.dosw.rideci.application.port.in;
+
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.IntrospectionResponse;
+
+import java.util.List;
+
+public interface IntrospectTokenUseCase {
+    IntrospectionResponse introspect(String token);
+    List<IntrospectionResponse> introspectBatch(List<String> tokens);
+}
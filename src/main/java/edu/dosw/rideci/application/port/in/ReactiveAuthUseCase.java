@@ -0,0 +1,13 @@
+package edu.dosw.rideci.application.port.in;
+
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.LoginRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.RegisterRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.AuthResponse;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.UserResponse;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAuthUseCase {
+    Mono<UserResponse> registerUser(RegisterRequest request);
+    Mono<AuthResponse> login(LoginRequest request);
+    Mono<AuthResponse> refreshAccessToken(String refreshToken);
+}
@@ -0,0 +1,10 @@
+package edu.dosw.rideci.application.port.in;
+
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.ForgotPasswordRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.ResetPasswordRequest;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveResetPasswordUseCase {
+    Mono<Void> requestPasswordReset(ForgotPasswordRequest request);
+    Mono<Void> resetPassword(ResetPasswordRequest request);
+}
@@ -1,5 +1,17 @@
 package edu.dosw.rideci.application.port.out;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface EventPublisher {
+
+    /**
+     * Publica y espera el confirm del broker; lanza excepción si el broker lo rechaza o no responde a tiempo
+     */
     void publish(Object event, String routingKey);
-}
\ No newline at end of file
+
+    /**
+     * Publica sin esperar: el futuro se completa con el confirm del broker (o falla ante un nack)
+     * Varias publicaciones seguidas comparten canal y los confirms llegan agrupados
+     */
+    CompletableFuture<Void> publishAsync(Object event, String routingKey);
+}
@@ -0,0 +1,11 @@
+package edu.dosw.rideci.application.port.out;
+
+import java.time.LocalDateTime;
+
+public interface LastLoginRecorderOutPort {
+
+    /**
+     * Registra un login; la escritura en base de datos puede hacerse después y agrupada
+     */
+    void recordLogin(String userAuthId, LocalDateTime loginAt);
+}
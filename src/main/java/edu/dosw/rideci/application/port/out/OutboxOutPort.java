@@ -0,0 +1,16 @@
+package edu.dosw.rideci.application.port.out;
+
+import java.util.List;
+
+/**
+ * Outbox transaccional: el evento se guarda junto al cambio que lo origina y se publica después
+ * Debe llamarse dentro de la misma transacción que ese cambio
+ */
+public interface OutboxOutPort {
+    void enqueue(Object event, String routingKey);
+
+    /**
+     * Varios eventos con un solo insertMany (importación masiva)
+     */
+    void enqueueAll(List<?> events, String routingKey);
+}
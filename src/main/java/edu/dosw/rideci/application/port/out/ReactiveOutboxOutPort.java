@@ -0,0 +1,10 @@
+package edu.dosw.rideci.application.port.out;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de OutboxOutPort (perfil reactive)
+ */
+public interface ReactiveOutboxOutPort {
+    Mono<Void> enqueue(Object event, String routingKey);
+}
@@ -0,0 +1,16 @@
+package edu.dosw.rideci.application.port.out;
+
+import edu.dosw.rideci.domain.models.PasswordResetTokenData;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de PasswordResetOutPort (perfil reactive)
+ */
+public interface ReactivePasswordResetOutPort {
+    Mono<Void> saveResetToken(String token, PasswordResetTokenData data, long expirationMinutes);
+    Mono<PasswordResetTokenData> getResetToken(String token);
+    Mono<Void> deleteResetToken(String token);
+    Mono<Void> incrementAttempts(String token);
+    Mono<Void> saveResetAttempt(String email);
+    Mono<Long> countResetAttempts(String email);
+}
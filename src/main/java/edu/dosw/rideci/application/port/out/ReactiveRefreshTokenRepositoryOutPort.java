@@ -0,0 +1,14 @@
+package edu.dosw.rideci.application.port.out;
+
+import edu.dosw.rideci.domain.models.RefreshToken;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de RefreshTokenRepositoryOutPort (perfil reactive)
+ */
+public interface ReactiveRefreshTokenRepositoryOutPort {
+    Mono<RefreshToken> save(RefreshToken refreshToken);
+    Mono<RefreshToken> findByToken(String token);
+    Mono<Void> deleteAllByUserAuthId(String userAuthId);
+    Mono<Void> deleteByToken(RefreshToken token);
+}
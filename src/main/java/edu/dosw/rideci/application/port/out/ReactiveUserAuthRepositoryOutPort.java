@@ -0,0 +1,33 @@
+package edu.dosw.rideci.application.port.out;
+
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de UserAuthRepositoryOutPort (perfil reactive)
+ * Los Mono vacíos equivalen a los Optional vacíos de la versión bloqueante
+ */
+public interface ReactiveUserAuthRepositoryOutPort {
+    Mono<UserAuth> save(UserAuth userAuth);
+
+    /**
+     * Falla con DuplicateUserException si el email o el carnet ya existen
+     */
+    Mono<UserAuth> insert(UserAuth userAuth);
+    Mono<Void> delete(UserAuth userAuth);
+    Mono<UserAuth> findById(String id);
+    Mono<UserAuth> findByEmail(String email);
+    Mono<UserCredentials> findCredentialsByEmail(String email);
+    Mono<Boolean> existsByEmail(String email);
+
+    /**
+     * @return false si el usuario no existe
+     */
+    Mono<Boolean> updatePasswordHash(String id, String passwordHash);
+
+    /**
+     * @return id del usuario actualizado, vacío si el email no existe
+     */
+    Mono<String> updatePasswordHashByEmail(String email, String passwordHash);
+}
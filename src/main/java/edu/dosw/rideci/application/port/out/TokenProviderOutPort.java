@@ -1,6 +1,11 @@
 package edu.dosw.rideci.application.port.out;
 
+import edu.dosw.rideci.domain.models.VerifiedToken;
+
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface TokenProviderOutPort {
 
@@ -8,6 +13,11 @@ public interface TokenProviderOutPort {
 
     String generateRefreshToken(String email, Long userId);
 
+    /**
+     * Verifica firma y expiración una sola vez y devuelve los datos del token
+     */
+    Optional<VerifiedToken> verify(String token);
+
     boolean isTokenValid(String token);
 
     boolean isAccessToken(String token);
@@ -19,4 +29,10 @@ public interface TokenProviderOutPort {
     Long getUserIdFromToken(String token);
 
     Date getExpirationFromToken(String token);
+
+    /**
+     * Llaves públicas de verificación en formato JWK (vacío si solo se firma con HS256)
+     * Devuelve la misma instancia mientras las llaves no cambien
+     */
+    List<Map<String, Object>> getPublicJwks();
 }
\ No newline at end of file
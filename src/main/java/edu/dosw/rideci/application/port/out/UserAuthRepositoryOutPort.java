@@ -1,15 +1,78 @@
 package edu.dosw.rideci.application.port.out;
 
 import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserAuthRepositoryOutPort {
+
+    /**
+     * Con passwordHash null conserva el hash guardado (no lo borra)
+     */
     UserAuth save(UserAuth userAuth);
+
+    /**
+     * Inserta un usuario nuevo sin consultar antes: deciden los índices únicos de email y carnet
+     * @throws edu.dosw.rideci.exceptions.DuplicateUserException si el email o el carnet ya existen
+     */
+    UserAuth insert(UserAuth userAuth);
+
+    /**
+     * Inserta un lote sin orden (insertMany unordered): un duplicado no detiene al resto
+     * Asigna el id a cada UserAuth antes de insertar
+     * @return error por posición del lote (DuplicateUserException para email o carnet repetidos);
+     *         las posiciones que no aparecen se insertaron
+     */
+    Map<Integer, RuntimeException> insertAll(List<UserAuth> users);
     void delete(UserAuth userAuth);
+
+    /**
+     * El usuario vuelve sin passwordHash (puede salir del cache); para el hash usa findCredentialsByEmail
+     * y para cambiarlo updatePasswordHash. save y update con ese mismo objeto no tocan el hash
+     */
     Optional<UserAuth> findById(String id);
     Optional<UserAuth> findByEmail(String email);
+
+    /**
+     * Solo id, hash, rol, nombre y carnet: lo que usa el login (consulta cubierta por índice)
+     */
+    Optional<UserCredentials> findCredentialsByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * $set del rol y del passwordHash; con passwordHash null solo cambia el rol
+     */
     UserAuth update(String id, UserAuth userAuth);
     void deleteByEmail(String userEmail);
-    boolean existsById(Long userId);
+
+    /**
+     * Borra de una vez todos los usuarios con esos emails (un solo deleteMany)
+     * @return ids de los usuarios borrados
+     */
+    List<String> deleteAllByEmail(Collection<String> userEmails);
+
+    /**
+     * Recorre todos los usuarios (por _id) con un cursor, sin cargarlos en memoria
+     * @param fields campos a incluir ("id" para el _id)
+     * @param batchSize documentos por cada ida a la base de datos
+     */
+    void forEachUser(Collection<String> fields, int batchSize, Consumer<Map<String, Object>> consumer);
+    boolean existsByInstitutionalId(Long institutionalId);
+
+    /**
+     * Actualizaciones de un solo campo ($set), sin leer ni reemplazar el documento
+     * @return false si el usuario no existe
+     */
+    boolean updatePasswordHash(String id, String passwordHash);
+
+    /**
+     * $set del hash filtrando por email, en una sola operación
+     * @return id del usuario actualizado, vacío si el email no existe
+     */
+    Optional<String> updatePasswordHashByEmail(String email, String passwordHash);
 }
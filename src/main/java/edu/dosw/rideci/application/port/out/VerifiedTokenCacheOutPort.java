@@ -0,0 +1,18 @@
+package edu.dosw.rideci.application.port.out;
+
+import edu.dosw.rideci.domain.models.VerifiedToken;
+
+import java.util.Optional;
+
+public interface VerifiedTokenCacheOutPort {
+
+    /**
+     * Token ya verificado y todavía vigente, sin volver a calcular la firma
+     */
+    Optional<VerifiedToken> get(String token);
+
+    /**
+     * Guarda un token verificado; nunca sobrevive a su exp
+     */
+    void put(String token, VerifiedToken verifiedToken);
+}
@@ -3,17 +3,23 @@ package edu.dosw.rideci.application.service;
 import edu.dosw.rideci.application.events.UserEvent;
 import edu.dosw.rideci.application.port.in.LoginUserUseCase;
 import edu.dosw.rideci.application.port.in.RegisterUserUseCase;
+import edu.dosw.rideci.application.port.out.LastLoginRecorderOutPort;
+import edu.dosw.rideci.application.port.out.OutboxOutPort;
 import edu.dosw.rideci.application.port.out.RefreshTokenRepositoryOutPort;
 import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
 import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
 import edu.dosw.rideci.domain.models.RefreshToken;
+import edu.dosw.rideci.domain.models.VerifiedToken;
 import edu.dosw.rideci.domain.models.enums.AccountState;
 import edu.dosw.rideci.infrastructure.controllers.dto.Request.*;
 import edu.dosw.rideci.infrastructure.controllers.dto.Response.AuthResponse;
 import edu.dosw.rideci.infrastructure.controllers.dto.Response.UserResponse;
 import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
 import edu.dosw.rideci.exceptions.AuthException;
-import edu.dosw.rideci.infrastructure.persistence.repository.RabbitEventPublisher;
+import edu.dosw.rideci.exceptions.DuplicateUserException;
+import edu.dosw.rideci.infrastructure.concurrency.AuthIoExecutor;
+import edu.dosw.rideci.infrastructure.config.MongoConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,6 +27,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Servicio de Autenticación
@@ -33,30 +40,26 @@ public class AuthService implements LoginUserUseCase, RegisterUserUseCase {
 
     private final UserAuthRepositoryOutPort userAuthRepositoryOutPort;
     private final RefreshTokenRepositoryOutPort refreshTokenRepositoryOutPort;
-    private final RabbitEventPublisher eventPublisher;
+    private final OutboxOutPort outbox;
     private final TokenProviderOutPort tokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final LastLoginRecorderOutPort lastLoginRecorder;
+    private final AuthIoExecutor authIoExecutor;
+
+    static final String USER_CREATED_ROUTING_KEY = "auth.user.create";
 
     @Override
-    @Transactional
+    @Transactional(transactionManager = MongoConfig.TRANSACTION_MANAGER)
     public UserResponse registerUser(RegisterRequest request) {
         log.info("Iniciando registro para email: {}", request.getEmail());
+        requireSelfRegistrableRole(request);
 
-        // 1. Validar que el email no exista
-        if (userAuthRepositoryOutPort.existsByEmail(request.getEmail())) {
-            log.error("Email ya registrado: {}", request.getEmail());
-            throw new AuthException("El email ya está registrado");
-        }
-        if (userAuthRepositoryOutPort.existsById(request.getInstitutionalId())){
-            log.error("Carnet ya registrado: {}", request.getInstitutionalId());
-            throw new AuthException("Carnet ya registrado");
-        }
-
-        // 2. Hashear la contraseña
+        // 1. Hashear la contraseña
         String passwordHash = passwordEncoder.encode(request.getPassword());
         log.debug("Contraseña hasheada correctamente");
 
-        // 3. Crear UserAuth (credenciales)
+        // 2. Crear UserAuth (credenciales): insert directo, los índices únicos rechazan email o carnet repetidos
+        //    (sin consultas previas ni carrera entre la consulta y el insert)
         UserAuth userAuth = UserAuth.builder()
                 .email(request.getEmail())
                 .name(request.getName())
@@ -66,29 +69,19 @@ public class AuthService implements LoginUserUseCase, RegisterUserUseCase {
                 .createdAt(LocalDateTime.now())
                 .lastLogin(LocalDateTime.now())
                 .build();
-        UserAuth savedUserAuth = userAuthRepositoryOutPort.save(userAuth);
-        log.info("UserAuth creado con ID: {}", savedUserAuth.getId());
-
-        // 4. Publicar en RabbitMQ
+        UserAuth savedUserAuth;
         try {
-            UserEvent message = UserEvent.builder()
-                    .userId(request.getInstitutionalId())
-                    .name(request.getName())
-                    .email(request.getEmail())
-                    .phoneNumber(request.getPhoneNumber())
-                    .role(request.getRole().toString())
-                    .identificationType(request.getIdentificationType().toString())
-                    .identificationNumber(request.getIdentificationNumber())
-                    .address(request.getAddress())
-                    .build();
-            eventPublisher.publish(message,"auth.user.create");
-            log.info("Mensaje publicado a RabbitMQ para crear usuario");
-
-        } catch (Exception e) {
-            log.error("Error al publicar mensaje en RabbitMQ: {}", e.getMessage());
-            userAuthRepositoryOutPort.delete(savedUserAuth);
-            throw new AuthException("Error al crear el usuario: " + e.getMessage());
+            savedUserAuth = userAuthRepositoryOutPort.insert(userAuth);
+        } catch (DuplicateUserException e) {
+            log.error("{}: {}", e.getMessage(), e.getField() == DuplicateUserException.Field.EMAIL
+                    ? request.getEmail() : request.getInstitutionalId());
+            throw e;
         }
+        log.info("UserAuth creado con ID: {}", savedUserAuth.getId());
+
+        // 3. Evento para RabbitMQ al outbox, en la misma transacción que el usuario
+        //    (lo publica OutboxRelay: el registro no espera al broker y no se pierde si el proceso cae)
+        outbox.enqueue(userCreatedEvent(request), USER_CREATED_ROUTING_KEY);
 
         log.info("Registro exitoso para: {}", request.getEmail());
 
@@ -103,42 +96,83 @@ public class AuthService implements LoginUserUseCase, RegisterUserUseCase {
                 .build();
     }
 
-    @Transactional
+    /**
+     * El registro público no puede pedir un rol que da acceso a /admin/** (registro y registro reactivo)
+     */
+    static void requireSelfRegistrableRole(RegisterRequest request) {
+        if (request.getRole() != null && !request.getRole().isSelfRegistrable()) {
+            log.warn("Registro rechazado: {} pidió el rol {}", request.getEmail(), request.getRole());
+            throw new AuthException("El rol " + request.getRole() + " no se puede elegir en el registro");
+        }
+    }
+
+    /**
+     * Evento de usuario creado (registro, registro reactivo e importación masiva)
+     */
+    static UserEvent userCreatedEvent(RegisterRequest request) {
+        return UserEvent.builder()
+                .userId(request.getInstitutionalId())
+                .name(request.getName())
+                .email(request.getEmail())
+                .phoneNumber(request.getPhoneNumber())
+                .role(request.getRole().toString())
+                .identificationType(request.getIdentificationType().toString())
+                .identificationNumber(request.getIdentificationNumber())
+                .address(request.getAddress())
+                .build();
+    }
+
+    // Sin @Transactional: con transacciones reales en Mongo cada login pagaría un commit sin necesitarlo
     @Override
     public AuthResponse login(LoginRequest request) {
         log.info("Intento de login para: {}", request.getEmail());
 
-        // 1. Buscar usuario por email
-        UserAuth userAuth = userAuthRepositoryOutPort.findByEmail(request.getEmail())
+        // 1. Buscar credenciales por email (proyección cubierta por índice, no el documento completo)
+        UserCredentials credentials = userAuthRepositoryOutPort.findCredentialsByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     log.error("Usuario no encontrado: {}", request.getEmail());
                     return new AuthException("Email no registrado");
                 });
 
         // 2. Validar contraseña
-        if (!passwordEncoder.matches(request.getPassword(), userAuth.getPasswordHash())) {
+        if (!passwordEncoder.matches(request.getPassword(), credentials.getPasswordHash())) {
             log.error("Contraseña incorrecta para: {}", request.getEmail());
             throw new AuthException("Contraseña incorrecta");
         }
 
-        // 3. Actualizar lastLogin
-        userAuth.setLastLogin(LocalDateTime.now());
-        userAuthRepositoryOutPort.save(userAuth);
+        // 3. Rehash si el hash guardado usa otro algoritmo o costo (migración sin forzar cambio de contraseña)
+        //    Corre a la vez que la generación de tokens y el guardado del refresh token
+        CompletableFuture<Void> rehash = passwordEncoder.upgradeEncoding(credentials.getPasswordHash())
+                ? authIoExecutor.run(() -> {
+                    userAuthRepositoryOutPort.updatePasswordHash(credentials.getId(), passwordEncoder.encode(request.getPassword()));
+                    log.info("Hash de contraseña actualizado al algoritmo actual para: {}", request.getEmail());
+                })
+                : CompletableFuture.completedFuture(null);
 
-        // 4. Generar tokens JWT
+        // 4. Registrar lastLogin (se escribe después, agrupado, fuera del camino del login)
+        lastLoginRecorder.recordLogin(credentials.getId(), LocalDateTime.now());
+
+        // 5. Generar tokens JWT
         String accessToken = tokenProvider.generateAccessToken(
-                userAuth.getEmail(),
-                userAuth.getName(),
-                userAuth.getRole().toString(),
-                userAuth.getInstitutionalId()
+                credentials.getEmail(),
+                credentials.getName(),
+                credentials.getRole().toString(),
+                credentials.getInstitutionalId()
         );
 
         String refreshToken = tokenProvider.generateRefreshToken(
-                userAuth.getEmail(),
-                userAuth.getInstitutionalId()
+                credentials.getEmail(),
+                credentials.getInstitutionalId()
         );
 
-        saveRefreshToken(refreshToken, userAuth.getId());
+        saveRefreshToken(refreshToken, credentials.getId());
+
+        // 6. Un rehash fallido no tumba el login: el hash viejo sigue sirviendo y se reintenta en el próximo login
+        try {
+            AuthIoExecutor.join(rehash);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo actualizar el hash de contraseña para: {} ({})", request.getEmail(), e.getMessage());
+        }
 
         log.info("Login exitoso para: {}", request.getEmail());
 
@@ -147,21 +181,21 @@ public class AuthService implements LoginUserUseCase, RegisterUserUseCase {
                 .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(15 * 60L)
-                .institutionalId(userAuth.getInstitutionalId())
+                .institutionalId(credentials.getInstitutionalId())
                 .build();
     }
 
-    @Transactional
     public AuthResponse refreshAccessToken(String refreshTokenString) {
         log.info("Renovando access token");
 
-        // 1. Validar el refresh token
-        if (!tokenProvider.isTokenValid(refreshTokenString)) {
-            log.error("Refresh token inválido");
-            throw new AuthException("Refresh token inválido o expirado");
-        }
+        // 1. Validar el refresh token (se parsea y verifica una sola vez)
+        VerifiedToken verifiedToken = tokenProvider.verify(refreshTokenString)
+                .orElseThrow(() -> {
+                    log.error("Refresh token inválido");
+                    return new AuthException("Refresh token inválido o expirado");
+                });
 
-        if (!tokenProvider.isRefreshToken(refreshTokenString)) {
+        if (!verifiedToken.isRefreshToken()) {
             log.error("El token no es un refresh token");
             throw new AuthException("El token proporcionado no es un refresh token");
         }
@@ -205,7 +239,7 @@ public class AuthService implements LoginUserUseCase, RegisterUserUseCase {
                 .build();
     }
 
-    private void saveRefreshToken(String token, String userAuthId) {
+    private RefreshToken saveRefreshToken(String token, String userAuthId) {
         RefreshToken refreshToken = RefreshToken.builder()
                 .token(token)
                 .userAuthId(userAuthId)
@@ -215,5 +249,6 @@ public class AuthService implements LoginUserUseCase, RegisterUserUseCase {
 
         refreshTokenRepositoryOutPort.save(refreshToken);
         log.debug("Refresh token guardado en Redis con TTL de 3 días");
+        return refreshToken;
     }
 }
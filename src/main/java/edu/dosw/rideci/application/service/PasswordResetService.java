@@ -2,6 +2,7 @@ package edu.dosw.rideci.application.service;
 
 import edu.dosw.rideci.application.events.PasswordResetEvent;
 import edu.dosw.rideci.application.port.in.ResetPasswordUseCase;
+import edu.dosw.rideci.application.port.out.EventPublisher;
 import edu.dosw.rideci.application.port.out.PasswordResetOutPort;
 import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
 import edu.dosw.rideci.domain.models.PasswordResetTokenData;
@@ -9,12 +10,10 @@ import edu.dosw.rideci.domain.models.UserAuth;
 import edu.dosw.rideci.exceptions.AuthException;
 import edu.dosw.rideci.infrastructure.controllers.dto.Request.ForgotPasswordRequest;
 import edu.dosw.rideci.infrastructure.controllers.dto.Request.ResetPasswordRequest;
-import edu.dosw.rideci.infrastructure.persistence.repository.RabbitEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -26,16 +25,17 @@ public class PasswordResetService implements ResetPasswordUseCase {
 
     private final UserAuthRepositoryOutPort userAuthRepository;
     private final PasswordResetOutPort resetCachePort;
-    private final RabbitEventPublisher eventPublisher;
+    private final EventPublisher eventPublisher;
     private final PasswordEncoder passwordEncoder;
 
     private static final int TOKEN_LENGTH = 8;
-    private static final int EXPIRATION_MINUTES = 15;
-    private static final int MAX_ATTEMPTS_PER_HOUR = 3;
-    private static final int MAX_VALIDATION_ATTEMPTS = 5;
+    static final int EXPIRATION_MINUTES = 15;
+    static final int MAX_ATTEMPTS_PER_HOUR = 3;
+    static final int MAX_VALIDATION_ATTEMPTS = 5;
 
+    // Sin @Transactional en este servicio: el estado del reset vive en Redis y el único cambio en Mongo
+    // es el $set atómico de resetPassword; una transacción de Mongo no cubriría Redis y solo sumaría un commit
     @Override
-    @Transactional
     public void requestPasswordReset(ForgotPasswordRequest request){
         log.info("Solicitud de restablecimiento de contraseña para: {}", request.getEmail());
 
@@ -61,7 +61,6 @@ public class PasswordResetService implements ResetPasswordUseCase {
     }
 
     @Override
-    @Transactional
     public void resetPassword(ResetPasswordRequest request){
         log.info("Proceso de reseteo de contraseña");
 
@@ -79,12 +78,9 @@ public class PasswordResetService implements ResetPasswordUseCase {
 
         resetCachePort.incrementAttempts(request.getResetToken());
 
-        UserAuth userAuth = userAuthRepository.findByEmail(tokenData.getEmail())
+        userAuthRepository.updatePasswordHashByEmail(tokenData.getEmail(), passwordEncoder.encode(request.getNewPassword()))
                 .orElseThrow(() -> new AuthException("Usuario no encontrado"));
 
-        userAuth.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
-        userAuthRepository.save(userAuth);
-
         resetCachePort.deleteResetToken(request.getResetToken());
 
         log.info("Contraseña actualizada correctamente para {}", tokenData.getEmail());
@@ -122,7 +118,7 @@ public class PasswordResetService implements ResetPasswordUseCase {
         }
     }
 
-    private String generateResetToken() {
+    static String generateResetToken() {
         SecureRandom random = new SecureRandom();
         String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
         StringBuilder token = new StringBuilder(TOKEN_LENGTH);
@@ -0,0 +1,218 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.application.port.in.ReactiveAuthUseCase;
+import edu.dosw.rideci.application.port.out.LastLoginRecorderOutPort;
+import edu.dosw.rideci.application.port.out.ReactiveOutboxOutPort;
+import edu.dosw.rideci.application.port.out.ReactiveRefreshTokenRepositoryOutPort;
+import edu.dosw.rideci.application.port.out.ReactiveUserAuthRepositoryOutPort;
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.domain.models.RefreshToken;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.domain.models.enums.AccountState;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.exceptions.DuplicateUserException;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.LoginRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.RegisterRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.AuthResponse;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.UserResponse;
+import edu.dosw.rideci.infrastructure.security.ReactivePasswordEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Servicio de Autenticación reactivo (perfil reactive)
+ * Mismos pasos y mismos errores que AuthService:
+ * - Mongo y Redis sin bloquear; el hash de contraseñas en ReactivePasswordEncoder
+ * - La firma de tokens y lastLogin (en memoria) se hacen en el event loop: no hacen I/O
+ * - El registro deja el evento de RabbitMQ en el outbox, en la misma transacción que el usuario
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAuthService implements ReactiveAuthUseCase {
+
+    private final ReactiveUserAuthRepositoryOutPort userAuthRepository;
+    private final ReactiveRefreshTokenRepositoryOutPort refreshTokenRepository;
+    private final ReactiveOutboxOutPort outbox;
+    private final TransactionalOperator transactionalOperator;
+    private final TokenProviderOutPort tokenProvider;
+    private final ReactivePasswordEncoder passwordEncoder;
+    private final LastLoginRecorderOutPort lastLoginRecorder;
+
+    @Override
+    public Mono<UserResponse> registerUser(RegisterRequest request) {
+        log.info("Iniciando registro para email: {}", request.getEmail());
+
+        // 1. Hashear la contraseña (salvo que el rol pedido no se pueda elegir en el registro)
+        return Mono.fromRunnable(() -> AuthService.requireSelfRegistrableRole(request))
+                .then(Mono.defer(() -> passwordEncoder.encode(request.getPassword())))
+                // 2. Crear UserAuth (insert directo, los índices únicos rechazan email o carnet repetidos)
+                // 3. y dejar el evento en el outbox, en la misma transacción (lo publica OutboxRelay)
+                .flatMap(passwordHash -> userAuthRepository.insert(UserAuth.builder()
+                                .email(request.getEmail())
+                                .name(request.getName())
+                                .institutionalId(request.getInstitutionalId())
+                                .passwordHash(passwordHash)
+                                .role(request.getRole())
+                                .createdAt(LocalDateTime.now())
+                                .lastLogin(LocalDateTime.now())
+                                .build())
+                        .flatMap(savedUserAuth -> {
+                            log.info("UserAuth creado con ID: {}", savedUserAuth.getId());
+                            return outbox.enqueue(AuthService.userCreatedEvent(request), AuthService.USER_CREATED_ROUTING_KEY);
+                        })
+                        .as(transactionalOperator::transactional))
+                .doOnError(DuplicateUserException.class, e -> log.error("{}: {}", e.getMessage(),
+                        e.getField() == DuplicateUserException.Field.EMAIL ? request.getEmail() : request.getInstitutionalId()))
+                .then(Mono.fromSupplier(() -> {
+                    log.info("Registro exitoso para: {}", request.getEmail());
+                    return UserResponse.builder()
+                            .userId(request.getInstitutionalId())
+                            .name(request.getName())
+                            .email(request.getEmail())
+                            .phoneNumber(request.getPhoneNumber())
+                            .createdAt(LocalDateTime.now())
+                            .role(request.getRole())
+                            .state(AccountState.PENDING)
+                            .build();
+                }));
+    }
+
+    @Override
+    public Mono<AuthResponse> login(LoginRequest request) {
+        log.info("Intento de login para: {}", request.getEmail());
+
+        // 1. Buscar credenciales por email (proyección cubierta por índice)
+        return userAuthRepository.findCredentialsByEmail(request.getEmail())
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Usuario no encontrado: {}", request.getEmail());
+                    return new AuthException("Email no registrado");
+                }))
+                // 2. Validar contraseña
+                .flatMap(credentials -> passwordEncoder.matches(request.getPassword(), credentials.getPasswordHash())
+                        .flatMap(matches -> {
+                            if (!matches) {
+                                log.error("Contraseña incorrecta para: {}", request.getEmail());
+                                return Mono.<UserCredentials>error(new AuthException("Contraseña incorrecta"));
+                            }
+                            return rehashIfNeeded(credentials, request).thenReturn(credentials);
+                        }))
+                .flatMap(credentials -> {
+                    // 4. Registrar lastLogin (se escribe después, agrupado)
+                    lastLoginRecorder.recordLogin(credentials.getId(), LocalDateTime.now());
+
+                    // 5. Generar tokens JWT
+                    String accessToken = tokenProvider.generateAccessToken(
+                            credentials.getEmail(),
+                            credentials.getName(),
+                            credentials.getRole().toString(),
+                            credentials.getInstitutionalId()
+                    );
+                    String refreshToken = tokenProvider.generateRefreshToken(
+                            credentials.getEmail(),
+                            credentials.getInstitutionalId()
+                    );
+
+                    return saveRefreshToken(refreshToken, credentials.getId())
+                            .then(Mono.fromSupplier(() -> {
+                                log.info("Login exitoso para: {}", request.getEmail());
+                                return AuthResponse.builder()
+                                        .accessToken(accessToken)
+                                        .refreshToken(refreshToken)
+                                        .tokenType("Bearer")
+                                        .expiresIn(15 * 60L)
+                                        .institutionalId(credentials.getInstitutionalId())
+                                        .build();
+                            }));
+                });
+    }
+
+    // 3. Rehash si el hash guardado usa otro algoritmo o costo
+    private Mono<Void> rehashIfNeeded(UserCredentials credentials, LoginRequest request) {
+        if (!passwordEncoder.upgradeEncoding(credentials.getPasswordHash())) {
+            return Mono.empty();
+        }
+        return passwordEncoder.encode(request.getPassword())
+                .flatMap(passwordHash -> userAuthRepository.updatePasswordHash(credentials.getId(), passwordHash))
+                .doOnSuccess(updated -> log.info("Hash de contraseña actualizado al algoritmo actual para: {}", request.getEmail()))
+                // Un rehash fallido no tumba el login: el hash viejo sigue sirviendo
+                .onErrorResume(e -> {
+                    log.warn("No se pudo actualizar el hash de contraseña para: {} ({})", request.getEmail(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<AuthResponse> refreshAccessToken(String refreshTokenString) {
+        log.info("Renovando access token");
+
+        // 1. Validar el refresh token (solo CPU: se hace en el event loop)
+        return Mono.fromCallable(() -> {
+                    VerifiedToken verifiedToken = tokenProvider.verify(refreshTokenString)
+                            .orElseThrow(() -> {
+                                log.error("Refresh token inválido");
+                                return new AuthException("Refresh token inválido o expirado");
+                            });
+                    if (!verifiedToken.isRefreshToken()) {
+                        log.error("El token no es un refresh token");
+                        throw new AuthException("El token proporcionado no es un refresh token");
+                    }
+                    return verifiedToken;
+                })
+                // 2. Buscar refresh token en Redis
+                .then(refreshTokenRepository.findByToken(refreshTokenString)
+                        .switchIfEmpty(Mono.error(() -> {
+                            log.error("Refresh token no encontrado en BD");
+                            return new AuthException("Refresh token no válido");
+                        })))
+                // 3. Verificar expiración
+                .flatMap(refreshToken -> {
+                    if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+                        log.error("Refresh token expirado");
+                        return refreshTokenRepository.deleteByToken(refreshToken)
+                                .then(Mono.<UserAuth>error(new AuthException("Refresh token expirado")));
+                    }
+                    // 4. Obtener datos del usuario
+                    return userAuthRepository.findById(refreshToken.getUserAuthId())
+                            .switchIfEmpty(Mono.error(() -> {
+                                log.error("Usuario no encontrado para refresh token");
+                                return new AuthException("Usuario no encontrado");
+                            }));
+                })
+                // 5. Generar nuevo access token
+                .map(userAuth -> {
+                    String newAccessToken = tokenProvider.generateAccessToken(
+                            userAuth.getEmail(),
+                            userAuth.getName(),
+                            userAuth.getRole().toString(),
+                            userAuth.getInstitutionalId()
+                    );
+                    log.info("Access token renovado exitosamente para: {}", userAuth.getEmail());
+                    return AuthResponse.builder()
+                            .accessToken(newAccessToken)
+                            .refreshToken(refreshTokenString) // El mismo refresh token
+                            .tokenType("Bearer")
+                            .expiresIn(15 * 60L)
+                            .build();
+                });
+    }
+
+    private Mono<RefreshToken> saveRefreshToken(String token, String userAuthId) {
+        return refreshTokenRepository.save(RefreshToken.builder()
+                .token(token)
+                .userAuthId(userAuthId)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusDays(3))
+                .build());
+    }
+}
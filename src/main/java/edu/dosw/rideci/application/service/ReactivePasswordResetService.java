@@ -0,0 +1,136 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.application.events.PasswordResetEvent;
+import edu.dosw.rideci.application.port.in.ReactiveResetPasswordUseCase;
+import edu.dosw.rideci.application.port.out.EventPublisher;
+import edu.dosw.rideci.application.port.out.ReactivePasswordResetOutPort;
+import edu.dosw.rideci.application.port.out.ReactiveUserAuthRepositoryOutPort;
+import edu.dosw.rideci.domain.models.PasswordResetTokenData;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.ForgotPasswordRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.ResetPasswordRequest;
+import edu.dosw.rideci.infrastructure.security.ReactivePasswordEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static edu.dosw.rideci.application.service.PasswordResetService.EXPIRATION_MINUTES;
+import static edu.dosw.rideci.application.service.PasswordResetService.MAX_ATTEMPTS_PER_HOUR;
+import static edu.dosw.rideci.application.service.PasswordResetService.MAX_VALIDATION_ATTEMPTS;
+
+/**
+ * Versión reactiva de PasswordResetService (perfil reactive): mismos límites, llaves y mensajes
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePasswordResetService implements ReactiveResetPasswordUseCase {
+
+    private final ReactiveUserAuthRepositoryOutPort userAuthRepository;
+    private final ReactivePasswordResetOutPort resetCachePort;
+    private final EventPublisher eventPublisher;
+    private final ReactivePasswordEncoder passwordEncoder;
+
+    @Override
+    public Mono<Void> requestPasswordReset(ForgotPasswordRequest request) {
+        log.info("Solicitud de restablecimiento de contraseña para: {}", request.getEmail());
+
+        return validateRateLimit(request.getEmail())
+                .then(userAuthRepository.existsByEmail(request.getEmail()))
+                .flatMap(exists -> {
+                    if (!exists) {
+                        log.warn("Correo: {} no encontrado", request.getEmail());
+                        return Mono.empty();
+                    }
+
+                    String resetToken = PasswordResetService.generateResetToken();
+                    PasswordResetTokenData tokenData = PasswordResetTokenData.builder()
+                            .email(request.getEmail())
+                            .createdAt(LocalDateTime.now())
+                            .attempts(0).build();
+
+                    return resetCachePort.saveResetToken(resetToken, tokenData, EXPIRATION_MINUTES)
+                            .then(resetCachePort.saveResetAttempt(request.getEmail()))
+                            .then(publishResetEvent(request.getEmail(), resetToken));
+                });
+    }
+
+    @Override
+    public Mono<Void> resetPassword(ResetPasswordRequest request) {
+        log.info("Proceso de reseteo de contraseña");
+
+        if (!request.getNewPassword().equals(request.getConfirmPassword())) {
+            return Mono.error(new AuthException("Las contraseñas no coinciden"));
+        }
+
+        return validateAndGetTokenData(request.getResetToken())
+                .flatMap(tokenData -> {
+                    if (tokenData.getAttempts() >= MAX_ATTEMPTS_PER_HOUR) {
+                        log.info("Limite de intentos alcanzado");
+                        return resetCachePort.deleteResetToken(request.getResetToken())
+                                .then(Mono.<Void>error(new AuthException("Limite de intentos alcanzado")));
+                    }
+
+                    return resetCachePort.incrementAttempts(request.getResetToken())
+                            .then(passwordEncoder.encode(request.getNewPassword()))
+                            .flatMap(passwordHash -> userAuthRepository.updatePasswordHashByEmail(tokenData.getEmail(), passwordHash))
+                            .switchIfEmpty(Mono.error(() -> new AuthException("Usuario no encontrado")))
+                            .then(resetCachePort.deleteResetToken(request.getResetToken()))
+                            .doOnSuccess(done -> log.info("Contraseña actualizada correctamente para {}", tokenData.getEmail()));
+                });
+    }
+
+    private Mono<PasswordResetTokenData> validateAndGetTokenData(String token) {
+        return resetCachePort.getResetToken(token)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Token de reset no encontrado o expirado");
+                    return new AuthException("Token inválido o expirado");
+                }))
+                .flatMap(tokenData -> {
+                    if (tokenData.getAttempts() >= MAX_VALIDATION_ATTEMPTS) {
+                        log.error("Demasiados intentos de validación para el token");
+                        return resetCachePort.deleteResetToken(token)
+                                .then(Mono.<PasswordResetTokenData>error(new AuthException("Token bloqueado por exceso de intentos")));
+                    }
+                    return resetCachePort.incrementAttempts(token).thenReturn(tokenData);
+                });
+    }
+
+    private Mono<Void> validateRateLimit(String email) {
+        return resetCachePort.countResetAttempts(email)
+                .flatMap(attempts -> {
+                    if (attempts >= MAX_ATTEMPTS_PER_HOUR) {
+                        log.warn("Rate limit excedido para: {}", email);
+                        return Mono.error(new AuthException(
+                                String.format("Demasiados intentos. Intenta en 1 hora (%d/%d)",
+                                        attempts, MAX_ATTEMPTS_PER_HOUR)));
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    // publishAsync no bloquea el event loop: el Mono termina con el confirm del broker
+    private Mono<Void> publishResetEvent(String email, String resetToken) {
+        return Mono.fromFuture(() -> {
+                    PasswordResetEvent event = PasswordResetEvent.builder()
+                            .email(email)
+                            .resetCode(resetToken)
+                            .expiryDate(LocalDateTime.now().plusMinutes(EXPIRATION_MINUTES))
+                            .expiryMinutes(EXPIRATION_MINUTES)
+                            .build();
+                    return eventPublisher.publishAsync(event, "notifications.auth.user.resetPassword");
+                })
+                .doOnSuccess(ignored -> log.info("Evento de reset publicado para: {}", email))
+                .onErrorResume(e -> {
+                    log.error("Error al publicar evento: {}", e.getMessage());
+                    return resetCachePort.deleteResetToken(resetToken)
+                            .then(Mono.error(new AuthException("Error al procesar solicitud de recuperación")));
+                })
+                .then();
+    }
+}
@@ -0,0 +1,96 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.application.port.in.IntrospectTokenUseCase;
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.application.port.out.VerifiedTokenCacheOutPort;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.IntrospectionResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Introspección de access tokens para gateways y servicios que no verifican JWT
+ * Los tokens activos se cachean: un token muy usado no vuelve a pasar por HMAC
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService implements IntrospectTokenUseCase {
+
+    private final TokenProviderOutPort tokenProvider;
+    private final VerifiedTokenCacheOutPort verifiedTokenCache;
+    private final JwtProperties jwtProperties;
+
+    @Override
+    public IntrospectionResponse introspect(String token) {
+        return verifyAccessToken(token)
+                .map(TokenIntrospectionService::toResponse)
+                .orElseGet(IntrospectionResponse::inactive);
+    }
+
+    /**
+     * Introspección de un lote en una sola llamada
+     * - Los tokens repetidos se verifican una sola vez
+     * - Secuencial en el hilo de la petición: es solo CPU (y casi siempre cache), y el ForkJoinPool común
+     *   lo compartirían todas las peticiones concurrentes
+     * - Las respuestas vienen en el mismo orden de la petición
+     */
+    @Override
+    public List<IntrospectionResponse> introspectBatch(List<String> tokens) {
+        int maxSize = jwtProperties.getIntrospection().getBatchMaxSize();
+        if (tokens.size() > maxSize) {
+            log.error("Lote de introspección demasiado grande: {}", tokens.size());
+            throw new AuthException("Máximo " + maxSize + " tokens por lote");
+        }
+
+        Map<String, IntrospectionResponse> byToken = new HashMap<>();
+        for (String token : tokens) {
+            if (token != null) {
+                byToken.computeIfAbsent(token, this::introspect);
+            }
+        }
+
+        return tokens.stream()
+                .map(token -> token != null ? byToken.get(token) : IntrospectionResponse.inactive())
+                .toList();
+    }
+
+    /**
+     * Un token es activo si la firma y el exp son válidos y es de tipo ACCESS
+     * Solo se cachean los activos: los inválidos no ocupan espacio
+     */
+    public Optional<VerifiedToken> verifyAccessToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<VerifiedToken> cached = verifiedTokenCache.get(token);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<VerifiedToken> verified = tokenProvider.verify(token).filter(VerifiedToken::isAccessToken);
+        verified.ifPresent(verifiedToken -> verifiedTokenCache.put(token, verifiedToken));
+        return verified;
+    }
+
+    private static IntrospectionResponse toResponse(VerifiedToken verifiedToken) {
+        return IntrospectionResponse.builder()
+                .active(true)
+                .sub(verifiedToken.getSubject())
+                .username(verifiedToken.getSubject())
+                .exp(verifiedToken.getExpiresAt().getTime() / 1000)
+                .iat(verifiedToken.getIssuedAt() != null ? verifiedToken.getIssuedAt().getTime() / 1000 : null)
+                .tokenType("Bearer")
+                .userId(verifiedToken.getUserId())
+                .role(verifiedToken.getRole())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.application.port.in.ExportUsersUseCase;
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.config.UserExportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Exportación de usuarios para la conciliación nocturna con user-management
+ * Los campos se validan antes de abrir el cursor: un campo no permitido responde 400 sin escribir nada
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportService implements ExportUsersUseCase {
+
+    // passwordHash queda fuera a propósito
+    static final Set<String> EXPORTABLE_FIELDS = Set.of(
+            "id", "name", "email", "institutionalId", "role", "userId", "createdAt", "lastLogin");
+
+    private final UserAuthRepositoryOutPort userAuthRepositoryOutPort;
+    private final UserExportProperties properties;
+
+    @Override
+    public void exportUsers(List<String> fields, Consumer<Map<String, Object>> users) {
+        Set<String> projection = new LinkedHashSet<>(fields == null || fields.isEmpty() ? properties.getDefaultFields() : fields);
+        for (String field : projection) {
+            if (!EXPORTABLE_FIELDS.contains(field)) {
+                throw new AuthException("Campo no exportable: " + field);
+            }
+        }
+
+        log.info("Exportando usuarios con los campos {}", projection);
+        AtomicLong exported = new AtomicLong();
+        userAuthRepositoryOutPort.forEachUser(projection, properties.getCursorBatchSize(), user -> {
+            users.accept(user);
+            exported.incrementAndGet();
+        });
+        log.info("Exportación terminada: {} usuario(s)", exported.get());
+    }
+}
@@ -0,0 +1,126 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.application.events.UserEvent;
+import edu.dosw.rideci.application.port.in.ImportUsersUseCase;
+import edu.dosw.rideci.application.port.out.OutboxOutPort;
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.exceptions.DuplicateUserException;
+import edu.dosw.rideci.infrastructure.concurrency.AuthIoExecutor;
+import edu.dosw.rideci.infrastructure.config.UserImportProperties;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.RegisterRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.UserImportRow;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.UserImportResult;
+import edu.dosw.rideci.infrastructure.security.BulkPasswordHasher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de usuarios (inicio de semestre)
+ * - Los hashes arrancan en cuanto se lee cada fila, en el pool de BulkPasswordHasher
+ * - Por lote: un insertMany sin orden y un insertMany de eventos en el outbox (OutboxRelay los publica por lotes)
+ * - Los duplicados los rechazan los índices únicos, fila por fila, sin detener el lote
+ * - Lote y outbox no comparten transacción (un duplicado abortaría todo el lote):
+ *   si el proceso cae entre los dos insertMany, ese lote queda sin eventos y hay que reenviarlos
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService implements ImportUsersUseCase {
+
+    private final UserAuthRepositoryOutPort userAuthRepositoryOutPort;
+    private final OutboxOutPort outbox;
+    private final BulkPasswordHasher passwordHasher;
+    private final UserImportProperties properties;
+
+    @Override
+    public void importUsers(Iterator<UserImportRow> rows, Consumer<UserImportResult> results) {
+        int batchSize = properties.getBatchSize();
+        List<UserImportRow> batch = new ArrayList<>(batchSize);
+        List<CompletableFuture<String>> hashes = new ArrayList<>(batchSize);
+        long read = 0;
+        long created = 0;
+
+        while (rows.hasNext()) {
+            UserImportRow row = rows.next();
+            read++;
+            if (!row.isValid()) {
+                results.accept(result(row, UserImportResult.Status.INVALID, null, row.getError()));
+                continue;
+            }
+            batch.add(row);
+            hashes.add(passwordHasher.encode(row.getRequest().getPassword()));
+            if (batch.size() >= batchSize) {
+                created += insertBatch(batch, hashes, results);
+                batch.clear();
+                hashes.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += insertBatch(batch, hashes, results);
+        }
+
+        log.info("Importación terminada: {} fila(s) leídas, {} usuario(s) creados", read, created);
+    }
+
+    private int insertBatch(List<UserImportRow> batch, List<CompletableFuture<String>> hashes,
+                            Consumer<UserImportResult> results) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UserAuth> users = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            RegisterRequest request = batch.get(i).getRequest();
+            users.add(UserAuth.builder()
+                    .email(request.getEmail())
+                    .name(request.getName())
+                    .institutionalId(request.getInstitutionalId())
+                    .passwordHash(AuthIoExecutor.join(hashes.get(i)))
+                    .role(request.getRole())
+                    .createdAt(now)
+                    .lastLogin(now)
+                    .build());
+        }
+
+        Map<Integer, RuntimeException> errors = userAuthRepositoryOutPort.insertAll(users);
+
+        List<UserEvent> events = new ArrayList<>(batch.size() - errors.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (!errors.containsKey(i)) {
+                events.add(AuthService.userCreatedEvent(batch.get(i).getRequest()));
+            }
+        }
+        outbox.enqueueAll(events, AuthService.USER_CREATED_ROUTING_KEY);
+
+        for (int i = 0; i < batch.size(); i++) {
+            RuntimeException error = errors.get(i);
+            if (error == null) {
+                results.accept(result(batch.get(i), UserImportResult.Status.CREATED, users.get(i).getId(), null));
+            } else if (error instanceof DuplicateUserException) {
+                results.accept(result(batch.get(i), UserImportResult.Status.DUPLICATE, null, error.getMessage()));
+            } else {
+                log.error("Error importando la línea {}: {}", batch.get(i).getLine(), error.getMessage());
+                results.accept(result(batch.get(i), UserImportResult.Status.FAILED, null, "Error al crear el usuario"));
+            }
+        }
+        log.debug("Lote importado: {} de {} fila(s) creadas", events.size(), batch.size());
+        return events.size();
+    }
+
+    private static UserImportResult result(UserImportRow row, UserImportResult.Status status, String id, String message) {
+        return UserImportResult.builder()
+                .line(row.getLine())
+                .email(row.getRequest() != null ? row.getRequest().getEmail() : row.getEmail())
+                .status(status)
+                .id(id)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package edu.dosw.rideci.domain.models;
+
+import edu.dosw.rideci.domain.models.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Lo mínimo que necesita el login: verificar la contraseña y emitir los tokens
+ * Se lee con una proyección cubierta por el índice de email (sin cargar el documento completo)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class UserCredentials {
+    private final String id;
+    private final String email;
+    private final String passwordHash;
+    private final Role role;
+    private final String name;
+    private final Long institutionalId;
+}
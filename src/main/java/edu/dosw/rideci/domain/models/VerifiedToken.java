@@ -0,0 +1,36 @@
+package edu.dosw.rideci.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Resultado de verificar un JWT una sola vez (firma + expiración)
+ * Se reutiliza durante toda la petición para no volver a parsear el token
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class VerifiedToken {
+
+    public static final String ACCESS = "ACCESS";
+    public static final String REFRESH = "REFRESH";
+
+    private final String subject; // Email del usuario
+    private final Long userId; // Carnet institucional
+    private final String type; // ACCESS o REFRESH
+    private final String role;
+    private final String name;
+    private final Date issuedAt;
+    private final Date expiresAt;
+
+    public boolean isAccessToken() {
+        return ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH.equals(type);
+    }
+}
@@ -1,7 +1,37 @@
 package edu.dosw.rideci.domain.models.enums;
 
 public enum Role {
-    PROFESSOR,
-    STUDENT,
-    ADMINISTRATOR
+    PROFESSOR("P"),
+    STUDENT("S"),
+    ADMINISTRATOR("A");
+
+    private final String code; // Código corto para el perfil compacto del access token
+
+    Role(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Si el rol se puede elegir en el registro público (/auth/register)
+     * ADMINISTRATOR no: solo lo asigna un administrador (importación masiva) o se crea a mano en Mongo
+     */
+    public boolean isSelfRegistrable() {
+        return this != ADMINISTRATOR;
+    }
+
+    /**
+     * Rol a partir de su código corto, o null si no existe
+     */
+    public static Role fromCode(String code) {
+        for (Role role : values()) {
+            if (role.code.equals(code)) {
+                return role;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,30 @@
+package edu.dosw.rideci.exceptions;
+
+/**
+ * El insert de un usuario chocó con un índice único (email o carnet)
+ * Mismo mensaje que daban las consultas previas de existencia
+ */
+public class DuplicateUserException extends AuthException {
+
+    public enum Field {
+        EMAIL("El email ya está registrado"),
+        INSTITUTIONAL_ID("Carnet ya registrado");
+
+        private final String message;
+
+        Field(String message) {
+            this.message = message;
+        }
+    }
+
+    private final Field field;
+
+    public DuplicateUserException(Field field) {
+        super(field.message);
+        this.field = field;
+    }
+
+    public Field getField() {
+        return field;
+    }
+}
@@ -0,0 +1,21 @@
+package edu.dosw.rideci.exceptions;
+
+import java.time.Duration;
+
+/**
+ * El servicio está saturado y rechaza la petición de inmediato (HTTP 503)
+ * El cliente puede reintentar después de retryAfter
+ */
+public class ServiceBusyException extends AuthException {
+
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,307 @@
+package edu.dosw.rideci.infrastructure.adapters;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Escritor de JWS compactos sobre buffers reutilizables (uno por hilo)
+ * - El JSON de los claims se escribe directo en bytes, con el mismo escape que Jackson
+ * - El Base64URL se escribe directo en el buffer de salida, sin padding
+ * - La firma HMAC se calcula sobre ese mismo buffer
+ * No es thread-safe: cada hilo usa su propia instancia
+ */
+final class CompactJwtWriter {
+
+    private static final byte[] BASE64URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] json = new byte[512];
+    private int jsonLength;
+    private byte[] out = new byte[1024];
+    private int outLength;
+    private final byte[] signature = new byte[64];
+    private boolean firstField;
+
+    /**
+     * Header {"kid":..,"alg":..} ya en Base64URL, en el mismo orden que escribe JJWT
+     */
+    static byte[] encodeHeader(String keyId, String algorithm) {
+        CompactJwtWriter writer = new CompactJwtWriter();
+        writer.writeJson((byte) '{');
+        writer.firstField = true;
+        writer.field("kid", keyId);
+        writer.field("alg", algorithm);
+        writer.writeJson((byte) '}');
+        writer.encodeBase64Url(writer.json, writer.jsonLength);
+        return Arrays.copyOf(writer.out, writer.outLength);
+    }
+
+    /**
+     * Empieza un token: copia el header ya codificado y abre el objeto de claims
+     */
+    void begin(byte[] encodedHeader) {
+        outLength = 0;
+        ensureOut(encodedHeader.length + 1);
+        System.arraycopy(encodedHeader, 0, out, 0, encodedHeader.length);
+        outLength = encodedHeader.length;
+        out[outLength++] = '.';
+
+        jsonLength = 0;
+        writeJson((byte) '{');
+        firstField = true;
+    }
+
+    /**
+     * Claim de texto; los valores null se omiten (igual que JJWT)
+     */
+    void field(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        fieldName(name);
+        writeString(value);
+    }
+
+    /**
+     * Claim numérico; los valores null se omiten (igual que JJWT)
+     */
+    void field(String name, Long value) {
+        if (value == null) {
+            return;
+        }
+        fieldName(name);
+        writeLong(value);
+    }
+
+    void field(String name, long value) {
+        fieldName(name);
+        writeLong(value);
+    }
+
+    /**
+     * Claim con el formato de LocalDateTime.toString()
+     * @return false si el año no tiene 4 dígitos (el llamador debe usar otra ruta)
+     */
+    boolean localDateTimeField(String name, long localEpochSecond, int nanos) {
+        long epochDay = Math.floorDiv(localEpochSecond, 86400);
+        int secondOfDay = (int) Math.floorMod(localEpochSecond, 86400);
+
+        // Días desde la época -> fecha civil (algoritmo de H. Hinnant)
+        long z = epochDay + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 1000 || year > 9999) {
+            return false;
+        }
+
+        int hour = secondOfDay / 3600;
+        int minute = (secondOfDay / 60) % 60;
+        int second = secondOfDay % 60;
+
+        fieldName(name);
+        writeJson((byte) '"');
+        writeDigits((int) year, 4);
+        writeJson((byte) '-');
+        writeDigits(month, 2);
+        writeJson((byte) '-');
+        writeDigits(day, 2);
+        writeJson((byte) 'T');
+        writeDigits(hour, 2);
+        writeJson((byte) ':');
+        writeDigits(minute, 2);
+        if (second > 0 || nanos > 0) {
+            writeJson((byte) ':');
+            writeDigits(second, 2);
+            if (nanos > 0) {
+                writeJson((byte) '.');
+                if (nanos % 1_000_000 == 0) {
+                    writeDigits(nanos / 1_000_000, 3);
+                } else if (nanos % 1000 == 0) {
+                    writeDigits(nanos / 1000, 6);
+                } else {
+                    writeDigits(nanos, 9);
+                }
+            }
+        }
+        writeJson((byte) '"');
+        return true;
+    }
+
+    /**
+     * Cierra los claims, los codifica, firma y devuelve el token completo
+     */
+    String sign(Mac mac) {
+        writeJson((byte) '}');
+        encodeBase64Url(json, jsonLength);
+
+        mac.update(out, 0, outLength);
+        int signatureLength = mac.getMacLength();
+        try {
+            mac.doFinal(signature, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+
+        ensureOut(1);
+        out[outLength++] = '.';
+        encodeBase64Url(signature, signatureLength);
+
+        // Todo es ASCII: ISO-8859-1 crea el String compacto con una sola copia
+        return new String(out, 0, outLength, StandardCharsets.ISO_8859_1);
+    }
+
+    private void fieldName(String name) {
+        if (!firstField) {
+            writeJson((byte) ',');
+        }
+        firstField = false;
+        writeString(name);
+        writeJson((byte) ':');
+    }
+
+    // Mismo escape que el generador UTF-8 por defecto de Jackson
+    private void writeString(String value) {
+        writeJson((byte) '"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    writeJson((byte) '\\');
+                    writeJson((byte) c);
+                } else if (c < 0x20) {
+                    writeControlEscape(c);
+                } else {
+                    writeJson((byte) c);
+                }
+            } else if (c < 0x800) {
+                writeJson((byte) (0xC0 | (c >> 6)));
+                writeJson((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson no combina pares surrogate en UTF-8: escapa cada mitad en hexadecimal
+                writeJson((byte) '\\');
+                writeJson((byte) 'u');
+                writeJson(HEX[(c >> 12) & 0xF]);
+                writeJson(HEX[(c >> 8) & 0xF]);
+                writeJson(HEX[(c >> 4) & 0xF]);
+                writeJson(HEX[c & 0xF]);
+            } else {
+                writeJson((byte) (0xE0 | (c >> 12)));
+                writeJson((byte) (0x80 | ((c >> 6) & 0x3F)));
+                writeJson((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        writeJson((byte) '"');
+    }
+
+    private void writeControlEscape(char c) {
+        writeJson((byte) '\\');
+        switch (c) {
+            case '\b' -> writeJson((byte) 'b');
+            case '\t' -> writeJson((byte) 't');
+            case '\n' -> writeJson((byte) 'n');
+            case '\f' -> writeJson((byte) 'f');
+            case '\r' -> writeJson((byte) 'r');
+            default -> {
+                writeJson((byte) 'u');
+                writeJson((byte) '0');
+                writeJson((byte) '0');
+                writeJson(HEX[c >> 4]);
+                writeJson(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            writeJson((byte) '-');
+            value = -value;
+        }
+        ensureJson(20);
+        int start = jsonLength;
+        do {
+            json[jsonLength++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        reverse(json, start, jsonLength - 1);
+    }
+
+    private void writeDigits(int value, int width) {
+        ensureJson(width);
+        for (int i = jsonLength + width - 1; i >= jsonLength; i--) {
+            json[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        jsonLength += width;
+    }
+
+    private void writeAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            writeJson((byte) value.charAt(i));
+        }
+    }
+
+    private void writeJson(byte b) {
+        if (jsonLength == json.length) {
+            json = Arrays.copyOf(json, json.length * 2);
+        }
+        json[jsonLength++] = b;
+    }
+
+    private void ensureJson(int extra) {
+        if (jsonLength + extra > json.length) {
+            json = Arrays.copyOf(json, Math.max(json.length * 2, jsonLength + extra));
+        }
+    }
+
+    private void ensureOut(int extra) {
+        if (outLength + extra > out.length) {
+            out = Arrays.copyOf(out, Math.max(out.length * 2, outLength + extra));
+        }
+    }
+
+    private void encodeBase64Url(byte[] source, int length) {
+        ensureOut((length + 2) / 3 * 4);
+        int i = 0;
+        int full = length - length % 3;
+        while (i < full) {
+            int bits = (source[i++] & 0xFF) << 16 | (source[i++] & 0xFF) << 8 | (source[i++] & 0xFF);
+            out[outLength++] = BASE64URL[(bits >>> 18) & 0x3F];
+            out[outLength++] = BASE64URL[(bits >>> 12) & 0x3F];
+            out[outLength++] = BASE64URL[(bits >>> 6) & 0x3F];
+            out[outLength++] = BASE64URL[bits & 0x3F];
+        }
+        int remaining = length - full;
+        if (remaining == 1) {
+            int bits = (source[i] & 0xFF) << 16;
+            out[outLength++] = BASE64URL[(bits >>> 18) & 0x3F];
+            out[outLength++] = BASE64URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8;
+            out[outLength++] = BASE64URL[(bits >>> 18) & 0x3F];
+            out[outLength++] = BASE64URL[(bits >>> 12) & 0x3F];
+            out[outLength++] = BASE64URL[(bits >>> 6) & 0x3F];
+        }
+    }
+
+    private static void reverse(byte[] bytes, int from, int to) {
+        while (from < to) {
+            byte tmp = bytes[from];
+            bytes[from++] = bytes[to];
+            bytes[to--] = tmp;
+        }
+    }
+}
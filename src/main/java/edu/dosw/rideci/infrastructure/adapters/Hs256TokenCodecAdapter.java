@@ -0,0 +1,199 @@
+package edu.dosw.rideci.infrastructure.adapters;
+
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.security.JwtKeyRing;
+import edu.dosw.rideci.infrastructure.security.JwtKeySet;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Codec HS256 de bajo costo para los formatos fijos de token (access STANDARD/COMPACT y refresh)
+ * - El header ya codificado se calcula una vez por llave de firma
+ * - Cada hilo reutiliza su Mac y sus buffers: no hay mapas, builder ni Jackson por token
+ * - Produce exactamente los mismos bytes que JWTTokenProviderAdapter
+ * - Con ES256 (o fechas fuera de rango) y para toda la verificación delega en JJWT
+ * Se activa con rideci.jwt.codec=fast
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "rideci.jwt.codec", havingValue = "fast")
+public class Hs256TokenCodecAdapter implements TokenProviderOutPort {
+
+    private static final String HS256 = SignatureAlgorithm.HS256.getValue();
+
+    private final JwtKeyRing keyRing;
+    private final JWTTokenProviderAdapter delegate;
+    private final Clock clock;
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private volatile EncodedHeader header;
+
+    @Autowired
+    public Hs256TokenCodecAdapter(JwtKeyRing keyRing, JWTTokenProviderAdapter delegate) {
+        this(keyRing, delegate, Clock.systemDefaultZone());
+    }
+
+    public Hs256TokenCodecAdapter(JwtKeyRing keyRing, JWTTokenProviderAdapter delegate, Clock clock) {
+        this.keyRing = keyRing;
+        this.delegate = delegate;
+        this.clock = clock;
+        log.info("Codec JWT HS256 rápido activo");
+    }
+
+    @Override
+    public String generateAccessToken(String email, String name, String role, Long userId) {
+        JwtKeySet keySet = keyRing.current();
+        if (keySet.getSigningAlgorithm() != SignatureAlgorithm.HS256) {
+            return delegate.generateAccessToken(email, name, role, userId);
+        }
+
+        Instant now = clock.instant();
+        long currentTime = now.toEpochMilli();
+
+        Scratch current = scratch.get();
+        CompactJwtWriter writer = current.writer;
+        writer.begin(encodedHeader(keySet));
+        if (delegate.getClaimProfile() == JwtProperties.ClaimProfile.COMPACT) {
+            writer.field(TokenClaims.COMPACT_USER_ID, userId);
+            writer.field(TokenClaims.COMPACT_ROLE, TokenClaims.compactRole(role));
+            if (delegate.isIncludeName()) {
+                writer.field(TokenClaims.COMPACT_NAME, name);
+            }
+            writer.field(TokenClaims.COMPACT_TYPE, TokenClaims.COMPACT_ACCESS);
+        } else {
+            int offsetSeconds = clock.getZone().getRules().getOffset(now).getTotalSeconds();
+            writer.field(TokenClaims.ROLE, role);
+            writer.field(TokenClaims.NAME, name);
+            if (!writer.localDateTimeField(TokenClaims.CREATED_AT, now.getEpochSecond() + offsetSeconds, now.getNano())) {
+                return delegate.generateAccessToken(email, name, role, userId);
+            }
+            writer.field(TokenClaims.USER_ID, userId);
+            writer.field(TokenClaims.TYPE, VerifiedToken.ACCESS);
+        }
+        writeRegisteredClaims(writer, email, currentTime, JWTTokenProviderAdapter.ACCESS_TOKEN_VALIDITY);
+        return writer.sign(current.mac(keySet.getSigningKey()));
+    }
+
+    @Override
+    public String generateRefreshToken(String email, Long userId) {
+        JwtKeySet keySet = keyRing.current();
+        if (keySet.getSigningAlgorithm() != SignatureAlgorithm.HS256) {
+            return delegate.generateRefreshToken(email, userId);
+        }
+
+        long currentTime = clock.millis();
+
+        Scratch current = scratch.get();
+        CompactJwtWriter writer = current.writer;
+        writer.begin(encodedHeader(keySet));
+        writer.field(TokenClaims.USER_ID, userId);
+        writer.field(TokenClaims.TYPE, VerifiedToken.REFRESH);
+        writeRegisteredClaims(writer, email, currentTime, JWTTokenProviderAdapter.REFRESH_TOKEN_VALIDITY);
+        return writer.sign(current.mac(keySet.getSigningKey()));
+    }
+
+    // sub, iat y exp van después de los claims propios y en segundos, como en JJWT
+    private static void writeRegisteredClaims(CompactJwtWriter writer, String subject, long currentTime, long validity) {
+        writer.field("sub", subject);
+        writer.field("iat", currentTime / 1000);
+        writer.field("exp", (currentTime + validity) / 1000);
+    }
+
+    private byte[] encodedHeader(JwtKeySet keySet) {
+        EncodedHeader cached = header;
+        if (cached == null || cached.keySet() != keySet) {
+            cached = new EncodedHeader(keySet, CompactJwtWriter.encodeHeader(keySet.getSigningKeyId(), HS256));
+            header = cached;
+        }
+        return cached.bytes();
+    }
+
+    @Override
+    public Optional<VerifiedToken> verify(String token) {
+        return delegate.verify(token);
+    }
+
+    @Override
+    public boolean isTokenValid(String token) {
+        return delegate.isTokenValid(token);
+    }
+
+    @Override
+    public boolean isAccessToken(String token) {
+        return delegate.isAccessToken(token);
+    }
+
+    @Override
+    public boolean isRefreshToken(String token) {
+        return delegate.isRefreshToken(token);
+    }
+
+    @Override
+    public String getEmailFromToken(String token) {
+        return delegate.getEmailFromToken(token);
+    }
+
+    @Override
+    public Long getUserIdFromToken(String token) {
+        return delegate.getUserIdFromToken(token);
+    }
+
+    @Override
+    public Date getExpirationFromToken(String token) {
+        return delegate.getExpirationFromToken(token);
+    }
+
+    @Override
+    public List<Map<String, Object>> getPublicJwks() {
+        return delegate.getPublicJwks();
+    }
+
+    private record EncodedHeader(JwtKeySet keySet, byte[] bytes) {
+    }
+
+    /**
+     * Estado reutilizable de un hilo; el Mac se reinicia solo cuando rota la llave
+     */
+    private static final class Scratch {
+        private final CompactJwtWriter writer = new CompactJwtWriter();
+        private final Mac mac;
+        private Key key;
+
+        Scratch() {
+            try {
+                mac = Mac.getInstance("HmacSHA256");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 no disponible", e);
+            }
+        }
+
+        Mac mac(Key signingKey) {
+            if (signingKey != key) {
+                try {
+                    mac.init(signingKey);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Llave HS256 inválida", e);
+                }
+                key = signingKey;
+            }
+            return mac;
+        }
+    }
+}
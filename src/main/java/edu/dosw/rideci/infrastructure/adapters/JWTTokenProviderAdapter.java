@@ -1,42 +1,100 @@
 package edu.dosw.rideci.infrastructure.adapters;
 
 import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.security.JwtKeyRing;
+import edu.dosw.rideci.infrastructure.security.JwtKeySet;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Servicio para generar y validar tokens JWT
  * Compatible con JJWT 0.11.5
+ * - Firma con HS256 (secreto compartido) o ES256 (llave privada EC)
+ * - Cada token lleva el kid de la llave activa del anillo
+ * - La verificación elige la llave en O(1) por el kid del header
+ * - Access token en perfil STANDARD o COMPACT; la lectura acepta ambos
  */
 @Slf4j
 @Component
 public class JWTTokenProviderAdapter implements TokenProviderOutPort {
 
-    private static final long ACCESS_TOKEN_VALIDITY = 30 * 60 * 1000; // 30 minutos
-    private static final long REFRESH_TOKEN_VALIDITY = 7 * 24 * 60 * 60 * 1000; // 7 días
+    static final long ACCESS_TOKEN_VALIDITY = 30 * 60 * 1000; // 30 minutos
+    static final long REFRESH_TOKEN_VALIDITY = 7 * 24 * 60 * 60 * 1000; // 7 días
 
-    private static final String SECRET_KEY = "UltraSecretoDestroy9778123456789012SuperSeguroParaJWTRideci2025";
+    private final JwtKeyRing keyRing;
+    private final Clock clock;
+    private final JwtProperties.ClaimProfile claimProfile;
+    private final boolean includeName;
 
-    private final Key key;
+    // JwtParser es inmutable y thread-safe: se construye una sola vez
+    private final JwtParser parser;
 
     public JWTTokenProviderAdapter() {
-        this.key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        this(JwtKeyRing.fixed(JwtKeySet.hmac(JwtProperties.DEFAULT_HMAC_KEY_ID, JwtProperties.DEFAULT_HMAC_SECRET)));
+    }
+
+    public JWTTokenProviderAdapter(JwtProperties properties) {
+        this(JwtKeyRing.fixed(JwtKeySet.fromProperties(properties)), properties, Clock.systemDefaultZone());
+    }
+
+    public JWTTokenProviderAdapter(JwtKeyRing keyRing) {
+        this(keyRing, Clock.systemDefaultZone());
+    }
+
+    public JWTTokenProviderAdapter(JwtKeyRing keyRing, Clock clock) {
+        this(keyRing, new JwtProperties(), clock);
+    }
+
+    @Autowired
+    public JWTTokenProviderAdapter(JwtKeyRing keyRing, JwtProperties properties) {
+        this(keyRing, properties, Clock.systemDefaultZone());
+    }
+
+    public JWTTokenProviderAdapter(JwtKeyRing keyRing, JwtProperties properties, Clock clock) {
+        this.keyRing = keyRing;
+        this.clock = clock;
+        this.claimProfile = properties.getClaimProfile();
+        this.includeName = properties.isIncludeName();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key verificationKey = keyRing.current()
+                                .resolveVerificationKey(header.getAlgorithm(), header.getKeyId());
+                        if (verificationKey == null) {
+                            throw new UnsupportedJwtException("Llave de firma no reconocida: alg="
+                                    + header.getAlgorithm() + ", kid=" + header.getKeyId());
+                        }
+                        return verificationKey;
+                    }
+                })
+                // exp se valida con el mismo reloj con el que se emite
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        log.info("JWT firmado con {} (kid={}), perfil de claims {}", keyRing.current().getSigningAlgorithm().getValue(),
+                keyRing.current().getSigningKeyId(), claimProfile);
     }
 
     /**
@@ -44,94 +102,115 @@ public class JWTTokenProviderAdapter implements TokenProviderOutPort {
      */
     @Override
     public String generateAccessToken(String email, String name, String role, Long userId) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
-        claims.put("name", name);
-        claims.put("createdAt", LocalDateTime.now().toString());
-        claims.put("userId", userId);
-        claims.put("type", "ACCESS");
+        Instant now = clock.instant();
+
+        // Orden fijo de claims: el codec HS256 rápido produce exactamente los mismos bytes
+        Map<String, Object> claims = new LinkedHashMap<>();
+        if (claimProfile == JwtProperties.ClaimProfile.COMPACT) {
+            claims.put(TokenClaims.COMPACT_USER_ID, userId);
+            claims.put(TokenClaims.COMPACT_ROLE, TokenClaims.compactRole(role));
+            if (includeName) {
+                claims.put(TokenClaims.COMPACT_NAME, name);
+            }
+            claims.put(TokenClaims.COMPACT_TYPE, TokenClaims.COMPACT_ACCESS);
+        } else {
+            claims.put(TokenClaims.ROLE, role);
+            claims.put(TokenClaims.NAME, name);
+            claims.put(TokenClaims.CREATED_AT, LocalDateTime.ofInstant(now, clock.getZone()).toString());
+            claims.put(TokenClaims.USER_ID, userId);
+            claims.put(TokenClaims.TYPE, VerifiedToken.ACCESS);
+        }
 
-        return buildToken(claims, email, ACCESS_TOKEN_VALIDITY);
+        return buildToken(claims, email, now.toEpochMilli(), ACCESS_TOKEN_VALIDITY);
     }
 
     /**
      * Genera un Refresh Token (7 días)
      */
     public String generateRefreshToken(String email, Long userId) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId);
-        claims.put("type", "REFRESH");
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(TokenClaims.USER_ID, userId);
+        claims.put(TokenClaims.TYPE, VerifiedToken.REFRESH);
 
-        return buildToken(claims, email, REFRESH_TOKEN_VALIDITY);
+        return buildToken(claims, email, clock.millis(), REFRESH_TOKEN_VALIDITY);
     }
 
-    private String buildToken(Map<String, Object> claims, String subject, long validity) {
-        long currentTime = System.currentTimeMillis();
+    private String buildToken(Map<String, Object> claims, String subject, long currentTime, long validity) {
+        JwtKeySet keySet = keyRing.current();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keySet.getSigningKeyId())
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(currentTime))
                 .setExpiration(new Date(currentTime + validity))
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(keySet.getSigningKey(), keySet.getSigningAlgorithm())
                 .compact();
     }
 
     /**
-     * Valida si el token es válido
+     * Verifica el token una sola vez y devuelve sus datos
+     * Vacío si la firma, el formato o la expiración no son válidos
      */
-    public boolean isTokenValid(String token) {
+    @Override
+    public Optional<VerifiedToken> verify(String token) {
         try {
             Claims claims = getClaims(token);
-            return claims.getExpiration().after(new Date());
+            Date expiration = claims.getExpiration();
+            if (expiration == null || !expiration.after(Date.from(clock.instant()))) {
+                return Optional.empty();
+            }
+            return Optional.of(VerifiedToken.builder()
+                    .subject(claims.getSubject())
+                    .userId(TokenClaims.userId(claims))
+                    .type(TokenClaims.type(claims))
+                    .role(TokenClaims.role(claims))
+                    .name(TokenClaims.name(claims))
+                    .issuedAt(claims.getIssuedAt())
+                    .expiresAt(expiration)
+                    .build());
         } catch (ExpiredJwtException e) {
             log.warn("Token expirado: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         } catch (SignatureException e) {
             log.error("Firma del token inválida: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         } catch (MalformedJwtException e) {
             log.error("Token malformado: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         } catch (UnsupportedJwtException e) {
             log.error("Token no soportado: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         } catch (IllegalArgumentException e) {
             log.error("Token vacío o nulo: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         } catch (Exception e) {
             log.error("Error al validar token: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
 
+    /**
+     * Valida si el token es válido
+     */
+    public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
     @Override
     public boolean isAccessToken(String token) {
-        try {
-            String type = (String) getClaims(token).get("type");
-            return "ACCESS".equals(type);
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token).map(VerifiedToken::isAccessToken).orElse(false);
     }
 
     public boolean isRefreshToken(String token) {
-        try {
-            String type = (String) getClaims(token).get("type");
-            return "REFRESH".equals(type);
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token).map(VerifiedToken::isRefreshToken).orElse(false);
     }
 
     /**
      * Extrae los claims del token
      */
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(key)
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String getEmailFromToken(String token) {
@@ -139,20 +218,25 @@ public class JWTTokenProviderAdapter implements TokenProviderOutPort {
     }
 
     public Long getUserIdFromToken(String token) {
-        Object userIdObj = getClaims(token).get("userId");
-
-        if (userIdObj instanceof Integer) {
-            return ((Integer) userIdObj).longValue();
-        } else if (userIdObj instanceof Long) {
-            return (Long) userIdObj;
-        }
-
-        return null;
+        return TokenClaims.userId(getClaims(token));
     }
 
     public Date getExpirationFromToken(String token) {
         return getClaims(token).getExpiration();
     }
 
+    @Override
+    public List<Map<String, Object>> getPublicJwks() {
+        return keyRing.current().getJwks();
+    }
+
+    JwtProperties.ClaimProfile getClaimProfile() {
+        return claimProfile;
+    }
+
+    boolean isIncludeName() {
+        return includeName;
+    }
+
 }
 
@@ -0,0 +1,75 @@
+package edu.dosw.rideci.infrastructure.adapters;
+
+import edu.dosw.rideci.application.port.out.ReactivePasswordResetOutPort;
+import edu.dosw.rideci.domain.models.PasswordResetTokenData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Adaptador de Redis reactivo para tokens de password reset
+ * Mismas llaves y mismo JSON que PasswordResetAdapter (perfil reactive)
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactivePasswordResetAdapter implements ReactivePasswordResetOutPort {
+
+    private static final String RESET_TOKEN_PREFIX = "rideci_reset:";
+    private static final String ATTEMPT_PREFIX = "reset_attempt:";
+
+    private final ReactiveRedisTemplate<String, PasswordResetTokenData> redisTemplate;
+
+    public ReactivePasswordResetAdapter(
+            @Qualifier("reactivePasswordResetRedisTemplate") ReactiveRedisTemplate<String, PasswordResetTokenData> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<Void> saveResetToken(String token, PasswordResetTokenData data, long expirationMinutes) {
+        return redisTemplate.opsForValue()
+                .set(RESET_TOKEN_PREFIX + token, data, Duration.ofMinutes(expirationMinutes))
+                .doOnSuccess(saved -> log.debug("Token de reset guardado en Redis con TTL de {} minutos", expirationMinutes))
+                .then();
+    }
+
+    @Override
+    public Mono<PasswordResetTokenData> getResetToken(String token) {
+        return redisTemplate.opsForValue().get(RESET_TOKEN_PREFIX + token);
+    }
+
+    @Override
+    public Mono<Void> deleteResetToken(String token) {
+        return redisTemplate.delete(RESET_TOKEN_PREFIX + token).then();
+    }
+
+    // Conserva el TTL restante, igual que la versión bloqueante
+    @Override
+    public Mono<Void> incrementAttempts(String token) {
+        String key = RESET_TOKEN_PREFIX + token;
+        return getResetToken(token)
+                .flatMap(data -> redisTemplate.getExpire(key)
+                        .filter(ttl -> ttl.toMinutes() > 0)
+                        .flatMap(ttl -> {
+                            data.setAttempts(data.getAttempts() + 1);
+                            return redisTemplate.opsForValue().set(key, data, Duration.ofMinutes(ttl.toMinutes()));
+                        }))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> saveResetAttempt(String email) {
+        return redisTemplate.expire(ATTEMPT_PREFIX + email, Duration.ofHours(1)).then();
+    }
+
+    @Override
+    public Mono<Long> countResetAttempts(String email) {
+        return redisTemplate.opsForList().size(ATTEMPT_PREFIX + email)
+                .defaultIfEmpty(0L);
+    }
+}
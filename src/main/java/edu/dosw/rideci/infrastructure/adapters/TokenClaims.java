@@ -0,0 +1,82 @@
+package edu.dosw.rideci.infrastructure.adapters;
+
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.domain.models.enums.Role;
+import io.jsonwebtoken.Claims;
+
+/**
+ * Nombres de claims de los dos perfiles y lectura que acepta ambos
+ * Los tokens STANDARD ya emitidos siguen siendo válidos después de pasar a COMPACT
+ */
+final class TokenClaims {
+
+    static final String ROLE = "role";
+    static final String NAME = "name";
+    static final String CREATED_AT = "createdAt";
+    static final String USER_ID = "userId";
+    static final String TYPE = "type";
+
+    static final String COMPACT_USER_ID = "uid";
+    static final String COMPACT_ROLE = "r";
+    static final String COMPACT_NAME = "n";
+    static final String COMPACT_TYPE = "t";
+    static final String COMPACT_ACCESS = "A";
+    static final String COMPACT_REFRESH = "R";
+
+    private TokenClaims() {
+    }
+
+    static Long userId(Claims claims) {
+        Object userId = claims.get(USER_ID);
+        return toLong(userId != null ? userId : claims.get(COMPACT_USER_ID));
+    }
+
+    static String type(Claims claims) {
+        String type = claims.get(TYPE, String.class);
+        if (type != null) {
+            return type;
+        }
+        String code = claims.get(COMPACT_TYPE, String.class);
+        if (COMPACT_ACCESS.equals(code)) {
+            return VerifiedToken.ACCESS;
+        }
+        return COMPACT_REFRESH.equals(code) ? VerifiedToken.REFRESH : null;
+    }
+
+    static String role(Claims claims) {
+        String role = claims.get(ROLE, String.class);
+        if (role != null) {
+            return role;
+        }
+        String code = claims.get(COMPACT_ROLE, String.class);
+        Role decoded = Role.fromCode(code);
+        return decoded != null ? decoded.name() : code;
+    }
+
+    static String name(Claims claims) {
+        String name = claims.get(NAME, String.class);
+        return name != null ? name : claims.get(COMPACT_NAME, String.class);
+    }
+
+    /**
+     * Código corto del rol; los roles que no están en el enum se escriben tal cual
+     */
+    static String compactRole(String role) {
+        for (Role candidate : Role.values()) {
+            if (candidate.name().equals(role)) {
+                return candidate.getCode();
+            }
+        }
+        return role;
+    }
+
+    static Long toLong(Object userIdObj) {
+        if (userIdObj instanceof Integer) {
+            return ((Integer) userIdObj).longValue();
+        } else if (userIdObj instanceof Long) {
+            return (Long) userIdObj;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,86 @@
+package edu.dosw.rideci.infrastructure.adapters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import edu.dosw.rideci.application.port.out.VerifiedTokenCacheOutPort;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.security.TokenDigests;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Optional;
+
+/**
+ * Cache en memoria de tokens ya verificados (Caffeine)
+ * - Llave: SHA-256 del token, no el token en claro
+ * - Acotado por tamaño; cada entrada expira en min(exp del token, cache-max-ttl)
+ * - Métricas cache.gets{cache=token-introspection,result=hit|miss}
+ */
+@Component
+public class VerifiedTokenCacheAdapter implements VerifiedTokenCacheOutPort {
+
+    static final String CACHE_NAME = "token-introspection";
+
+    private final Cache<String, VerifiedToken> cache;
+    private final Clock clock;
+    private final long maxTtlNanos;
+
+    @Autowired
+    public VerifiedTokenCacheAdapter(JwtProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    public VerifiedTokenCacheAdapter(JwtProperties properties, MeterRegistry meterRegistry, Ticker ticker, Clock clock) {
+        this.clock = clock;
+        this.maxTtlNanos = properties.getIntrospection().getCacheMaxTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getIntrospection().getCacheMaximumSize())
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<VerifiedToken> get(String token) {
+        VerifiedToken cached = cache.getIfPresent(TokenDigests.sha256(token));
+        // Doble control contra el reloj de pared: nunca se responde con un token ya expirado
+        if (cached == null || cached.getExpiresAt().getTime() <= clock.millis()) {
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    @Override
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (verifiedToken.getExpiresAt().getTime() > clock.millis()) {
+            cache.put(TokenDigests.sha256(token), verifiedToken);
+        }
+    }
+
+    private final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long untilExp = (value.getExpiresAt().getTime() - clock.millis()) * 1_000_000;
+            return Math.max(0, Math.min(untilExp, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package edu.dosw.rideci.infrastructure.concurrency;
+
+import edu.dosw.rideci.infrastructure.config.AuthIoProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta a la vez llamadas de I/O independientes (Mongo, Redis) de un mismo request
+ * - La latencia queda cerca de la llamada más lenta y no de la suma
+ * - Pool acotado; con la cola llena la tarea corre en el hilo que la pidió: nunca se rechaza,
+ *   solo se vuelve secuencial
+ * - join devuelve la excepción original (AuthException, ServiceBusyException...) sin envolver
+ * - No es un bean Executor: no reemplaza el applicationTaskExecutor de Spring
+ * - Las tareas no heredan la transacción ni el contexto del hilo que las pidió
+ * - Métricas: auth.io.queue, auth.io.active
+ */
+@Slf4j
+@Component
+public class AuthIoExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public AuthIoExecutor(AuthIoProperties properties, MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auth-io-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Gauge.builder("auth.io.queue", executor, pool -> pool.getQueue().size())
+                .description("Llamadas de I/O esperando turno")
+                .register(meterRegistry);
+        Gauge.builder("auth.io.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Llamadas de I/O en curso")
+                .register(meterRegistry);
+
+        log.info("Pool de I/O de autenticación: {} hilo(s), cola de {}",
+                properties.getPoolSize(), properties.getQueueCapacity());
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    public CompletableFuture<Void> run(Runnable call) {
+        return CompletableFuture.runAsync(call, executor);
+    }
+
+    /**
+     * Espera el resultado y relanza la excepción original de la tarea
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrumpido esperando una llamada de I/O");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error fatal) {
+            throw fatal;
+        }
+        return new CompletionException(cause);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
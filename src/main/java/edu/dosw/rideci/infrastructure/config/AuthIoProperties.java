@@ -0,0 +1,24 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool para las llamadas de I/O independientes del login (prefijo rideci.auth-io)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.auth-io")
+public class AuthIoProperties {
+
+    /**
+     * Hilos del pool; cada uno espera a Mongo o Redis, casi no usa CPU
+     */
+    private int poolSize = 16;
+
+    /**
+     * Tareas en espera; con la cola llena la tarea se ejecuta en el hilo que la pidió (secuencial)
+     */
+    private int queueCapacity = 256;
+}
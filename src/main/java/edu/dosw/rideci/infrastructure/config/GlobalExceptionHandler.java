@@ -1,11 +1,16 @@
 package edu.dosw.rideci.infrastructure.config;
 
 import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.exceptions.ServiceBusyException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -19,11 +24,23 @@ public class GlobalExceptionHandler {
 
     /**
      * Maneja TODOS los errores de autenticación
+     * Content-Type fijo: en los endpoints que solo producen NDJSON (exportación) el error sigue saliendo como JSON
      */
     @ExceptionHandler(AuthException.class)
     public ResponseEntity<Map<String, String>> handleAuthException(AuthException ex) {
         log.error("Error de autenticación: {}", ex.getMessage());
-        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Servicio saturado: 503 inmediato con Retry-After (en segundos)
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, String>> handleServiceBusy(ServiceBusyException ex) {
+        log.warn("Servicio ocupado: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(Map.of("error", ex.getMessage()));
     }
 
     /**
@@ -39,6 +56,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
 
+    /**
+     * Errores de validación en el perfil reactive (WebFlux no lanza MethodArgumentNotValidException)
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleReactiveValidationErrors(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+        );
+        log.error("Errores de validación: {}", errors);
+        return ResponseEntity.badRequest().body(errors);
+    }
+
     /**
      * Maneja cualquier otro error inesperado
      */
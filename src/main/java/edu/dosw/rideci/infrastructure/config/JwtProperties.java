@@ -0,0 +1,136 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración de firma y verificación de JWT (prefijo rideci.jwt)
+ * - HS256: secreto compartido (modo original)
+ * - ES256: par de llaves EC P-256, la llave pública se publica en el JWKS
+ * - keystore: anillo de llaves PKCS12 (alias = kid) recargado sin reiniciar
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.jwt")
+public class JwtProperties {
+
+    public static final String DEFAULT_HMAC_KEY_ID = "rideci-hs256";
+    public static final String DEFAULT_HMAC_SECRET = "UltraSecretoDestroy9778123456789012SuperSeguroParaJWTRideci2025";
+
+    /**
+     * Algoritmo con el que se firman los tokens nuevos: HS256 o ES256
+     */
+    private String signingAlgorithm = "HS256";
+
+    /**
+     * Secreto HS256 (mínimo 256 bits)
+     */
+    private String hmacSecret = DEFAULT_HMAC_SECRET;
+
+    /**
+     * kid con el que se marcan los tokens firmados con hmac-secret
+     */
+    private String hmacKeyId = DEFAULT_HMAC_KEY_ID;
+
+    /**
+     * Si se siguen aceptando tokens HS256 mientras se migra a ES256
+     */
+    private boolean acceptHs256 = true;
+
+    /**
+     * Llave privada EC P-256 en PKCS#8 (Base64 o PEM)
+     */
+    private String ecPrivateKey;
+
+    /**
+     * Llave pública EC P-256 en X.509 (Base64 o PEM)
+     */
+    private String ecPublicKey;
+
+    /**
+     * Tiempo que los clientes pueden cachear el JWKS
+     */
+    private Duration jwksMaxAge = Duration.ofMinutes(10);
+
+    /**
+     * Tiempo que una llave retirada sigue verificando (vida máxima de un token)
+     */
+    private Duration retiredKeyRetention = Duration.ofDays(7);
+
+    /**
+     * Formato de los claims del access token
+     * - STANDARD: role, name, createdAt, userId, type
+     * - COMPACT: uid, r (código de rol), n (opcional), t; sin createdAt (ya está en iat)
+     */
+    private ClaimProfile claimProfile = ClaimProfile.STANDARD;
+
+    /**
+     * Con COMPACT, si el nombre del usuario viaja en el token
+     */
+    private boolean includeName = true;
+
+    private Keystore keystore = new Keystore();
+
+    private Introspection introspection = new Introspection();
+
+    public enum ClaimProfile {
+        STANDARD,
+        COMPACT
+    }
+
+    @Data
+    public static class Keystore {
+
+        /**
+         * Ruta del keystore PKCS12; si está vacía se usan las llaves de arriba
+         */
+        private String path;
+
+        private String password = "";
+
+        /**
+         * kid con el que se firma; por defecto la entrada más reciente ya activable
+         */
+        private String activeKeyId;
+
+        /**
+         * Cada cuánto se revisa si el archivo cambió
+         */
+        private Duration reloadInterval = Duration.ofSeconds(30);
+
+        /**
+         * Espera antes de firmar con una llave nueva, para que todas las réplicas
+         * (y los JWKS cacheados) ya la conozcan
+         */
+        private Duration activationDelay = Duration.ofMinutes(15);
+
+        /**
+         * Keystore PKCS12 donde se guardan las llaves retiradas hasta que vence retired-key-retention
+         * (sobreviven a un reinicio); por defecto {path}.retired, en un volumen con escritura
+         */
+        private String retiredPath;
+    }
+
+    @Data
+    public static class Introspection {
+
+        /**
+         * Máximo de tokens verificados en memoria
+         */
+        private long cacheMaximumSize = 100_000;
+
+        /**
+         * Tiempo máximo en cache aunque el token expire después
+         * (así una llave retirada deja de aceptarse pronto)
+         */
+        private Duration cacheMaxTtl = Duration.ofMinutes(5);
+
+        /**
+         * Máximo de tokens por llamada a /auth/introspect/batch
+         */
+        private int batchMaxSize = 100;
+    }
+}
@@ -0,0 +1,32 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Escritura diferida de lastLogin (prefijo rideci.last-login)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.last-login")
+public class LastLoginProperties {
+
+    /**
+     * Cada cuánto se escriben los lastLogin pendientes
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Usuarios pendientes que disparan una escritura antes del intervalo
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Máximo de usuarios pendientes en memoria (p. ej. con Mongo caído)
+     * Al superarlo se descartan los lastLogin más antiguos hasta el 90 %
+     */
+    private int maxPending = 100_000;
+}
@@ -0,0 +1,23 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Transacciones de Mongo (requiere replica set, como Atlas)
+ * - Solo para el registro: guarda el usuario y su evento del outbox en la misma transacción
+ * - No es @Primary: un @Transactional sin nombre no abre transacciones de Mongo; quien las necesite
+ *   lo pide con @Transactional(transactionManager = MongoConfig.TRANSACTION_MANAGER)
+ */
+@Configuration
+public class MongoConfig {
+
+    public static final String TRANSACTION_MANAGER = "mongoTransactionManager";
+
+    @Bean(TRANSACTION_MANAGER)
+    public MongoTransactionManager mongoTransactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
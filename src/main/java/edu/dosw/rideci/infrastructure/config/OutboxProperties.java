@@ -0,0 +1,51 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Outbox de eventos hacia RabbitMQ (prefijo rideci.outbox)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.outbox")
+public class OutboxProperties {
+
+    /**
+     * Cada cuánto el relay busca eventos pendientes (si el lote sale lleno, sigue sin esperar)
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * Eventos por lote: se publican juntos y se espera una sola vez por los confirms
+     */
+    private int batchSize = 100;
+
+    /**
+     * Tiempo que una réplica se reserva un lote; si se cae, otra lo toma al vencer
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * Espera máxima por los confirms del broker
+     */
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Espera antes de reintentar un evento que no se pudo publicar
+     */
+    private Duration retryBackoff = Duration.ofSeconds(5);
+
+    /**
+     * Intentos de publicación de un evento antes de apartarlo como PARKED
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Tiempo que se guardan los eventos ya publicados (índice TTL)
+     */
+    private Duration retention = Duration.ofDays(7);
+}
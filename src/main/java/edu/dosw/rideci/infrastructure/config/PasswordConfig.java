@@ -1,15 +1,74 @@
 package edu.dosw.rideci.infrastructure.config;
 
+import edu.dosw.rideci.infrastructure.security.BoundedPasswordEncoder;
+import edu.dosw.rideci.infrastructure.security.CalibratedBCryptPasswordEncoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash de contraseñas con prefijo {id} (DelegatingPasswordEncoder)
+ * - Los hashes BCrypt sin prefijo (los que ya están en Mongo) se validan con BCrypt
+ * - Los hashes nuevos usan rideci.password.algorithm
+ * - upgradeEncoding es true si el hash tiene otro algoritmo o parámetros: AuthService lo migra en el login
+ */
+@Slf4j
 @Configuration
 public class PasswordConfig {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    /**
+     * Todo el cálculo corre dentro de un pool acotado: los hashes no usan los hilos de Tomcat
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordProperties passwordProperties, MeterRegistry meterRegistry) {
+        String algorithm = passwordProperties.getAlgorithm();
+
+        BCryptPasswordEncoder bcrypt;
+        if (BCRYPT.equals(algorithm)) {
+            CalibratedBCryptPasswordEncoder calibrated = CalibratedBCryptPasswordEncoder.fromProperties(passwordProperties.getBcrypt());
+            Gauge.builder("auth.password.bcrypt.strength", calibrated, CalibratedBCryptPasswordEncoder::getStrength)
+                    .description("Costo BCrypt con el que se generan los hashes nuevos")
+                    .register(meterRegistry);
+            bcrypt = calibrated;
+        } else {
+            bcrypt = new BCryptPasswordEncoder(); // Solo valida hashes existentes: el costo viene en el hash
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm,
+                encoders(bcrypt, passwordProperties));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        log.info("Hashes de contraseña nuevos con {}", algorithm);
+
+        return new BoundedPasswordEncoder(delegating, passwordProperties.getHashing(), meterRegistry);
     }
-}
 
+    public static Map<String, PasswordEncoder> encoders(BCryptPasswordEncoder bcrypt, PasswordProperties passwordProperties) {
+        PasswordProperties.Argon2 argon2 = passwordProperties.getArgon2();
+        PasswordProperties.Pbkdf2 pbkdf2 = passwordProperties.getPbkdf2();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(),
+                argon2.getParallelism(), argon2.getMemoryKib(), argon2.getIterations()));
+        encoders.put(PBKDF2, new Pbkdf2PasswordEncoder("", pbkdf2.getSaltLength(), pbkdf2.getIterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (!encoders.containsKey(passwordProperties.getAlgorithm())) {
+            throw new IllegalStateException("rideci.password.algorithm no soportado: " + passwordProperties.getAlgorithm());
+        }
+        return encoders;
+    }
+}
@@ -0,0 +1,106 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración del hash de contraseñas (prefijo rideci.password)
+ * - hashing: pool dedicado (bulkhead) para que BCrypt no ocupe los hilos de Tomcat
+ * - algorithm: con qué se generan los hashes nuevos ({id} como prefijo)
+ * - bcrypt: costo calibrado al arrancar según el hardware
+ * - argon2 / pbkdf2: parámetros elegidos según los límites del pod
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.password")
+public class PasswordProperties {
+
+    /**
+     * Algoritmo de los hashes nuevos: argon2, bcrypt o pbkdf2
+     * Los hashes existentes se siguen validando y se migran en el siguiente login
+     */
+    private String algorithm = "argon2";
+
+    private Hashing hashing = new Hashing();
+
+    private Bcrypt bcrypt = new Bcrypt();
+
+    private Argon2 argon2 = new Argon2();
+
+    private Pbkdf2 pbkdf2 = new Pbkdf2();
+
+    @Data
+    public static class Hashing {
+
+        /**
+         * Hilos que calculan hashes a la vez (por defecto, uno por núcleo)
+         */
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Hashes que pueden esperar turno; si la cola está llena se responde 503 de inmediato
+         */
+        private int queueCapacity = 64;
+
+        /**
+         * Espera máxima en cola (sin contar el cálculo) antes de responder 503
+         */
+        private Duration waitTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Valor del header Retry-After en las respuestas 503
+         */
+        private Duration retryAfter = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Bcrypt {
+
+        /**
+         * Costo fijo; si se define no se calibra
+         * Fijarlo igual en todas las réplicas: con calibración cada una puede elegir un costo distinto
+         */
+        private Integer strength;
+
+        /**
+         * Tiempo objetivo de un hash; se elige el costo más alto que no lo supere
+         */
+        private Duration targetHashTime = Duration.ofMillis(80);
+
+        private int minStrength = 10;
+
+        private int maxStrength = 14;
+    }
+
+    /**
+     * Argon2id; por defecto el perfil mínimo de OWASP (19 MiB, 2 iteraciones)
+     * Memoria pico = memory-kib x hashing.pool-size, debe caber en el límite del pod
+     */
+    @Data
+    public static class Argon2 {
+
+        private int memoryKib = 19 * 1024;
+
+        private int iterations = 2;
+
+        private int parallelism = 1;
+
+        private int saltLength = 16;
+
+        private int hashLength = 32;
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256; sin uso de memoria, solo CPU
+     */
+    @Data
+    public static class Pbkdf2 {
+
+        private int iterations = 600_000;
+
+        private int saltLength = 16;
+    }
+}
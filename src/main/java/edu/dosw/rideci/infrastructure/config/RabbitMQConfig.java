@@ -1,10 +1,12 @@
 package edu.dosw.rideci.infrastructure.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -21,6 +23,8 @@ public class RabbitMQConfig {
 
     public static final String USER_CREATE_ROUTING_KEY = "user.sync.failed";
 
+    public static final String USER_SYNC_BATCH_FACTORY = "userSyncBatchListenerFactory";
+
     @Bean
     public Queue userCreateQueue() {
         return new Queue(USER_CREATE_QUEUE, true); // durable = true
@@ -50,6 +54,29 @@ public class RabbitMQConfig {
                 .with(USER_CREATE_ROUTING_KEY);
     }*/
 
+    /**
+     * Listener por lotes para auth.sync.queue: el lote entero se confirma (ack) o se rechaza junto
+     * El resto (conversor JSON, reintentos) sale de spring.rabbitmq.listener.simple.*
+     */
+    @Bean(USER_SYNC_BATCH_FACTORY)
+    public SimpleRabbitListenerContainerFactory userSyncBatchListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            UserSyncListenerProperties properties
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(properties.getBatchSize());
+        factory.setReceiveTimeout(properties.getReceiveTimeout().toMillis());
+        factory.setConcurrentConsumers(properties.getConcurrency());
+        factory.setMaxConcurrentConsumers(properties.getMaxConcurrency());
+        factory.setPrefetchCount(Math.max(properties.getPrefetch(), properties.getBatchSize()));
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        return factory;
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -0,0 +1,21 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Publicación de eventos en RabbitMQ con confirms (prefijo rideci.rabbit.publisher)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.rabbit.publisher")
+public class RabbitPublisherProperties {
+
+    /**
+     * Espera máxima por el confirm de cada publicación (después el futuro falla con timeout)
+     */
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+}
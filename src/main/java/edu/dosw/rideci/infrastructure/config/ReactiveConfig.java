@@ -0,0 +1,54 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import edu.dosw.rideci.domain.models.PasswordResetTokenData;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Beans del perfil reactive (WebFlux + Mongo/Redis reactivos)
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    // Mismo JSON que passwordResetRedisTemplate (sin información de tipo): ambos perfiles leen los tokens del otro
+    @Bean
+    public ReactiveRedisTemplate<String, PasswordResetTokenData> reactivePasswordResetRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory
+    ) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        RedisSerializationContext<String, PasswordResetTokenData> context = RedisSerializationContext
+                .<String, PasswordResetTokenData>newSerializationContext(new StringRedisSerializer())
+                .value(new Jackson2JsonRedisSerializer<>(objectMapper, PasswordResetTokenData.class))
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    @Bean
+    public ReactiveMongoTransactionManager reactiveTransactionManager(ReactiveMongoDatabaseFactory databaseFactory) {
+        return new ReactiveMongoTransactionManager(databaseFactory);
+    }
+
+    // Registro reactivo: usuario y evento del outbox en la misma transacción
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ReactiveMongoTransactionManager reactiveTransactionManager) {
+        return TransactionalOperator.create(reactiveTransactionManager);
+    }
+}
@@ -0,0 +1,57 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.infrastructure.security.ReactiveJwtAuthenticationFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.List;
+
+/**
+ * Equivalente de SecurityConfig + CorsConfig para el perfil reactive
+ * - Sin sesiones (contexto de seguridad sin estado) y sin CSRF
+ * - Mismos endpoints públicos; /auth/introspect/** y /actuator/** (salvo health) solo con access token de rol ADMINISTRATOR
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, TokenProviderOutPort tokenProvider) {
+        return http
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/auth/introspect", "/auth/introspect/**").hasRole("ADMINISTRATOR") // Introspección (antes que /auth/**)
+                        .pathMatchers("/auth/**").permitAll() // Endpoints públicos
+                        .pathMatchers("/actuator/health", "/actuator/health/**").permitAll() // Health checks
+                        .pathMatchers("/actuator/**").hasRole("ADMINISTRATOR") // Métricas internas
+                        .anyExchange().authenticated() // El resto requiere autenticación
+                )
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(tokenProvider), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    private static CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOriginPatterns(List.of("*"));
+        configuration.setAllowedMethods(List.of("*"));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setAllowCredentials(true);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
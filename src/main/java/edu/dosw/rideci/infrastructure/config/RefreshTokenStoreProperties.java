@@ -0,0 +1,20 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacenamiento de refresh tokens en Redis (prefijo rideci.refresh-token)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.refresh-token")
+public class RefreshTokenStoreProperties {
+
+    /**
+     * Buscar y borrar también en el formato anterior (@RedisHash refreshTokens) los tokens que no estén en el nuevo
+     * Se puede desactivar cuando pase el TTL de los tokens emitidos antes del cambio (3 días)
+     */
+    private boolean legacyFallback = true;
+}
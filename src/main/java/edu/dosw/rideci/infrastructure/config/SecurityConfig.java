@@ -1,39 +1,55 @@
 package edu.dosw.rideci.infrastructure.config;
 
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.infrastructure.security.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * Configuración de Spring Security
  * - Deshabilita sesiones (usamos JWT)
- * - Permite acceso público a endpoints de auth
+ * - Permite acceso público a endpoints de auth, salvo /auth/introspect/** (RFC 7662 §2.1: el que pregunta se autentica)
+ * - /auth/introspect/**, /admin/** y /actuator/** (salvo health) solo con access token de rol ADMINISTRATOR (JwtAuthenticationFilter)
+ * - Responde 401 sin access token válido y 403 si el rol no alcanza
  * - Configura BCrypt para hashear contraseñas
  */
 @Configuration
 @EnableWebSecurity
+@Profile("!reactive")
 public class SecurityConfig {
 
     /**
      * Configura el filtro de seguridad
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenProviderOutPort tokenProvider) throws Exception {
         http
                 .cors(Customizer.withDefaults())                .csrf(csrf -> csrf.disable()) // Deshabilitamos CSRF porque usamos JWT
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/auth/introspect", "/auth/introspect/**").hasRole("ADMINISTRATOR") // Introspección (antes que /auth/**)
                         .requestMatchers("/auth/**").permitAll() // Endpoints públicos
-                        .requestMatchers("/actuator/**").permitAll() // Health checks
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll() // Health checks
+                        .requestMatchers("/actuator/**").hasRole("ADMINISTRATOR") // Métricas internas
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll() // Swagger
+                        .requestMatchers("/admin/**").hasRole("ADMINISTRATOR") // Importación masiva
                         .anyRequest().authenticated() // El resto requiere autenticación
-                );
+                )
+                // Sin token (o con uno inválido) 401; con token pero sin el rol, 403
+                .exceptionHandling(exceptions ->
+                        exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(new JwtAuthenticationFilter(tokenProvider), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,35 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache de usuarios por id en dos niveles: memoria local + Redis (prefijo rideci.user-cache)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.user-cache")
+public class UserCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Nivel 1 (en proceso): máximo de usuarios y vida de cada entrada
+     */
+    private long localMaximumSize = 10_000;
+    private Duration localTtl = Duration.ofSeconds(30);
+
+    /**
+     * Nivel 2 (Redis), compartido entre réplicas
+     */
+    private Duration redisTtl = Duration.ofMinutes(10);
+    private String keyPrefix = "user-auth:";
+
+    /**
+     * Canal pub/sub por el que una réplica avisa a las demás que un usuario cambió
+     */
+    private String invalidationChannel = "rideci:user-auth:invalidate";
+}
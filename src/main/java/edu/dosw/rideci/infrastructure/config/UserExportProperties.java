@@ -0,0 +1,26 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exportación de usuarios en streaming (prefijo rideci.user-export)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.user-export")
+public class UserExportProperties {
+
+    /**
+     * Documentos que trae el cursor por cada ida a Mongo (la memoria usada no depende del total de usuarios)
+     */
+    private int cursorBatchSize = 1000;
+
+    /**
+     * Campos que se exportan cuando la petición no pide otros (passwordHash nunca se exporta)
+     */
+    private List<String> defaultFields = List.of("id", "email", "name", "institutionalId", "role", "createdAt");
+}
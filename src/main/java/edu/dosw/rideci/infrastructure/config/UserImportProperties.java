@@ -0,0 +1,31 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Importación masiva de usuarios (prefijo rideci.user-import)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.user-import")
+public class UserImportProperties {
+
+    /**
+     * Filas por lote: se hashean en paralelo, se insertan con un insertMany y sus eventos van juntos al outbox
+     */
+    private int batchSize = 500;
+
+    /**
+     * Hilos para los hashes de la importación; por defecto 1
+     * El pool del login (rideci.password.hashing.pool-size) ya usa un hilo por núcleo: cada hilo de más
+     * le quita CPU a los logins. Subirlo solo si la importación corre en una ventana sin tráfico
+     */
+    private int hashPoolSize = 1;
+
+    /**
+     * Hashes en espera; con la cola llena el hilo que lee el archivo espera (frena la lectura sin calcular hashes)
+     */
+    private int hashQueueCapacity = 1000;
+}
@@ -0,0 +1,37 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Consumo por lotes de auth.sync.queue (prefijo rideci.user-sync)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rideci.user-sync")
+public class UserSyncListenerProperties {
+
+    /**
+     * Mensajes por lote: se compensan con un solo deleteMany y se confirman juntos
+     */
+    private int batchSize = 100;
+
+    /**
+     * Espera máxima por el siguiente mensaje antes de entregar un lote incompleto
+     */
+    private Duration receiveTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Consumidores al arrancar y máximo al que se escala si la cola crece
+     */
+    private int concurrency = 1;
+    private int maxConcurrency = 4;
+
+    /**
+     * Mensajes sin confirmar por consumidor (al menos batch-size para poder llenar el lote)
+     */
+    private int prefetch = 250;
+}
@@ -0,0 +1,40 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Perfil virtual-threads (application-virtual-threads.properties)
+ * - Tomcat, los listeners de RabbitMQ y @Async usan hilos virtuales (spring.threads.virtual.enabled)
+ * - El hashing de contraseñas sigue en BoundedPasswordEncoder: hilos de plataforma, tantos como núcleos,
+ *   así el trabajo de CPU no ocupa los carriers de los hilos virtuales
+ * Spring ignora la propiedad con Java < 21; aquí solo se avisa para que no pase desapercibido
+ */
+@Slf4j
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    static final int MINIMUM_JAVA_VERSION = 21;
+
+    private final PasswordProperties passwordProperties;
+
+    public VirtualThreadsConfig(PasswordProperties passwordProperties) {
+        this.passwordProperties = passwordProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMode() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MINIMUM_JAVA_VERSION) {
+            log.warn("Perfil virtual-threads activo con Java {}: se necesita Java {}+, se siguen usando hilos de plataforma",
+                    javaVersion, MINIMUM_JAVA_VERSION);
+            return;
+        }
+        log.info("Peticiones en hilos virtuales (Java {}); hashing de contraseñas en {} hilos de plataforma",
+                javaVersion, passwordProperties.getHashing().getPoolSize());
+    }
+}
@@ -0,0 +1,102 @@
+package edu.dosw.rideci.infrastructure.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.application.port.in.ExportUsersUseCase;
+import edu.dosw.rideci.application.port.in.ImportUsersUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Controlador de administración de usuarios (rol ADMINISTRATOR, ver SecurityConfig)
+ */
+@Slf4j
+@RestController
+@Profile("!reactive")
+@RequestMapping("/admin/users")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Operaciones de administración de usuarios")
+public class AdminUserController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private final ImportUsersUseCase importUsersUseCase;
+    private final ExportUsersUseCase exportUsersUseCase;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * POST /admin/users/import (application/x-ndjson o text/csv)
+     * Lee el cuerpo en streaming y responde una línea NDJSON por fila en cuanto se procesa su lote
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importación masiva de usuarios", description = "Crea usuarios desde un archivo NDJSON o CSV y devuelve el resultado de cada fila")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportReader.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? UserImportReader.Format.CSV : UserImportReader.Format.NDJSON;
+        log.info("POST /admin/users/import - Formato: {}", format);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        OutputStream out = response.getOutputStream();
+        importUsersUseCase.importUsers(new UserImportReader(reader, format, objectMapper, validator),
+                result -> write(out, result, true));
+    }
+
+    /**
+     * GET /admin/users/export?fields=id,email,role
+     * Una línea NDJSON por usuario, escrita a medida que avanza el cursor de Mongo (nunca incluye passwordHash)
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportación de usuarios", description = "Devuelve todas las cuentas en NDJSON con los campos pedidos")
+    public void exportUsers(@RequestParam(required = false) List<String> fields, HttpServletResponse response) throws IOException {
+        log.info("GET /admin/users/export - Campos: {}", fields);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Sin flush por usuario: el buffer se vacía cuando se llena y el cliente recibe bloques, no líneas sueltas
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE);
+        exportUsersUseCase.exportUsers(fields, user -> write(out, user, false));
+        out.flush();
+    }
+
+    private void write(OutputStream out, Object line, boolean flush) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            if (flush) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // El cliente cerró la conexión: se detiene la importación o exportación
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.dosw.rideci.infrastructure.controllers;
+
+import edu.dosw.rideci.application.service.TokenIntrospectionService;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.BatchIntrospectionRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.IntrospectionRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.BatchIntrospectionResponse;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.IntrospectionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador de introspección de tokens (estilo RFC 7662)
+ * Para gateways y servicios que no pueden verificar los JWT por su cuenta
+ */
+@Slf4j
+@RestController
+@Profile("!reactive")
+@RequestMapping("/auth/introspect")
+@RequiredArgsConstructor
+@Tag(name = "Introspection", description = "Validación de access tokens para otros servicios")
+public class IntrospectionController {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * POST /auth/introspect (application/x-www-form-urlencoded, token=...)
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(summary = "Introspección de token", description = "Indica si un access token está activo y devuelve sus datos")
+    public ResponseEntity<IntrospectionResponse> introspectForm(@RequestParam("token") String token) {
+        return respond(tokenIntrospectionService.introspect(token));
+    }
+
+    /**
+     * POST /auth/introspect (application/json, {"token": "..."})
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Introspección de token (JSON)", description = "Igual que la versión de formulario, con cuerpo JSON")
+    public ResponseEntity<IntrospectionResponse> introspectJson(@Valid @RequestBody IntrospectionRequest request) {
+        return respond(tokenIntrospectionService.introspect(request.getToken()));
+    }
+
+    /**
+     * POST /auth/introspect/batch
+     * Valida hasta batch-max-size tokens en una llamada; resultados en el mismo orden
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Introspección por lote", description = "Valida varios access tokens en una sola llamada")
+    public ResponseEntity<BatchIntrospectionResponse> introspectBatch(@Valid @RequestBody BatchIntrospectionRequest request) {
+        log.info("POST /auth/introspect/batch - {} token(s)", request.getTokens().size());
+        return respond(BatchIntrospectionResponse.builder()
+                .results(tokenIntrospectionService.introspectBatch(request.getTokens()))
+                .build());
+    }
+
+    // La respuesta describe un token vigente: ningún intermediario debe guardarla
+    private static <T> ResponseEntity<T> respond(T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+}
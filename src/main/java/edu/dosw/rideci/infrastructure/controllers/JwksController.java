@@ -0,0 +1,79 @@
+package edu.dosw.rideci.infrastructure.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publica las llaves públicas de firma (JWKS) para que los demás
+ * microservicios de RIDECI verifiquen los JWT localmente
+ */
+@Slf4j
+@RestController
+@RequestMapping("/auth/.well-known")
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "Llaves públicas para verificar los JWT")
+public class JwksController {
+
+    private final TokenProviderOutPort tokenProvider;
+    private final ObjectMapper objectMapper;
+    private final JwtProperties jwtProperties;
+
+    // JSON serializado una sola vez por cada conjunto de llaves
+    private volatile CachedJwks cached;
+
+    /**
+     * GET /auth/.well-known/jwks.json
+     * Responde 304 si el If-None-Match coincide con el ETag actual
+     */
+    @GetMapping("/jwks.json")
+    @Operation(summary = "Llaves públicas JWKS", description = "Devuelve las llaves públicas con las que se verifican los JWT")
+    public ResponseEntity<byte[]> jwks() {
+        CachedJwks current = currentJwks();
+        return ResponseEntity.ok()
+                .eTag(current.etag())
+                .cacheControl(CacheControl.maxAge(jwtProperties.getJwksMaxAge()).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(current.body());
+    }
+
+    private CachedJwks currentJwks() {
+        List<Map<String, Object>> keys = tokenProvider.getPublicJwks();
+        CachedJwks current = cached;
+        if (current != null && current.keys() == keys) {
+            return current;
+        }
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", keys));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String etag = Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            current = new CachedJwks(keys, body, etag);
+            cached = current;
+            log.info("JWKS publicado con {} llave(s)", keys.size());
+            return current;
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo serializar el JWKS", e);
+        }
+    }
+
+    private record CachedJwks(List<Map<String, Object>> keys, byte[] body, String etag) {
+    }
+}
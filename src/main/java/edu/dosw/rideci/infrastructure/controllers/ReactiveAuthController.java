@@ -0,0 +1,81 @@
+package edu.dosw.rideci.infrastructure.controllers;
+
+import edu.dosw.rideci.application.port.in.ReactiveAuthUseCase;
+import edu.dosw.rideci.application.port.in.ReactiveResetPasswordUseCase;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.*;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.*;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Controlador de Autenticación sobre WebFlux (perfil reactive)
+ * Mismas rutas, cuerpos y códigos que AuthController
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+
+    private final ReactiveAuthUseCase authService;
+    private final ReactiveResetPasswordUseCase passwordResetService;
+
+    /**
+     * POST /auth/register
+     */
+    @PostMapping("/register")
+    public Mono<ResponseEntity<UserResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        log.info("POST /api/auth/register - Email: {}", request.getEmail());
+        return authService.registerUser(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    /**
+     * POST /auth/login
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        log.info("POST /api/auth/login - Email: {}", request.getEmail());
+        return authService.login(request).map(ResponseEntity::ok);
+    }
+
+    /**
+     * POST /auth/refresh
+     */
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<AuthResponse>> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("POST /api/auth/refresh");
+        return authService.refreshAccessToken(request.getRefreshToken()).map(ResponseEntity::ok);
+    }
+
+    /**
+     * POST /auth/forgot-password
+     */
+    @PostMapping("/forgot-password")
+    public Mono<ResponseEntity<Map<String, String>>> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+        log.info("POST /api/auth/forgot-password - Email: {}", request.getEmail());
+        return passwordResetService.requestPasswordReset(request)
+                .thenReturn(ResponseEntity.ok(Map.of(
+                        "message", "Si el email existe, recibirás un código de recuperación"
+                )));
+    }
+
+    /**
+     * POST /auth/reset-password
+     */
+    @PostMapping("/reset-password")
+    public Mono<ResponseEntity<Map<String, String>>> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+        log.info("POST /api/auth/reset-password");
+        return passwordResetService.resetPassword(request)
+                .thenReturn(ResponseEntity.ok(Map.of("message", "Contraseña actualizada con éxito")));
+    }
+}
@@ -0,0 +1,75 @@
+package edu.dosw.rideci.infrastructure.controllers;
+
+import edu.dosw.rideci.application.service.TokenIntrospectionService;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.BatchIntrospectionRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.IntrospectionRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.BatchIntrospectionResponse;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.IntrospectionResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Introspección de tokens sobre WebFlux (perfil reactive), mismas rutas que IntrospectionController
+ * La verificación es solo CPU (y cache en memoria): se resuelve en el event loop
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/auth/introspect")
+@RequiredArgsConstructor
+public class ReactiveIntrospectionController {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * POST /auth/introspect (application/x-www-form-urlencoded, token=...)
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public Mono<ResponseEntity<IntrospectionResponse>> introspectForm(ServerWebExchange exchange) {
+        return exchange.getFormData()
+                .map(form -> {
+                    String token = form.getFirst("token");
+                    if (token == null) {
+                        throw new AuthException("Falta el parámetro token");
+                    }
+                    return respond(tokenIntrospectionService.introspect(token));
+                });
+    }
+
+    /**
+     * POST /auth/introspect (application/json, {"token": "..."})
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IntrospectionResponse> introspectJson(@Valid @RequestBody IntrospectionRequest request) {
+        return respond(tokenIntrospectionService.introspect(request.getToken()));
+    }
+
+    /**
+     * POST /auth/introspect/batch
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchIntrospectionResponse> introspectBatch(@Valid @RequestBody BatchIntrospectionRequest request) {
+        log.info("POST /auth/introspect/batch - {} token(s)", request.getTokens().size());
+        return respond(BatchIntrospectionResponse.builder()
+                .results(tokenIntrospectionService.introspectBatch(request.getTokens()))
+                .build());
+    }
+
+    private static <T> ResponseEntity<T> respond(T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+}
@@ -0,0 +1,171 @@
+package edu.dosw.rideci.infrastructure.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.RegisterRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.UserImportRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lee el archivo de importación línea a línea (nunca completo en memoria)
+ * - NDJSON: un RegisterRequest en JSON por línea
+ * - CSV: primera línea con los nombres de los campos de RegisterRequest; comillas dobles para valores con comas
+ *   (un registro por línea, sin saltos de línea dentro de los valores)
+ * - Las filas mal formadas o que no pasan las validaciones del registro salen con su error, no cortan la lectura
+ */
+public class UserImportReader implements Iterator<UserImportRow> {
+
+    public enum Format { NDJSON, CSV }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private List<String> header;
+    private long lineNumber;
+    private UserImportRow next;
+
+    public UserImportReader(BufferedReader reader, Format format, ObjectMapper objectMapper, Validator validator) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public UserImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        UserImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private UserImportRow readNext() {
+        String line;
+        while ((line = readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = splitCsv(line).stream().map(String::trim).toList();
+                continue;
+            }
+            return parse(line);
+        }
+        return null;
+    }
+
+    private UserImportRow parse(String line) {
+        RegisterRequest request;
+        try {
+            request = format == Format.NDJSON
+                    ? objectMapper.readValue(line, RegisterRequest.class)
+                    : objectMapper.convertValue(csvFields(line), RegisterRequest.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return invalid(null, "Fila mal formada");
+        } catch (ColumnCountException e) {
+            return invalid(null, e.getMessage());
+        }
+
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return invalid(request.getEmail(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return UserImportRow.builder()
+                .line(lineNumber)
+                .request(request)
+                .email(request.getEmail())
+                .build();
+    }
+
+    private Map<String, String> csvFields(String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != header.size()) {
+            throw new ColumnCountException(String.format("Se esperaban %d columnas y hay %d", header.size(), values.size()));
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return fields;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private UserImportRow invalid(String email, String error) {
+        return UserImportRow.builder()
+                .line(lineNumber)
+                .email(email)
+                .error(error)
+                .build();
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class ColumnCountException extends RuntimeException {
+        ColumnCountException(String message) {
+            super(message);
+        }
+    }
+}
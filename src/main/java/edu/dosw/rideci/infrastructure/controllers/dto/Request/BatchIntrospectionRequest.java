@@ -0,0 +1,22 @@
+package edu.dosw.rideci.infrastructure.controllers.dto.Request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para introspección de varios tokens en una sola llamada
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIntrospectionRequest {
+
+    @NotEmpty(message = "Debe enviar al menos un token")
+    private List<String> tokens;
+}
@@ -0,0 +1,20 @@
+package edu.dosw.rideci.infrastructure.controllers.dto.Request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para introspección de un token (RFC 7662)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectionRequest {
+
+    @NotBlank(message = "El token es obligatorio")
+    private String token;
+}
@@ -0,0 +1,24 @@
+package edu.dosw.rideci.infrastructure.controllers.dto.Request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila leída del archivo de importación: un RegisterRequest válido o el error que impidió leerlo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRow {
+    private long line; // Línea del archivo (1 = primera)
+    private RegisterRequest request;
+    private String email; // Si se pudo leer, aunque la fila sea inválida
+    private String error;
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,19 @@
+package edu.dosw.rideci.infrastructure.controllers.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de introspección por lote (mismo orden que la petición)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIntrospectionResponse {
+    private List<IntrospectionResponse> results;
+}
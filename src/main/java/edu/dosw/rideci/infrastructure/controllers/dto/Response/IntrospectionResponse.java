@@ -0,0 +1,38 @@
+package edu.dosw.rideci.infrastructure.controllers.dto.Response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta de introspección (RFC 7662)
+ * Si el token no es válido solo se devuelve {"active": false}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+    private boolean active;
+    private String sub; // Email del usuario
+    private String username;
+    private Long exp; // Segundos desde la época
+    private Long iat;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    @JsonProperty("user_id")
+    private Long userId; // Carnet institucional
+
+    private String role;
+
+    public static IntrospectionResponse inactive() {
+        return IntrospectionResponse.builder().active(false).build();
+    }
+}
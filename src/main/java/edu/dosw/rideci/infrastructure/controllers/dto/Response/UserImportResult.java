@@ -0,0 +1,31 @@
+package edu.dosw.rideci.infrastructure.controllers.dto.Response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una fila de la importación masiva (una línea NDJSON de la respuesta)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+
+    public enum Status {
+        CREATED, // Insertado y evento en el outbox
+        DUPLICATE, // Email o carnet ya registrados (o repetidos en el mismo archivo)
+        INVALID, // No se pudo leer o no pasa las validaciones del registro
+        FAILED // Error inesperado al insertar
+    }
+
+    private long line;
+    private String email;
+    private Status status;
+    private String id;
+    private String message;
+}
@@ -0,0 +1,38 @@
+package edu.dosw.rideci.infrastructure.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento pendiente de publicar en RabbitMQ (colección "outboxEvents")
+ * Se escribe en la misma transacción que el cambio que lo origina; OutboxRelay lo publica después
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "outboxEvents")
+public class OutboxEventDocument {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String PARKED = "PARKED"; // Agotó los intentos: el relay ya no lo toma
+
+    @Id
+    private String id;
+    private String routingKey;
+    private Object payload; // El evento tal cual (con _class): se publica con el mismo tipo
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime availableAt; // Desde cuándo se puede tomar (reserva del relay o espera tras un error)
+    private String claimId;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime sentAt;
+}
@@ -17,6 +17,8 @@ import java.time.LocalDateTime;
  * - El refresh token dura 3 días con TTL automático en Redis
  * - Cuando el access token se vence, el cliente usa el refresh token
  * para obtener un nuevo access token SIN tener que hacer login de nuevo
+ * Formato anterior: los tokens nuevos se guardan con clave directa (ver RefreshTokenRepositoryAdapter)
+ * y este documento solo se lee mientras rideci.refresh-token.legacy-fallback esté activo
  */
 @Data
 @Builder
@@ -26,6 +26,7 @@ public class UserAuthDocument {
     private String name;
     @Indexed(unique = true)
     private String email;
+    @Indexed(unique = true, sparse = true)
     private Long institutionalId;
     @Indexed(unique = true)
     private String passwordHash;
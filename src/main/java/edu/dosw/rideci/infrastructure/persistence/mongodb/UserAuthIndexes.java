@@ -0,0 +1,114 @@
+package edu.dosw.rideci.infrastructure.persistence.mongodb;
+
+import edu.dosw.rideci.exceptions.DuplicateUserException;
+import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Índices de la colección userAuth que no dependen de auto-index-creation
+ * - email_credentials: cubre la búsqueda de credenciales del login (email + campos proyectados + _id),
+ *   así la consulta se resuelve solo con el índice, sin leer el documento
+ * - email e institutionalId únicos: el registro inserta directo y el índice rechaza los duplicados
+ *   (mismos nombres que generaría @Indexed, así no chocan si ya existen); son obligatorios para arrancar
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAuthIndexes {
+
+    public static final String CREDENTIALS_INDEX = "email_credentials";
+    public static final String EMAIL_UNIQUE_INDEX = "email";
+    public static final String INSTITUTIONAL_ID_UNIQUE_INDEX = "institutionalId";
+
+    private final MongoOperations mongoOperations;
+
+    public static IndexDefinition credentialsIndex() {
+        return new Index()
+                .on("email", Sort.Direction.ASC)
+                .on("passwordHash", Sort.Direction.ASC)
+                .on("role", Sort.Direction.ASC)
+                .on("name", Sort.Direction.ASC)
+                .on("institutionalId", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named(CREDENTIALS_INDEX);
+    }
+
+    public static IndexDefinition emailUniqueIndex() {
+        return new Index()
+                .on("email", Sort.Direction.ASC)
+                .unique()
+                .named(EMAIL_UNIQUE_INDEX);
+    }
+
+    // sparse: los documentos viejos sin carnet no chocan entre sí
+    public static IndexDefinition institutionalIdUniqueIndex() {
+        return new Index()
+                .on("institutionalId", Sort.Direction.ASC)
+                .unique()
+                .sparse()
+                .named(INSTITUTIONAL_ID_UNIQUE_INDEX);
+    }
+
+    public static void ensure(MongoOperations mongoOperations) {
+        mongoOperations.indexOps(UserAuthDocument.class).ensureIndex(credentialsIndex());
+    }
+
+    /**
+     * Campo único que violó un insert, según el nombre del índice en el mensaje E11000
+     * ("... index: institutionalId dup key: { institutionalId: 1000100282 }")
+     */
+    public static Optional<DuplicateUserException.Field> duplicatedField(DuplicateKeyException e) {
+        return duplicatedField(String.valueOf(e.getMessage()));
+    }
+
+    /**
+     * Mismo análisis sobre el mensaje de un error de escritura (insertMany devuelve uno por documento)
+     */
+    public static Optional<DuplicateUserException.Field> duplicatedField(String message) {
+        if (message.contains("index: " + INSTITUTIONAL_ID_UNIQUE_INDEX)) {
+            return Optional.of(DuplicateUserException.Field.INSTITUTIONAL_ID);
+        }
+        if (message.contains("index: " + EMAIL_UNIQUE_INDEX)) {
+            return Optional.of(DuplicateUserException.Field.EMAIL);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * El registro inserta sin consultar antes: sin los índices únicos aceptaría duplicados,
+     * así que si no se pueden crear (Mongo caído o datos ya repetidos) el servicio no arranca
+     * El de credenciales solo acelera el login: su error se registra y se sigue
+     */
+    @PostConstruct
+    public void ensureIndexes() {
+        ensureIndex(credentialsIndex(), false);
+        ensureIndex(emailUniqueIndex(), true);
+        ensureIndex(institutionalIdUniqueIndex(), true);
+    }
+
+    private void ensureIndex(IndexDefinition index, boolean required) {
+        String name = String.valueOf(index.getIndexOptions().get("name"));
+        try {
+            mongoOperations.indexOps(UserAuthDocument.class).ensureIndex(index);
+            log.info("Índice {} verificado en userAuth", name);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("userAuth tiene valores de " + name
+                    + " repetidos: hay que deduplicarlos antes de arrancar (ver README)", e);
+        } catch (RuntimeException e) {
+            if (required) {
+                throw new IllegalStateException("No se pudo crear el índice único " + name + " en userAuth", e);
+            }
+            log.error("No se pudo crear el índice {}: {}", name, e.getMessage());
+        }
+    }
+}
@@ -10,5 +10,5 @@ public interface UserAuthRepository extends MongoRepository<UserAuthDocument, St
     Optional<UserAuthDocument> findByEmail(String email);
     boolean existsByEmail(String email);
     void deleteByEmail(String userEmail);
-    boolean existsById(Long userId);
+    boolean existsByInstitutionalId(Long institutionalId);
 }
\ No newline at end of file
@@ -5,6 +5,9 @@ import org.springframework.data.repository.CrudRepository;
 
 import java.util.Optional;
 
+/**
+ * Repositorio del formato anterior (@RedisHash), solo para leer y borrar tokens emitidos antes del cambio
+ */
 public interface RefreshTokenRepository extends CrudRepository<RefreshTokenDocument, String> {
     Optional<RefreshTokenDocument> findByToken(String token);
     void deleteAllByUserAuthId(String userAuthId);
@@ -0,0 +1,288 @@
+package edu.dosw.rideci.infrastructure.persistence.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
+import edu.dosw.rideci.infrastructure.config.UserCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Cache de lectura para findById delante de UserAuthRepositoryAdapter (el refresh lo consulta en cada renovación)
+ * - Nivel 1: Caffeine en proceso, acotado y con TTL corto
+ * - Nivel 2: Redis, compartido entre réplicas
+ * - save, update, delete, deleteByEmail, deleteAllByEmail y los $set de un campo borran ambos niveles y publican el id
+ *   por pub/sub para que las demás réplicas borren su nivel 1
+ * - Siempre se devuelven copias: quien modifica el UserAuth no altera lo cacheado
+ * - passwordHash nunca se cachea (ni en memoria ni en Redis): findById lo devuelve vacío,
+ *   las credenciales del login se leen con findCredentialsByEmail
+ * - Si Redis falla se sigue con Mongo; una lectura que compite con una escritura puede dejar
+ *   un valor viejo como mucho hasta el TTL de cada nivel
+ * - lastLogin puede venir atrasado: LastLoginWriteBehindAdapter lo escribe directo en Mongo
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "rideci.user-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CachingUserAuthRepositoryAdapter implements UserAuthRepositoryOutPort, MessageListener {
+
+    static final String CACHE_NAME = "user-auth-local";
+
+    private final UserAuthRepositoryOutPort delegate;
+    private final RedisTemplate<String, UserAuth> redisTemplate;
+    private final StringRedisTemplate publisher;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final UserCacheProperties properties;
+    private final Cache<String, UserAuth> local;
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+
+    @Autowired
+    public CachingUserAuthRepositoryAdapter(UserAuthRepositoryAdapter delegate,
+                                            RedisTemplate<String, UserAuth> userAuthRedisTemplate,
+                                            StringRedisTemplate publisher,
+                                            RedisMessageListenerContainer listenerContainer,
+                                            UserCacheProperties properties,
+                                            MeterRegistry meterRegistry) {
+        this(delegate, userAuthRedisTemplate, publisher, listenerContainer, properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public CachingUserAuthRepositoryAdapter(UserAuthRepositoryOutPort delegate,
+                                            RedisTemplate<String, UserAuth> redisTemplate,
+                                            StringRedisTemplate publisher,
+                                            RedisMessageListenerContainer listenerContainer,
+                                            UserCacheProperties properties,
+                                            MeterRegistry meterRegistry,
+                                            Ticker ticker) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.publisher = publisher;
+        this.listenerContainer = listenerContainer;
+        this.properties = properties;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME);
+        this.remoteHits = remoteCounter(meterRegistry, "hit");
+        this.remoteMisses = remoteCounter(meterRegistry, "miss");
+        this.remoteErrors = remoteCounter(meterRegistry, "error");
+    }
+
+    private static Counter remoteCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.user.cache.remote")
+                .description("Lecturas del nivel Redis del cache de usuarios")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(properties.getInvalidationChannel()));
+    }
+
+    /**
+     * Invalidación publicada por otra réplica (o por esta misma: borrar dos veces no cambia nada)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        local.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Optional<UserAuth> findById(String id) {
+        UserAuth cached = local.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+
+        UserAuth remote = readRemote(id);
+        if (remote != null) {
+            local.put(id, remote);
+            return Optional.of(copy(remote));
+        }
+
+        return delegate.findById(id).map(userAuth -> {
+            UserAuth snapshot = copy(userAuth);
+            local.put(id, snapshot);
+            writeRemote(id, snapshot);
+            return copy(snapshot);
+        });
+    }
+
+    @Override
+    public UserAuth save(UserAuth userAuth) {
+        UserAuth saved = delegate.save(userAuth);
+        invalidate(saved != null && saved.getId() != null ? saved.getId() : userAuth.getId());
+        return saved;
+    }
+
+    @Override
+    public UserAuth insert(UserAuth userAuth) {
+        return delegate.insert(userAuth);
+    }
+
+    @Override
+    public Map<Integer, RuntimeException> insertAll(List<UserAuth> users) {
+        return delegate.insertAll(users);
+    }
+
+    @Override
+    public void delete(UserAuth userAuth) {
+        delegate.delete(userAuth);
+        invalidate(userAuth.getId());
+    }
+
+    @Override
+    public UserAuth update(String id, UserAuth userAuth) {
+        UserAuth updated = delegate.update(id, userAuth);
+        invalidate(id);
+        return updated;
+    }
+
+    // El cache va por id: se busca antes de borrar (camino poco frecuente)
+    @Override
+    public void deleteByEmail(String userEmail) {
+        Optional<String> id = delegate.findCredentialsByEmail(userEmail).map(UserCredentials::getId);
+        delegate.deleteByEmail(userEmail);
+        id.ifPresent(this::invalidate);
+    }
+
+    @Override
+    public List<String> deleteAllByEmail(Collection<String> userEmails) {
+        List<String> ids = delegate.deleteAllByEmail(userEmails);
+        invalidateAll(ids);
+        return ids;
+    }
+
+    // Exportación masiva: directo a Mongo, no tiene sentido pasar por el cache
+    @Override
+    public void forEachUser(Collection<String> fields, int batchSize, Consumer<Map<String, Object>> consumer) {
+        delegate.forEachUser(fields, batchSize, consumer);
+    }
+
+    @Override
+    public boolean updatePasswordHash(String id, String passwordHash) {
+        boolean updated = delegate.updatePasswordHash(id, passwordHash);
+        invalidate(id);
+        return updated;
+    }
+
+    @Override
+    public Optional<String> updatePasswordHashByEmail(String email, String passwordHash) {
+        Optional<String> updatedId = delegate.updatePasswordHashByEmail(email, passwordHash);
+        updatedId.ifPresent(this::invalidate);
+        return updatedId;
+    }
+
+    @Override
+    public Optional<UserAuth> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Optional<UserCredentials> findCredentialsByEmail(String email) {
+        return delegate.findCredentialsByEmail(email);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public boolean existsByInstitutionalId(Long institutionalId) {
+        return delegate.existsByInstitutionalId(institutionalId);
+    }
+
+    private UserAuth readRemote(String id) {
+        try {
+            UserAuth remote = redisTemplate.opsForValue().get(properties.getKeyPrefix() + id);
+            (remote != null ? remoteHits : remoteMisses).increment();
+            return remote;
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Cache Redis de usuarios no disponible (lectura): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(String id, UserAuth userAuth) {
+        try {
+            redisTemplate.opsForValue().set(properties.getKeyPrefix() + id, userAuth, properties.getRedisTtl());
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Cache Redis de usuarios no disponible (escritura): {}", e.getMessage());
+        }
+    }
+
+    private void invalidate(String id) {
+        if (id == null) {
+            return;
+        }
+        local.invalidate(id);
+        try {
+            redisTemplate.delete(properties.getKeyPrefix() + id);
+            publisher.convertAndSend(properties.getInvalidationChannel(), id);
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("No se pudo invalidar el usuario {} en Redis: {}", id, e.getMessage());
+        }
+    }
+
+    // Un solo DEL en Redis para todo el lote; el pub/sub sigue siendo un id por mensaje
+    private void invalidateAll(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        local.invalidateAll(ids);
+        try {
+            redisTemplate.delete(ids.stream().map(id -> properties.getKeyPrefix() + id).toList());
+            ids.forEach(id -> publisher.convertAndSend(properties.getInvalidationChannel(), id));
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("No se pudieron invalidar {} usuario(s) en Redis: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    // Sin passwordHash: lo cacheado (y lo que sale del cache) no lleva el hash
+    private static UserAuth copy(UserAuth userAuth) {
+        return UserAuth.builder()
+                .id(userAuth.getId())
+                .institutionalId(userAuth.getInstitutionalId())
+                .name(userAuth.getName())
+                .email(userAuth.getEmail())
+                .role(userAuth.getRole())
+                .userId(userAuth.getUserId())
+                .createdAt(userAuth.getCreatedAt())
+                .lastLogin(userAuth.getLastLogin())
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package edu.dosw.rideci.infrastructure.persistence.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import edu.dosw.rideci.application.port.out.LastLoginRecorderOutPort;
+import edu.dosw.rideci.infrastructure.config.LastLoginProperties;
+import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Escritura diferida (write-behind) de lastLogin
+ * - Cada login solo actualiza un mapa en memoria: el login no espera a Mongo
+ * - Varios logins del mismo usuario entre escrituras se agrupan en uno
+ * - Se escribe cada flush-interval o al llegar a max-batch-size, en bulkWrites desordenados de max-batch-size
+ * - $max en vez de $set: una escritura atrasada (u otra réplica) nunca retrocede la fecha
+ * - Lo pendiente se acota a max-pending: si Mongo no responde se descartan los lastLogin más antiguos
+ * - Al apagar se escribe lo pendiente
+ */
+@Slf4j
+@Component
+public class LastLoginWriteBehindAdapter implements LastLoginRecorderOutPort {
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxBatchSize;
+    private final int maxPending;
+    private final Object trimLock = new Object();
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    public LastLoginWriteBehindAdapter(MongoTemplate mongoTemplate, LastLoginProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.maxPending = properties.getMaxPending();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("auth.last_login.pending", pending, Map::size)
+                .description("Usuarios con lastLogin pendiente de escribir")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("auth.last_login.flush").register(meterRegistry);
+        this.writtenCounter = Counter.builder("auth.last_login.written")
+                .description("lastLogin escritos en Mongo (después de agrupar)")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("auth.last_login.dropped")
+                .description("lastLogin descartados por superar max-pending")
+                .register(meterRegistry);
+
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordLogin(String userAuthId, LocalDateTime loginAt) {
+        pending.merge(userAuthId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+        if (pending.size() > maxPending) {
+            trimOldest();
+        }
+        if (pending.size() >= maxBatchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Escribe lo pendiente en bulkWrites de a lo sumo max-batch-size usuarios
+     * Si un bloque falla, ese bloque y los que no se alcanzaron a escribir vuelven a quedar pendientes
+     * @return cantidad de usuarios escritos
+     */
+    public synchronized int flush() {
+        flushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>();
+        for (String userAuthId : pending.keySet()) {
+            LocalDateTime loginAt = pending.remove(userAuthId);
+            if (loginAt != null) {
+                batch.add(Map.entry(userAuthId, loginAt));
+            }
+        }
+
+        int written = 0;
+        for (int from = 0; from < batch.size(); from += maxBatchSize) {
+            List<Map.Entry<String, LocalDateTime>> chunk = batch.subList(from, Math.min(from + maxBatchSize, batch.size()));
+            try {
+                BulkWriteResult result = flushTimer.recordCallable(() -> write(chunk));
+                writtenCounter.increment(chunk.size());
+                written += chunk.size();
+                log.debug("lastLogin escrito para {} usuario(s), {} modificado(s)", chunk.size(),
+                        result != null ? result.getModifiedCount() : 0);
+            } catch (Exception e) {
+                // Se devuelven al mapa para el siguiente intento, sin perder logins más recientes
+                requeue(batch.subList(from, batch.size()));
+                throw new IllegalStateException("No se pudo escribir lastLogin", e);
+            }
+        }
+        return written;
+    }
+
+    private BulkWriteResult write(List<Map.Entry<String, LocalDateTime>> chunk) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserAuthDocument.class);
+        for (Map.Entry<String, LocalDateTime> entry : chunk) {
+            operations.updateOne(Query.query(Criteria.where("_id").is(entry.getKey())),
+                    new Update().max("lastLogin", entry.getValue()));
+        }
+        return operations.execute();
+    }
+
+    private void requeue(List<Map.Entry<String, LocalDateTime>> entries) {
+        entries.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(),
+                (current, previous) -> current.isAfter(previous) ? current : previous));
+        if (pending.size() > maxPending) {
+            trimOldest();
+        }
+    }
+
+    /**
+     * Descarta los lastLogin más antiguos hasta dejar el 90 % de max-pending
+     * El margen evita ordenar el mapa en cada login mientras Mongo siga caído
+     */
+    private void trimOldest() {
+        synchronized (trimLock) {
+            int excess = pending.size() - (maxPending - maxPending / 10);
+            if (pending.size() <= maxPending || excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, LocalDateTime>> oldest = new ArrayList<>();
+            pending.forEach((userAuthId, loginAt) -> oldest.add(Map.entry(userAuthId, loginAt)));
+            oldest.sort(Map.Entry.comparingByValue());
+
+            int dropped = 0;
+            for (Map.Entry<String, LocalDateTime> entry : oldest.subList(0, Math.min(excess, oldest.size()))) {
+                // Solo si no llegó un login más reciente mientras tanto
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    dropped++;
+                }
+            }
+            droppedCounter.increment(dropped);
+            log.warn("Se descartaron {} lastLogin pendientes (max-pending={})", dropped, maxPending);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Error escribiendo lastLogin ({} pendiente(s)): {}", pending.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        if (!pending.isEmpty()) {
+            log.warn("Se perdieron {} lastLogin al apagar", pending.size());
+        }
+    }
+}
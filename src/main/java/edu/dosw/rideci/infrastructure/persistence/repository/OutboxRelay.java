@@ -0,0 +1,194 @@
+package edu.dosw.rideci.infrastructure.persistence.repository;
+
+import edu.dosw.rideci.application.port.out.EventPublisher;
+import edu.dosw.rideci.infrastructure.config.OutboxProperties;
+import edu.dosw.rideci.infrastructure.persistence.entity.OutboxEventDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publica en RabbitMQ los eventos del outbox, por lotes y con confirms
+ * - Cada poll-interval reserva un lote, lo publica sin esperar mensaje a mensaje y espera una vez por todos los confirms
+ * - Cada evento se resuelve por su propio confirm: los confirmados se marcan SENT y los que fallan
+ *   (nack, timeout, broker caído) se reintentan tras retry-backoff sin arrastrar al resto del lote
+ * - Tras max-attempts intentos fallidos el evento queda PARKED: el relay no lo vuelve a tomar
+ * - Entrega al menos una vez: si la réplica se cae entre el confirm y el markSent el lote se publica de nuevo
+ * - Varias réplicas pueden correr el relay a la vez: el lease evita que dos tomen el mismo lote
+ * - Métricas: auth.outbox.published, .failed, .parked, .relay
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepositoryAdapter outbox;
+    private final EventPublisher eventPublisher;
+    private final OutboxProperties properties;
+    private final ScheduledExecutorService relay;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+    private final Timer relayTimer;
+
+    public OutboxRelay(OutboxRepositoryAdapter outbox, EventPublisher eventPublisher,
+                       OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.publishedCounter = Counter.builder("auth.outbox.published")
+                .description("Eventos del outbox publicados y confirmados por RabbitMQ")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("auth.outbox.failed")
+                .description("Eventos del outbox que se deben reintentar")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("auth.outbox.parked")
+                .description("Eventos del outbox apartados tras agotar los intentos")
+                .register(meterRegistry);
+        this.relayTimer = Timer.builder("auth.outbox.relay")
+                .description("Tiempo por lote: reserva, publicación y confirms")
+                .register(meterRegistry);
+    }
+
+    // Los índices crean también la colección: las transacciones de Mongo no siempre pueden crearla
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            outbox.ensureIndexes(properties.getRetention());
+        } catch (RuntimeException e) {
+            log.error("No se pudieron crear los índices del outbox: {}", e.getMessage());
+        }
+        long interval = properties.getPollInterval().toMillis();
+        relay.scheduleWithFixedDelay(this::drainQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Relay del outbox cada {} ms, lotes de {}", interval, properties.getBatchSize());
+    }
+
+    /**
+     * Publica un lote
+     * @return eventos publicados y confirmados (0 si no había pendientes)
+     */
+    public int relayOnce() {
+        List<OutboxEventDocument> batch = outbox.claimBatch(properties.getBatchSize(), properties.getLease());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        String claimId = batch.get(0).getClaimId();
+
+        List<CompletableFuture<Void>> confirms = relayTimer.record(() -> publishWithConfirms(batch));
+
+        List<String> sent = new ArrayList<>();
+        Map<String, List<String>> retry = new LinkedHashMap<>();
+        Map<String, List<String>> parked = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEventDocument event = batch.get(i);
+            String error = failure(confirms.get(i));
+            if (error == null) {
+                sent.add(event.getId());
+            } else if (event.getAttempts() + 1 >= properties.getMaxAttempts()) {
+                parked.computeIfAbsent(error, key -> new ArrayList<>()).add(event.getId());
+            } else {
+                retry.computeIfAbsent(error, key -> new ArrayList<>()).add(event.getId());
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            outbox.markSent(sent, claimId);
+            publishedCounter.increment(sent.size());
+        }
+        retry.forEach((error, ids) -> {
+            outbox.markFailed(ids, claimId, error, properties.getRetryBackoff());
+            failedCounter.increment(ids.size());
+            log.warn("Outbox: {} evento(s) sin confirmar, se reintentan en {}: {}", ids.size(), properties.getRetryBackoff(), error);
+        });
+        parked.forEach((error, ids) -> {
+            outbox.markParked(ids, claimId, error);
+            parkedCounter.increment(ids.size());
+            log.error("Outbox: {} evento(s) apartados tras {} intentos: {} ({})", ids.size(), properties.getMaxAttempts(), ids, error);
+        });
+        log.debug("Outbox: {} de {} evento(s) publicados", sent.size(), batch.size());
+        return sent.size();
+    }
+
+    // Confirms correlacionados en vuelo a la vez; se espera una sola vez por todos y cada uno se revisa después
+    private List<CompletableFuture<Void>> publishWithConfirms(List<OutboxEventDocument> batch) {
+        List<CompletableFuture<Void>> confirms = batch.stream()
+                .map(this::publishAsync)
+                .toList();
+        try {
+            RabbitEventPublisher.awaitConfirms(confirms, properties.getConfirmTimeout());
+        } catch (AmqpException e) {
+            log.debug("Outbox: el lote tiene eventos sin confirmar: {}", e.getMessage());
+        }
+        return confirms;
+    }
+
+    private CompletableFuture<Void> publishAsync(OutboxEventDocument event) {
+        try {
+            return eventPublisher.publishAsync(event.getPayload(), event.getRoutingKey());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // null si el broker confirmó; si no, el motivo que se guarda en lastError
+    private String failure(CompletableFuture<Void> confirm) {
+        if (!confirm.isDone()) {
+            return "Sin confirm de RabbitMQ tras " + properties.getConfirmTimeout();
+        }
+        try {
+            confirm.join();
+            return null;
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause instanceof TimeoutException
+                    ? "Sin confirm de RabbitMQ tras " + properties.getConfirmTimeout()
+                    : String.valueOf(cause.getMessage());
+        }
+    }
+
+    // Mientras salgan lotes llenos se sigue sin esperar al siguiente intervalo
+    private void drainQuietly() {
+        try {
+            int published;
+            do {
+                published = relayOnce();
+            } while (published >= properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.error("Error en el relay del outbox (el lote se libera al vencer el lease de {}): {}", properties.getLease(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        relay.shutdown();
+        try {
+            relay.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
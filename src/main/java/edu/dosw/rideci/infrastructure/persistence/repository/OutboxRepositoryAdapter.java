@@ -0,0 +1,152 @@
+package edu.dosw.rideci.infrastructure.persistence.repository;
+
+import edu.dosw.rideci.application.port.out.OutboxOutPort;
+import edu.dosw.rideci.infrastructure.persistence.entity.OutboxEventDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox en Mongo
+ * - enqueue: un insert más dentro de la transacción del registro
+ * - claimBatch / markSent / markFailed / markParked: los usa OutboxRelay, fuera de cualquier request
+ * - Una réplica reserva un lote corriendo availableAt (lease) y marcándolo con su claimId;
+ *   las demás no lo ven hasta que vence
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRepositoryAdapter implements OutboxOutPort {
+
+    static final String PENDING_INDEX = "status_availableAt";
+    static final String RETENTION_INDEX = "sentAt_ttl";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void enqueue(Object event, String routingKey) {
+        mongoTemplate.insert(newEvent(event, routingKey));
+    }
+
+    @Override
+    public void enqueueAll(List<?> events, String routingKey) {
+        if (events.isEmpty()) {
+            return;
+        }
+        mongoTemplate.insert(events.stream().map(event -> newEvent(event, routingKey)).toList(), OutboxEventDocument.class);
+    }
+
+    static OutboxEventDocument newEvent(Object event, String routingKey) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEventDocument.builder()
+                .routingKey(routingKey)
+                .payload(event)
+                .status(OutboxEventDocument.PENDING)
+                .createdAt(now)
+                .availableAt(now)
+                .build();
+    }
+
+    /**
+     * Reserva hasta batchSize eventos pendientes (los más antiguos primero) por lease
+     * Tres consultas por lote: candidatos, reserva con updateMulti y lectura de lo reservado
+     */
+    public List<OutboxEventDocument> claimBatch(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Query candidates = Query.query(available(now))
+                .with(Sort.by(Sort.Direction.ASC, "availableAt"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, OutboxEventDocument.class).stream()
+                .map(OutboxEventDocument::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Si otra réplica tomó alguno entre las dos consultas, el filtro available lo deja fuera
+        String claimId = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids).andOperator(available(now))),
+                new Update().set("claimId", claimId).set("availableAt", now.plus(lease)),
+                OutboxEventDocument.class);
+
+        return mongoTemplate.find(Query.query(Criteria.where("_id").in(ids).and("claimId").is(claimId))
+                        .with(Sort.by(Sort.Direction.ASC, "createdAt")),
+                OutboxEventDocument.class);
+    }
+
+    public void markSent(List<String> ids, String claimId) {
+        mongoTemplate.updateMulti(claimed(ids, claimId),
+                new Update()
+                        .set("status", OutboxEventDocument.SENT)
+                        .set("sentAt", LocalDateTime.now())
+                        .unset("claimId")
+                        .unset("lastError"),
+                OutboxEventDocument.class);
+    }
+
+    public void markFailed(List<String> ids, String claimId, String error, Duration retryBackoff) {
+        mongoTemplate.updateMulti(claimed(ids, claimId),
+                new Update()
+                        .set("availableAt", LocalDateTime.now().plus(retryBackoff))
+                        .set("lastError", error)
+                        .inc("attempts", 1)
+                        .unset("claimId"),
+                OutboxEventDocument.class);
+    }
+
+    // Fuera de la búsqueda de pendientes y sin sentAt: se queda hasta que alguien lo revise
+    public void markParked(List<String> ids, String claimId, String error) {
+        mongoTemplate.updateMulti(claimed(ids, claimId),
+                new Update()
+                        .set("status", OutboxEventDocument.PARKED)
+                        .set("lastError", error)
+                        .inc("attempts", 1)
+                        .unset("claimId"),
+                OutboxEventDocument.class);
+    }
+
+    public long countPending() {
+        return mongoTemplate.count(Query.query(Criteria.where("status").is(OutboxEventDocument.PENDING)),
+                OutboxEventDocument.class);
+    }
+
+    // Cubre la búsqueda de pendientes (status + availableAt, ya ordenada)
+    public static IndexDefinition pendingIndex() {
+        return new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("availableAt", Sort.Direction.ASC)
+                .named(PENDING_INDEX);
+    }
+
+    // Borra los publicados después de retention; los pendientes no tienen sentAt y no expiran
+    public static IndexDefinition retentionIndex(Duration retention) {
+        return new Index()
+                .on("sentAt", Sort.Direction.ASC)
+                .expire(retention)
+                .named(RETENTION_INDEX);
+    }
+
+    public void ensureIndexes(Duration retention) {
+        mongoTemplate.indexOps(OutboxEventDocument.class).ensureIndex(pendingIndex());
+        mongoTemplate.indexOps(OutboxEventDocument.class).ensureIndex(retentionIndex(retention));
+    }
+
+    private static Criteria available(LocalDateTime now) {
+        return Criteria.where("status").is(OutboxEventDocument.PENDING).and("availableAt").lte(now);
+    }
+
+    private static Query claimed(List<String> ids, String claimId) {
+        return Query.query(Criteria.where("_id").in(ids).and("claimId").is(claimId));
+    }
+}
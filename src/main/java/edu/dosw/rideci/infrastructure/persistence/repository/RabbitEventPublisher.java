@@ -1,21 +1,121 @@
 package edu.dosw.rideci.infrastructure.persistence.repository;
 
-import org.springframework.stereotype.Component;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-
 import edu.dosw.rideci.application.port.out.EventPublisher;
-import lombok.RequiredArgsConstructor;
+import edu.dosw.rideci.infrastructure.config.RabbitMQConfig;
+import edu.dosw.rideci.infrastructure.config.RabbitPublisherProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publica eventos en user.exchange con publisher confirms correlacionados
+ * - publishAsync no bloquea: cada mensaje lleva su CorrelationData y el futuro se completa con su confirm
+ * - Los canales salen del cache de la connection factory; el broker confirma varios mensajes en un solo ack
+ * - Si el confirm no llega en rideci.rabbit.publisher.confirm-timeout el futuro falla; publish lo espera
+ * - Métricas: auth.rabbit.publish.inflight, .confirmed, .nacked, .confirm
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RabbitEventPublisher implements EventPublisher {
 
     private final RabbitTemplate rabbitTemplate;
+    private final RabbitPublisherProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter confirmedCounter;
+    private final Counter nackedCounter;
+    private final Timer confirmTimer;
+
+    public RabbitEventPublisher(RabbitTemplate rabbitTemplate, RabbitPublisherProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+
+        Gauge.builder("auth.rabbit.publish.inflight", inFlight, AtomicInteger::get)
+                .description("Mensajes publicados que esperan el confirm del broker")
+                .register(meterRegistry);
+        this.confirmedCounter = Counter.builder("auth.rabbit.publish.confirmed")
+                .description("Mensajes confirmados (ack) por RabbitMQ")
+                .register(meterRegistry);
+        this.nackedCounter = Counter.builder("auth.rabbit.publish.nacked")
+                .description("Mensajes rechazados (nack) o que no se pudieron enviar")
+                .register(meterRegistry);
+        this.confirmTimer = Timer.builder("auth.rabbit.publish.confirm")
+                .description("Tiempo entre el envío y el confirm del broker")
+                .register(meterRegistry);
+    }
 
     @Override
     public void publish(Object event, String routingKey) {
-        rabbitTemplate.convertAndSend("user.exchange", routingKey, event);
+        awaitConfirms(List.of(publishAsync(event, routingKey)), properties.getConfirmTimeout());
+    }
+
+    @Override
+    public CompletableFuture<Void> publishAsync(Object event, String routingKey) {
+        CorrelationData correlation = new CorrelationData();
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+
+        CompletableFuture<Void> confirmed = correlation.getFuture().handle((confirm, error) -> {
+            inFlight.decrementAndGet();
+            confirmTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error == null && confirm.isAck()) {
+                confirmedCounter.increment();
+                return null;
+            }
+            nackedCounter.increment();
+            if (error != null) {
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            }
+            log.warn("RabbitMQ rechazó el mensaje {} ({}): {}", correlation.getId(), routingKey, confirm.getReason());
+            throw new AmqpException("Mensaje rechazado por RabbitMQ: " + confirm.getReason());
+        });
+
+        // Si el envío falla antes de llegar al broker no habrá confirm: se completa aquí
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.USER_EXCHANGE, routingKey, event, correlation);
+        } catch (AmqpException e) {
+            correlation.getFuture().completeExceptionally(e);
+        }
+        return confirmed.orTimeout(properties.getConfirmTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Espera los confirms de varias publicaciones con un solo plazo para todas
+     * Lanza la excepción original (nack, conexión) o AmqpTimeoutException si el plazo vence
+     */
+    public static void awaitConfirms(Collection<CompletableFuture<Void>> confirms, Duration timeout) {
+        try {
+            CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new AmqpTimeoutException("Sin confirm de RabbitMQ tras " + timeout);
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new AmqpException(cause);
+        } catch (TimeoutException e) {
+            throw new AmqpTimeoutException("Sin confirm de RabbitMQ tras " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrumpido esperando confirms de RabbitMQ", e);
+        }
     }
 }
@@ -0,0 +1,24 @@
+package edu.dosw.rideci.infrastructure.persistence.repository;
+
+import edu.dosw.rideci.application.port.out.ReactiveOutboxOutPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Outbox con el driver reactivo: mismos documentos que OutboxRepositoryAdapter, publicados por el mismo OutboxRelay
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveOutboxAdapter implements ReactiveOutboxOutPort {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Void> enqueue(Object event, String routingKey) {
+        return mongoTemplate.insert(OutboxRepositoryAdapter.newEvent(event, routingKey)).then();
+    }
+}
@@ -0,0 +1,139 @@
+package edu.dosw.rideci.infrastructure.persistence.repository;
+
+import edu.dosw.rideci.application.port.out.ReactiveRefreshTokenRepositoryOutPort;
+import edu.dosw.rideci.domain.models.RefreshToken;
+import edu.dosw.rideci.infrastructure.config.RefreshTokenStoreProperties;
+import edu.dosw.rideci.infrastructure.security.TokenDigests;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Refresh tokens en Redis con Lettuce reactivo, en el mismo formato que RefreshTokenRepositoryAdapter:
+ * un pod reactivo y uno servlet pueden renovar los tokens del otro
+ * - Hash refreshToken:{sha256} con EXPIRE, ZSET refreshToken:sessions:{userAuthId} con los digests del usuario
+ *   puntuados por vencimiento (cada save poda los vencidos)
+ * - Con rideci.refresh-token.legacy-fallback también lee y borra el formato anterior de @RedisHash
+ *   (hash refreshTokens:{id}, índices refreshTokens:token:{token} y refreshTokens:userAuthId:{id})
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveRefreshTokenRepositoryAdapter implements ReactiveRefreshTokenRepositoryOutPort {
+
+    static final String LEGACY_KEYSPACE = "refreshTokens";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RefreshTokenStoreProperties properties;
+
+    @Override
+    public Mono<RefreshToken> save(RefreshToken refreshToken) {
+        String digest = TokenDigests.sha256(refreshToken.getToken());
+        String key = RefreshTokenRepositoryAdapter.digestKey(digest);
+        String userKey = RefreshTokenRepositoryAdapter.userKey(refreshToken.getUserAuthId());
+        Duration ttl = Duration.ofSeconds(RefreshTokenRepositoryAdapter.TTL_DAYS);
+        Map<String, String> hash = RefreshTokenRepositoryAdapter.toHash(refreshToken);
+        long now = System.currentTimeMillis();
+
+        // Lettuce no espera una respuesta para enviar el siguiente comando: los cinco van seguidos
+        return Mono.when(
+                        redisTemplate.<String, String>opsForHash().putAll(key, hash),
+                        redisTemplate.expire(key, ttl),
+                        redisTemplate.opsForZSet().add(userKey, digest, now + ttl.toMillis()),
+                        redisTemplate.opsForZSet().removeRangeByScore(userKey, Range.closed(0d, (double) now)),
+                        redisTemplate.expire(userKey, ttl))
+                .thenReturn(RefreshTokenRepositoryAdapter.toDomain(refreshToken.getToken(), digest, hash));
+    }
+
+    @Override
+    public Mono<RefreshToken> findByToken(String token) {
+        String digest = TokenDigests.sha256(token);
+        Mono<RefreshToken> keyed = redisTemplate.<String, String>opsForHash()
+                .entries(RefreshTokenRepositoryAdapter.digestKey(digest))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .filter(hash -> !hash.isEmpty())
+                .map(hash -> RefreshTokenRepositoryAdapter.toDomain(token, digest, hash));
+        if (!properties.isLegacyFallback()) {
+            return keyed;
+        }
+        return keyed.switchIfEmpty(Mono.defer(() -> legacyIds(legacyIndex("token", token))
+                .concatMap(this::loadLegacy)
+                .next()));
+    }
+
+    @Override
+    public Mono<Void> deleteAllByUserAuthId(String userAuthId) {
+        String userKey = RefreshTokenRepositoryAdapter.userKey(userAuthId);
+        Mono<Void> keyed = redisTemplate.opsForZSet().range(userKey, Range.unbounded())
+                .map(RefreshTokenRepositoryAdapter::digestKey)
+                .concatWithValues(userKey)
+                .collectList()
+                .flatMap(keys -> redisTemplate.delete(keys.toArray(String[]::new)))
+                .then();
+        if (!properties.isLegacyFallback()) {
+            return keyed;
+        }
+        return keyed.then(legacyIds(legacyIndex("userAuthId", userAuthId))
+                .concatMap(this::deleteLegacy)
+                .then());
+    }
+
+    @Override
+    public Mono<Void> deleteByToken(RefreshToken token) {
+        String digest = TokenDigests.sha256(token.getToken());
+        Mono<Long> removeFromUser = token.getUserAuthId() != null
+                ? redisTemplate.opsForZSet().remove(RefreshTokenRepositoryAdapter.userKey(token.getUserAuthId()), digest)
+                : Mono.just(0L);
+        return redisTemplate.delete(RefreshTokenRepositoryAdapter.digestKey(digest))
+                .flatMap(deleted -> removeFromUser.then(deleted == 0 && properties.isLegacyFallback()
+                        ? legacyIds(legacyIndex("token", token.getToken())).concatMap(this::deleteLegacy).then()
+                        : Mono.empty()));
+    }
+
+    private Flux<String> legacyIds(String indexKey) {
+        return redisTemplate.opsForSet().members(indexKey);
+    }
+
+    private Mono<RefreshToken> loadLegacy(String id) {
+        return redisTemplate.<String, String>opsForHash().entries(legacyHashKey(id))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .filter(fields -> !fields.isEmpty())
+                .map(fields -> RefreshToken.builder()
+                        .id(id)
+                        .token(fields.get("token"))
+                        .userAuthId(fields.get("userAuthId"))
+                        .expiresAt(parse(fields.get("expiresAt")))
+                        .createdAt(parse(fields.get("createdAt")))
+                        .build());
+    }
+
+    private Mono<Void> deleteLegacy(String id) {
+        String key = legacyHashKey(id);
+        String indexes = key + ":idx";
+        return redisTemplate.opsForSet().members(indexes)
+                .concatMap(indexKey -> redisTemplate.opsForSet().remove(indexKey, id))
+                .then(redisTemplate.delete(key, indexes))
+                .then(redisTemplate.opsForSet().remove(LEGACY_KEYSPACE, id))
+                .then();
+    }
+
+    private static String legacyHashKey(String id) {
+        return LEGACY_KEYSPACE + ":" + id;
+    }
+
+    private static String legacyIndex(String property, String value) {
+        return LEGACY_KEYSPACE + ":" + property + ":" + value;
+    }
+
+    private static LocalDateTime parse(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+}
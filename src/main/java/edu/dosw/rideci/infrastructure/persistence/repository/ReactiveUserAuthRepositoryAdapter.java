@@ -0,0 +1,109 @@
+package edu.dosw.rideci.infrastructure.persistence.repository;
+
+import edu.dosw.rideci.application.port.out.ReactiveUserAuthRepositoryOutPort;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
+import edu.dosw.rideci.infrastructure.config.UserCacheProperties;
+import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
+import edu.dosw.rideci.infrastructure.persistence.repository.mapper.UserAuthMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adaptador Mongo reactivo (driver reactive streams) con las mismas consultas que UserAuthRepositoryAdapter
+ * - Las credenciales del login usan la misma proyección cubierta por email_credentials
+ * - Un cambio de hash invalida el cache de usuarios de las réplicas servlet (misma llave y mismo canal)
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserAuthRepositoryAdapter implements ReactiveUserAuthRepositoryOutPort {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final UserAuthMapper userAuthMapper;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final UserCacheProperties cacheProperties;
+
+    @Override
+    public Mono<UserAuth> save(UserAuth userAuth) {
+        return mongoTemplate.save(userAuthMapper.toDocument(userAuth))
+                .map(userAuthMapper::toDomain);
+    }
+
+    @Override
+    public Mono<UserAuth> insert(UserAuth userAuth) {
+        return mongoTemplate.insert(userAuthMapper.toDocument(userAuth))
+                .map(userAuthMapper::toDomain)
+                .onErrorMap(DuplicateKeyException.class, UserAuthRepositoryAdapter::duplicateUser);
+    }
+
+    @Override
+    public Mono<Void> delete(UserAuth userAuth) {
+        return mongoTemplate.remove(UserAuthRepositoryAdapter.byId(userAuth.getId()), UserAuthDocument.class)
+                .then();
+    }
+
+    @Override
+    public Mono<UserAuth> findById(String id) {
+        return mongoTemplate.findById(id, UserAuthDocument.class)
+                .map(userAuthMapper::toDomain);
+    }
+
+    @Override
+    public Mono<UserAuth> findByEmail(String email) {
+        return mongoTemplate.findOne(byEmail(email), UserAuthDocument.class)
+                .map(userAuthMapper::toDomain);
+    }
+
+    @Override
+    public Mono<UserCredentials> findCredentialsByEmail(String email) {
+        return mongoTemplate.findOne(UserAuthRepositoryAdapter.credentialsByEmail(email), Document.class,
+                        mongoTemplate.getCollectionName(UserAuthDocument.class))
+                .map(found -> UserAuthRepositoryAdapter.toCredentials(found, email));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return mongoTemplate.exists(byEmail(email), UserAuthDocument.class);
+    }
+
+    @Override
+    public Mono<Boolean> updatePasswordHash(String id, String passwordHash) {
+        return mongoTemplate.updateFirst(UserAuthRepositoryAdapter.byId(id),
+                        new Update().set("passwordHash", passwordHash), UserAuthDocument.class)
+                .map(result -> result.getMatchedCount() > 0)
+                .flatMap(updated -> invalidateCachedUser(id).thenReturn(updated));
+    }
+
+    @Override
+    public Mono<String> updatePasswordHashByEmail(String email, String passwordHash) {
+        return mongoTemplate.findAndModify(UserAuthRepositoryAdapter.idByEmail(email),
+                        new Update().set("passwordHash", passwordHash), Document.class,
+                        mongoTemplate.getCollectionName(UserAuthDocument.class))
+                .map(updated -> updated.get("_id").toString())
+                .flatMap(id -> invalidateCachedUser(id).thenReturn(id));
+    }
+
+    private Mono<Void> invalidateCachedUser(String id) {
+        return redisTemplate.delete(cacheProperties.getKeyPrefix() + id)
+                .then(redisTemplate.convertAndSend(cacheProperties.getInvalidationChannel(), id))
+                .doOnError(e -> log.warn("No se pudo invalidar el usuario {} en Redis: {}", id, e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private static Query byEmail(String email) {
+        return Query.query(Criteria.where("email").is(email));
+    }
+}
@@ -1,50 +1,140 @@
 package edu.dosw.rideci.infrastructure.persistence.repository;
 
-import edu.dosw.rideci.infrastructure.persistence.redis.RefreshTokenRepository;
-import org.springframework.stereotype.Component;
-import lombok.RequiredArgsConstructor;
-
 import edu.dosw.rideci.application.port.out.RefreshTokenRepositoryOutPort;
 import edu.dosw.rideci.domain.models.RefreshToken;
+import edu.dosw.rideci.infrastructure.config.RefreshTokenStoreProperties;
 import edu.dosw.rideci.infrastructure.persistence.entity.RefreshTokenDocument;
+import edu.dosw.rideci.infrastructure.persistence.redis.RefreshTokenRepository;
+import edu.dosw.rideci.infrastructure.security.TokenDigests;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Refresh tokens en Redis con clave directa, sin los índices secundarios de @RedisHash
+ * - El JWT nunca se guarda: se usa su SHA-256 (43 caracteres en Base64 URL) en la clave y en el índice del usuario
+ * - Hash refreshToken:{sha256} con userAuthId, expiresAt y createdAt, con EXPIRE nativo
+ * - ZSET refreshToken:sessions:{userAuthId} con los digests del usuario y su vencimiento (epoch ms) como score,
+ *   para deleteAllByUserAuthId; cada save poda con ZREMRANGEBYSCORE los ya vencidos, así no crece sin límite
+ *   aunque el usuario inicie sesión cada día sin cerrarla nunca, y la clave expira con el último token
+ * - save va en un pipeline (una ida a Redis) y findByToken es un solo HGETALL
+ * Los tokens guardados con el formato anterior se siguen leyendo mientras rideci.refresh-token.legacy-fallback esté activo
+ */
 @Component
 @RequiredArgsConstructor
 public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryOutPort {
 
-    private static final Long TTL_DAYS = 259200L;
+    static final Long TTL_DAYS = 259200L;
+    static final String KEY_PREFIX = "refreshToken:";
+    static final String USER_KEY_PREFIX = KEY_PREFIX + "sessions:";
 
-    private final RefreshTokenRepository redisRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RefreshTokenRepository legacyRepository;
+    private final RefreshTokenStoreProperties properties;
 
     @Override
     public RefreshToken save(RefreshToken refreshToken) {
-        RefreshTokenDocument document = RefreshTokenDocument.builder()
-                .token(refreshToken.getToken())
-                .userAuthId(refreshToken.getUserAuthId())
-                .expiresAt(refreshToken.getExpiresAt())
-                .createdAt(refreshToken.getCreatedAt())
-                .ttl(TTL_DAYS)
-                .build();
+        String digest = TokenDigests.sha256(refreshToken.getToken());
+        String key = digestKey(digest);
+        String userKey = userKey(refreshToken.getUserAuthId());
+        Duration ttl = Duration.ofSeconds(TTL_DAYS);
+        Map<String, String> hash = toHash(refreshToken);
+        long now = System.currentTimeMillis();
 
-        RefreshTokenDocument saved = redisRepository.save(document);
-        return toDomain(saved);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForHash().putAll(key, hash);
+                operations.expire(key, ttl);
+                operations.opsForZSet().add(userKey, digest, now + ttl.toMillis());
+                operations.opsForZSet().removeRangeByScore(userKey, 0, now);
+                operations.expire(userKey, ttl);
+                return null;
+            }
+        });
+        return toDomain(refreshToken.getToken(), digest, hash);
     }
 
     @Override
     public Optional<RefreshToken> findByToken(String token) {
-        return redisRepository.findByToken(token)
-                .map(this::toDomain);
+        String digest = TokenDigests.sha256(token);
+        Map<String, String> hash = redisTemplate.<String, String>opsForHash().entries(digestKey(digest));
+        if (!hash.isEmpty()) {
+            return Optional.of(toDomain(token, digest, hash));
+        }
+        return properties.isLegacyFallback()
+                ? legacyRepository.findByToken(token).map(this::toDomain)
+                : Optional.empty();
     }
 
     @Override
     public void deleteAllByUserAuthId(String userAuthId) {
-        redisRepository.deleteAllByUserAuthId(userAuthId);
+        String userKey = userKey(userAuthId);
+        Set<String> digests = redisTemplate.opsForZSet().range(userKey, 0, -1);
+
+        List<String> keys = new ArrayList<>();
+        if (digests != null) {
+            digests.forEach(digest -> keys.add(digestKey(digest)));
+        }
+        keys.add(userKey);
+        redisTemplate.delete(keys);
+
+        if (properties.isLegacyFallback()) {
+            legacyRepository.deleteAllByUserAuthId(userAuthId);
+        }
     }
 
     @Override
     public void deleteByToken(RefreshToken token) {
-        redisRepository.deleteByToken(token.getToken());
+        String digest = TokenDigests.sha256(token.getToken());
+        Boolean deleted = redisTemplate.delete(digestKey(digest));
+        if (token.getUserAuthId() != null) {
+            redisTemplate.opsForZSet().remove(userKey(token.getUserAuthId()), digest);
+        }
+        if (!Boolean.TRUE.equals(deleted) && properties.isLegacyFallback()) {
+            legacyRepository.deleteByToken(token.getToken());
+        }
+    }
+
+    static String digestKey(String digest) {
+        return KEY_PREFIX + digest;
+    }
+
+    static String userKey(String userAuthId) {
+        return USER_KEY_PREFIX + userAuthId;
+    }
+
+    // Las fechas van como LocalDateTime.toString() (mismo formato que usaba @RedisHash)
+    static Map<String, String> toHash(RefreshToken refreshToken) {
+        Map<String, String> hash = new LinkedHashMap<>();
+        putIfPresent(hash, "userAuthId", refreshToken.getUserAuthId());
+        putIfPresent(hash, "expiresAt", refreshToken.getExpiresAt());
+        putIfPresent(hash, "createdAt", refreshToken.getCreatedAt());
+        return hash;
+    }
+
+    // El digest es la clave y hace de id; el token sale de quien lo pidió, no de Redis
+    static RefreshToken toDomain(String token, String digest, Map<String, String> hash) {
+        return RefreshToken.builder()
+                .id(digest)
+                .token(token)
+                .userAuthId(hash.get("userAuthId"))
+                .expiresAt(parse(hash.get("expiresAt")))
+                .createdAt(parse(hash.get("createdAt")))
+                .build();
     }
 
     private RefreshToken toDomain(RefreshTokenDocument document) {
@@ -56,4 +146,14 @@ public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryOutP
                 .createdAt(document.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    private static void putIfPresent(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value.toString());
+        }
+    }
+
+    private static LocalDateTime parse(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+}
@@ -1,24 +1,69 @@
 package edu.dosw.rideci.infrastructure.persistence.repository;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.exceptions.DuplicateUserException;
+import edu.dosw.rideci.infrastructure.persistence.mongodb.UserAuthIndexes;
 import edu.dosw.rideci.infrastructure.persistence.mongodb.UserAuthRepository;
 import edu.dosw.rideci.infrastructure.persistence.repository.mapper.UserAuthMapper;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
 
 import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
 import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
 import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
 public class UserAuthRepositoryAdapter implements UserAuthRepositoryOutPort {
 
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
     private final UserAuthRepository mongoRepository;
     private final UserAuthMapper userAuthMapper;
+    private final MongoTemplate mongoTemplate;
 
+    /**
+     * Sin passwordHash (usuario leído con findById) no reemplaza el documento: $set del resto de campos
+     * con upsert, así se conserva el hash guardado
+     */
     @Override
     public UserAuth save(UserAuth userAuth) {
+        if (userAuth.getPasswordHash() == null && userAuth.getId() != null) {
+            UserAuthDocument saved = mongoTemplate.findAndModify(
+                    byId(userAuth.getId()),
+                    new Update()
+                            .set("name", userAuth.getName())
+                            .set("email", userAuth.getEmail())
+                            .set("institutionalId", userAuth.getInstitutionalId())
+                            .set("role", userAuth.getRole())
+                            .set("userId", userAuth.getUserId())
+                            .set("createdAt", userAuth.getCreatedAt())
+                            .set("lastLogin", userAuth.getLastLogin()),
+                    FindAndModifyOptions.options().returnNew(true).upsert(true),
+                    UserAuthDocument.class);
+            return userAuthMapper.toDomain(saved);
+        }
         UserAuthDocument document = new UserAuthDocument(
                 userAuth.getId(),
                 userAuth.getName(),
@@ -34,6 +79,56 @@ public class UserAuthRepositoryAdapter implements UserAuthRepositoryOutPort {
         return userAuthMapper.toDomain(saved);
     }
 
+    /**
+     * insert (no save): nunca reemplaza un documento; los índices únicos rechazan email o carnet repetidos
+     */
+    @Override
+    public UserAuth insert(UserAuth userAuth) {
+        try {
+            return userAuthMapper.toDomain(mongoTemplate.insert(userAuthMapper.toDocument(userAuth)));
+        } catch (DuplicateKeyException e) {
+            throw duplicateUser(e);
+        }
+    }
+
+    /**
+     * Un solo insertMany sin orden para todo el lote; los ids se generan aquí para poder devolverlos
+     */
+    @Override
+    public Map<Integer, RuntimeException> insertAll(List<UserAuth> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        users.forEach(userAuth -> userAuth.setId(new ObjectId().toHexString()));
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserAuthDocument.class)
+                    .insert(userAuthMapper.toDocumentList(users))
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, RuntimeException> errors = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), writeError(error));
+            }
+            return errors;
+        }
+    }
+
+    static RuntimeException writeError(BulkWriteError error) {
+        if (error.getCode() == DUPLICATE_KEY_CODE) {
+            return UserAuthIndexes.duplicatedField(error.getMessage())
+                    .<RuntimeException>map(DuplicateUserException::new)
+                    .orElseGet(() -> new DuplicateKeyException(error.getMessage()));
+        }
+        return new IllegalStateException(error.getMessage());
+    }
+
+    static RuntimeException duplicateUser(DuplicateKeyException e) {
+        return UserAuthIndexes.duplicatedField(e)
+                .<RuntimeException>map(DuplicateUserException::new)
+                .orElse(e);
+    }
+
     @Override
     public void delete(UserAuth userAuth) {
         mongoRepository.deleteById(userAuth.getId());
@@ -51,20 +146,62 @@ public class UserAuthRepositoryAdapter implements UserAuthRepositoryOutPort {
                 .map(userAuthMapper::toDomain);
     }
 
+    /**
+     * Proyección cubierta por el índice email_credentials: se lee como Document crudo,
+     * sin pasar por el mapeo de UserAuthDocument ni por UserAuthMapper
+     */
+    @Override
+    public Optional<UserCredentials> findCredentialsByEmail(String email) {
+        Document found = mongoTemplate.findOne(credentialsByEmail(email), Document.class,
+                mongoTemplate.getCollectionName(UserAuthDocument.class));
+        return Optional.ofNullable(found).map(document -> toCredentials(document, email));
+    }
+
+    static UserCredentials toCredentials(Document found, String email) {
+        String role = found.getString("role");
+        Number institutionalId = found.get("institutionalId", Number.class);
+        return UserCredentials.builder()
+                .id(found.get("_id").toString())
+                .email(email)
+                .passwordHash(found.getString("passwordHash"))
+                .role(role != null ? Role.valueOf(role) : null)
+                .name(found.getString("name"))
+                .institutionalId(institutionalId != null ? institutionalId.longValue() : null)
+                .build();
+    }
+
+    /**
+     * Filtro y proyección de la búsqueda de credenciales (solo campos del índice email_credentials)
+     */
+    public static Query credentialsByEmail(String email) {
+        Query query = Query.query(Criteria.where("email").is(email));
+        query.fields().include("_id", "passwordHash", "role", "name", "institutionalId");
+        return query;
+    }
+
     @Override
     public boolean existsByEmail(String email) {
         return mongoRepository.existsByEmail(email);
     }
 
+    /**
+     * Un solo findAndModify con $set de password y rol (sin leer antes ni reemplazar el documento)
+     * Sin passwordHash solo cambia el rol
+     */
     @Override
     public UserAuth update(String id, UserAuth userAuth) {
-        UserAuthDocument document = mongoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-        document.setPasswordHash(userAuth.getPasswordHash());
-        document.setRole(userAuth.getRole());
-
-        UserAuthDocument updated = mongoRepository.save(document);
+        Update update = new Update().set("role", userAuth.getRole());
+        if (userAuth.getPasswordHash() != null) {
+            update.set("passwordHash", userAuth.getPasswordHash());
+        }
+        UserAuthDocument updated = mongoTemplate.findAndModify(
+                byId(id),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                UserAuthDocument.class);
+        if (updated == null) {
+            throw new RuntimeException("Usuario no encontrado");
+        }
         return userAuthMapper.toDomain(updated);
     }
 
@@ -73,8 +210,98 @@ public class UserAuthRepositoryAdapter implements UserAuthRepositoryOutPort {
         mongoRepository.deleteByEmail(userEmail);
     }
 
+    /**
+     * Un find de solo ids (para invalidar el cache) y un único deleteMany con email $in
+     */
     @Override
-    public boolean existsById(Long userId) {
-        return mongoRepository.existsById(userId);
+    public List<String> deleteAllByEmail(Collection<String> userEmails) {
+        if (userEmails.isEmpty()) {
+            return List.of();
+        }
+        Query idsOnly = byEmails(userEmails);
+        idsOnly.fields().include("_id");
+        List<Object> ids = mongoTemplate.find(idsOnly, Document.class, mongoTemplate.getCollectionName(UserAuthDocument.class))
+                .stream()
+                .map(document -> document.get("_id"))
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Se borra exactamente lo leído: un usuario que se registre con esos correos entre ambas consultas no se toca
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), UserAuthDocument.class);
+        return ids.stream().map(Object::toString).toList();
+    }
+
+    /**
+     * Cursor del driver sobre Documents crudos (sin mapear a UserAuthDocument), ordenado por _id,
+     * con proyección: en memoria solo está el lote actual del cursor
+     */
+    @Override
+    public void forEachUser(Collection<String> fields, int batchSize, Consumer<Map<String, Object>> consumer) {
+        Document projection = new Document();
+        fields.forEach(field -> projection.append("id".equals(field) ? "_id" : field, 1));
+        if (!fields.contains("id")) {
+            projection.append("_id", 0);
+        }
+
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(UserAuthDocument.class))
+                .find()
+                .projection(projection)
+                .sort(new Document("_id", 1))
+                .batchSize(batchSize)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                consumer.accept(toExported(cursor.next(), fields));
+            }
+        }
+    }
+
+    // Mismo orden de campos que la petición; _id como texto en "id"
+    private static Map<String, Object> toExported(Document document, Collection<String> fields) {
+        Map<String, Object> exported = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = "id".equals(field) ? document.get("_id") : document.get(field);
+            exported.put(field, value instanceof ObjectId objectId ? objectId.toHexString() : value);
+        }
+        return exported;
+    }
+
+    @Override
+    public boolean existsByInstitutionalId(Long institutionalId) {
+        return mongoRepository.existsByInstitutionalId(institutionalId);
+    }
+
+    @Override
+    public boolean updatePasswordHash(String id, String passwordHash) {
+        return updateOne(id, new Update().set("passwordHash", passwordHash));
+    }
+
+    /**
+     * Un solo findAndModify por email que solo devuelve el _id (para invalidar el cache por id)
+     */
+    @Override
+    public Optional<String> updatePasswordHashByEmail(String email, String passwordHash) {
+        Document updated = mongoTemplate.findAndModify(idByEmail(email), new Update().set("passwordHash", passwordHash),
+                Document.class, mongoTemplate.getCollectionName(UserAuthDocument.class));
+        return Optional.ofNullable(updated).map(document -> document.get("_id").toString());
+    }
+
+    private boolean updateOne(String id, Update update) {
+        UpdateResult result = mongoTemplate.updateFirst(byId(id), update, UserAuthDocument.class);
+        return result.getMatchedCount() > 0;
+    }
+
+    static Query byEmails(Collection<String> emails) {
+        return Query.query(Criteria.where("email").in(emails));
+    }
+
+    static Query idByEmail(String email) {
+        Query query = Query.query(Criteria.where("email").is(email));
+        query.fields().include("_id");
+        return query;
+    }
+
+    static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
     }
 }
@@ -0,0 +1,163 @@
+package edu.dosw.rideci.infrastructure.security;
+
+import edu.dosw.rideci.exceptions.ServiceBusyException;
+import edu.dosw.rideci.infrastructure.config.PasswordProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PasswordEncoder que calcula los hashes en un pool acotado (bulkhead)
+ * - Pool del tamaño de los núcleos y cola acotada: un pico de logins no satura la CPU
+ *   ni deja sin hilos a endpoints baratos como /auth/refresh
+ * - Cola llena o espera mayor a wait-timeout: ServiceBusyException (503 + Retry-After)
+ * - Una tarea que vence en la cola se descarta; si ya empezó, se espera a que termine
+ * - Métricas: auth.password.hash.queue, .active, .wait, .duration, .rejected
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration waitTimeout;
+    private final Duration retryAfter;
+
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordProperties.Hashing hashing, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.waitTimeout = hashing.getWaitTimeout();
+        this.retryAfter = hashing.getRetryAfter();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hashing.getPoolSize(), hashing.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashing.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Hashes esperando turno")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes en cálculo")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.hash.wait")
+                .description("Tiempo en cola antes de calcular el hash")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash.duration")
+                .tag("operation", "encode")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash.duration")
+                .tag("operation", "matches")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Hashes rechazados por cola llena o tiempo de espera")
+                .register(meterRegistry);
+
+        log.info("Pool de hash de contraseñas: {} hilo(s), cola de {}, espera máxima {}",
+                hashing.getPoolSize(), hashing.getQueueCapacity(), waitTimeout);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Encoder sin el pool: para trabajos por lotes que traen su propio pool (BulkPasswordHasher)
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    // No calcula ningún hash: se resuelve en el hilo que llama
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Supplier<T> hashing) {
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        long enqueuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (!state.compareAndSet(QUEUED, RUNNING)) {
+                    return null; // Quien la pidió ya se rindió: no se gasta CPU
+                }
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy("Cola de hash llena");
+        }
+
+        try {
+            try {
+                return future.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (state.compareAndSet(QUEUED, ABANDONED)) {
+                    future.cancel(false);
+                    executor.remove((Runnable) future); // Libera su lugar en la cola
+                    throw busy("Tiempo de espera de hash agotado");
+                }
+                // Ya se está calculando: termina en lo que dura un hash
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state.compareAndSet(QUEUED, ABANDONED);
+            throw busy("Hash interrumpido");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceBusyException busy(String reason) {
+        rejectedCounter.increment();
+        log.warn("{} (en cola: {}, activos: {})", reason, executor.getQueue().size(), executor.getActiveCount());
+        return new ServiceBusyException("Servicio ocupado, intenta de nuevo en unos segundos", retryAfter);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,74 @@
+package edu.dosw.rideci.infrastructure.security;
+
+import edu.dosw.rideci.infrastructure.config.UserImportProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes de la importación masiva en su propio pool acotado
+ * - No pasa por el pool de BoundedPasswordEncoder: un archivo grande no llena la cola del login (503)
+ * - Pocos hilos (hash-pool-size, por defecto 1): el pool del login ya tiene un hilo por núcleo,
+ *   así la importación suma como mucho esos hilos de CPU y no le quita los núcleos a los logins
+ * - Mismo algoritmo y costo que el registro (mismo DelegatingPasswordEncoder)
+ * - Cola llena: el hilo que llama espera un lugar (frena la lectura del archivo sin calcular hashes él mismo)
+ * - Métricas: auth.import.hash.queue, .active
+ */
+@Component
+public class BulkPasswordHasher {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    public BulkPasswordHasher(PasswordEncoder passwordEncoder, UserImportProperties properties, MeterRegistry meterRegistry) {
+        this.encoder = passwordEncoder instanceof BoundedPasswordEncoder bounded ? bounded.getDelegate() : passwordEncoder;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getHashPoolSize(), properties.getHashPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getHashQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                BulkPasswordHasher::waitForRoom);
+
+        Gauge.builder("auth.import.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Hashes de la importación esperando turno")
+                .register(meterRegistry);
+        Gauge.builder("auth.import.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de la importación en cálculo")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+    }
+
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Pool de hashes de la importación cerrado");
+        }
+        try {
+            pool.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Importación interrumpida esperando turno de hash", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+}
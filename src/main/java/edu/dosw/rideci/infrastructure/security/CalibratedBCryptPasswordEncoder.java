@@ -0,0 +1,85 @@
+package edu.dosw.rideci.infrastructure.security;
+
+import edu.dosw.rideci.infrastructure.config.PasswordProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt con el costo elegido para el hardware donde corre
+ * - Al arrancar mide un hash y elige el costo más alto dentro del tiempo objetivo
+ * - upgradeEncoding es true solo si el hash guardado tiene un costo menor: nunca se baja el costo,
+ *   así réplicas calibradas distinto no se rehashean entre sí en cada login
+ * - En producción conviene fijar rideci.password.bcrypt.strength igual para todas las réplicas
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibracion-RideCI-2025";
+    private static final int SAMPLES = 3;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public static CalibratedBCryptPasswordEncoder fromProperties(PasswordProperties.Bcrypt bcrypt) {
+        if (bcrypt.getStrength() != null) {
+            log.info("Costo BCrypt fijo: {}", bcrypt.getStrength());
+            return new CalibratedBCryptPasswordEncoder(bcrypt.getStrength());
+        }
+        return new CalibratedBCryptPasswordEncoder(
+                calibrate(bcrypt.getTargetHashTime(), bcrypt.getMinStrength(), bcrypt.getMaxStrength()));
+    }
+
+    /**
+     * Cada punto de costo duplica el tiempo: se mide el mínimo y se extrapola
+     */
+    public static int calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        long measuredNanos = medianHashNanos(minStrength);
+        long targetNanos = targetHashTime.toNanos();
+
+        int strength = minStrength;
+        long estimated = measuredNanos;
+        while (strength < maxStrength && estimated * 2 <= targetNanos) {
+            strength++;
+            estimated *= 2;
+        }
+        log.info("Costo BCrypt calibrado: {} (~{} ms por hash, objetivo {} ms; costo {} midió {} ms)",
+                strength, estimated / 1_000_000, targetHashTime.toMillis(), minStrength, measuredNanos / 1_000_000);
+        return strength;
+    }
+
+    private static long medianHashNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(CALIBRATION_PASSWORD); // Calentamiento (JIT)
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+}
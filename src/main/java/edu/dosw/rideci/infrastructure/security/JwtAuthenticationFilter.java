@@ -0,0 +1,48 @@
+package edu.dosw.rideci.infrastructure.security;
+
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Autentica con el access token del header Authorization (Bearer)
+ * - El rol del token se vuelve la autoridad ROLE_<rol> (p. ej. ROLE_ADMINISTRATOR)
+ * - Sin token, o con uno inválido o de refresh, la petición sigue sin autenticar: decide SecurityConfig
+ * - No es @Component: así no se registra también como filtro del servlet fuera de Spring Security
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenProviderOutPort tokenProvider;
+
+    public JwtAuthenticationFilter(TokenProviderOutPort tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            tokenProvider.verify(header.substring(BEARER.length()).trim())
+                    .filter(VerifiedToken::isAccessToken)
+                    .filter(token -> token.getRole() != null)
+                    .ifPresent(token -> SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(token.getSubject(), null,
+                                    List.of(new SimpleGrantedAuthority("ROLE_" + token.getRole())))));
+        }
+        chain.doFilter(request, response);
+    }
+}
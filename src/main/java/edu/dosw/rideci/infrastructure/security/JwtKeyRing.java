@@ -0,0 +1,370 @@
+package edu.dosw.rideci.infrastructure.security;
+
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PKCS12Attribute;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Anillo de llaves JWT con rotación por kid
+ * - Sin keystore: llaves fijas de rideci.jwt.* (HS256/ES256)
+ * - Con keystore PKCS12 (alias = kid): se revisa periódicamente y se recarga sin reiniciar
+ * - Una llave que desaparece del keystore sigue verificando durante retired-key-retention,
+ *   así los tokens ya emitidos siguen siendo válidos hasta su exp
+ * - Las llaves retiradas se guardan en keystore.retired-path (PKCS12 con la misma contraseña)
+ *   y se vuelven a cargar al arrancar: un reinicio no invalida los tokens firmados con ellas
+ * - Un alias (kid) nunca cambia de llave: si un keystore trae otra llave bajo un kid ya cargado o retirado
+ *   se rechaza entero y se conservan las llaves actuales (los tokens firmados con la anterior no se podrían
+ *   verificar, porque la verificación es por kid); para rotar se agrega un alias nuevo
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    // Atributo PKCS12 con el fin de la retención (epoch ms); OID del arco 2.25 (UUID, RFC 4122)
+    static final String RETIRED_UNTIL_OID = "2.25.211493496241504689331881827148231580161";
+
+    private final JwtProperties properties;
+    private final Clock clock;
+    private final Path keystorePath;
+    private final Path retiredPath;
+
+    // Solo lo modifica reload(), que es synchronized
+    private final Map<String, RetiredKey> retiredKeys = new HashMap<>();
+    private Map<String, KeystoreEntry> loadedEntries = Map.of();
+    private long loadedModifiedAt = -1;
+    private long loadedSize = -1;
+
+    private volatile JwtKeySet current;
+    private ScheduledExecutorService watcher;
+
+    @Autowired
+    public JwtKeyRing(JwtProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    public JwtKeyRing(JwtProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        String path = properties.getKeystore().getPath();
+        this.keystorePath = path == null || path.isBlank() ? null : Path.of(path);
+
+        if (keystorePath == null) {
+            this.retiredPath = null;
+            this.current = JwtKeySet.fromProperties(properties);
+            return;
+        }
+
+        String retired = properties.getKeystore().getRetiredPath();
+        this.retiredPath = retired == null || retired.isBlank()
+                ? keystorePath.resolveSibling(keystorePath.getFileName() + ".retired")
+                : Path.of(retired);
+        loadRetired();
+
+        if (!reload()) {
+            throw new IllegalStateException("No se pudo cargar el keystore JWT: " + keystorePath);
+        }
+        long interval = properties.getKeystore().getReloadInterval().toMillis();
+        this.watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwt-keyring-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private JwtKeyRing(JwtKeySet keySet) {
+        this.properties = null;
+        this.clock = Clock.systemUTC();
+        this.keystorePath = null;
+        this.retiredPath = null;
+        this.current = keySet;
+    }
+
+    /**
+     * Anillo con un único conjunto de llaves que nunca cambia
+     */
+    public static JwtKeyRing fixed(JwtKeySet keySet) {
+        return new JwtKeyRing(keySet);
+    }
+
+    public JwtKeySet current() {
+        return current;
+    }
+
+    /**
+     * Relee el keystore si cambió y recalcula la llave activa y las retiradas
+     * @return false si el keystore no se pudo leer (se conservan las llaves actuales)
+     */
+    public synchronized boolean reload() {
+        if (keystorePath == null) {
+            return true;
+        }
+        Set<String> retiredBefore = new HashSet<>(retiredKeys.keySet());
+        try {
+            long modifiedAt = Files.getLastModifiedTime(keystorePath).toMillis();
+            long size = Files.size(keystorePath);
+            if (modifiedAt != loadedModifiedAt || size != loadedSize) {
+                Map<String, KeystoreEntry> entries = readKeystore();
+                rejectReusedAliases(entries);
+                retireMissing(entries);
+                loadedEntries = entries;
+                loadedModifiedAt = modifiedAt;
+                loadedSize = size;
+            }
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.error("Error leyendo keystore JWT {}: {}", keystorePath, e.getMessage());
+            return false;
+        }
+
+        JwtKeySet next = buildKeySet();
+        if (!retiredBefore.equals(retiredKeys.keySet())) {
+            saveRetired();
+        }
+        if (!next.sameKeysAs(current)) {
+            log.info("Anillo JWT actualizado: firma con kid={}, {} llave(s) de verificación",
+                    next.getSigningKeyId(), next.getVerificationKeys().size());
+            current = next;
+        }
+        return true;
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Error recargando llaves JWT: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, KeystoreEntry> readKeystore() throws IOException, GeneralSecurityException {
+        char[] password = properties.getKeystore().getPassword().toCharArray();
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keystorePath)) {
+            keyStore.load(in, password);
+        }
+
+        Map<String, KeystoreEntry> entries = new LinkedHashMap<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            Date created = keyStore.getCreationDate(alias);
+            Instant createdAt = created != null ? created.toInstant() : Instant.EPOCH;
+            Key key = keyStore.isKeyEntry(alias) ? keyStore.getKey(alias, password) : null;
+            Certificate certificate = keyStore.getCertificate(alias);
+
+            if (key instanceof SecretKey secretKey) {
+                Key hmacKey = Keys.hmacShaKeyFor(secretKey.getEncoded());
+                entries.put(alias, new KeystoreEntry(SignatureAlgorithm.HS256, hmacKey, hmacKey, null, createdAt));
+            } else if (key instanceof ECPrivateKey privateKey && certificate != null
+                    && certificate.getPublicKey() instanceof ECPublicKey publicKey) {
+                entries.put(alias, new KeystoreEntry(SignatureAlgorithm.ES256, privateKey, publicKey, certificate, createdAt));
+            } else if (key == null && certificate != null && certificate.getPublicKey() instanceof ECPublicKey publicKey) {
+                // Solo verificación: llave pública de otra instancia que firma
+                entries.put(alias, new KeystoreEntry(SignatureAlgorithm.ES256, null, publicKey, certificate, createdAt));
+            } else {
+                log.warn("Entrada del keystore JWT ignorada (tipo no soportado): {}", alias);
+            }
+        }
+        if (entries.isEmpty()) {
+            throw new IllegalStateException("El keystore JWT no tiene llaves utilizables");
+        }
+        return entries;
+    }
+
+    // Sin esto el anillo cambiaría la llave del kid en el acto y todos los tokens emitidos dejarían de verificar
+    private void rejectReusedAliases(Map<String, KeystoreEntry> entries) {
+        entries.forEach((kid, entry) -> {
+            KeystoreEntry loaded = loadedEntries.get(kid);
+            RetiredKey retired = retiredKeys.get(kid);
+            Key previous = loaded != null ? loaded.verificationKey() : retired != null ? retired.verificationKey() : null;
+            if (previous != null && !sameMaterial(previous, entry.verificationKey())) {
+                throw new IllegalStateException("El alias " + kid + " cambió de llave: para rotar agrega un alias nuevo"
+                        + " (se conservan las llaves actuales)");
+            }
+        });
+    }
+
+    private static boolean sameMaterial(Key a, Key b) {
+        return a.getAlgorithm().equals(b.getAlgorithm()) && MessageDigest.isEqual(a.getEncoded(), b.getEncoded());
+    }
+
+    // Las llaves que salen del keystore siguen verificando hasta que expire el último token firmado con ellas
+    private void retireMissing(Map<String, KeystoreEntry> entries) {
+        Instant retiredUntil = clock.instant().plus(properties.getRetiredKeyRetention());
+        loadedEntries.forEach((kid, entry) -> {
+            if (!entries.containsKey(kid)) {
+                retiredKeys.put(kid, new RetiredKey(entry.algorithm(), entry.verificationKey(), entry.certificate(), retiredUntil));
+                log.info("Llave JWT retirada kid={}, verifica hasta {}", kid, retiredUntil);
+            }
+        });
+        entries.keySet().forEach(retiredKeys::remove);
+    }
+
+    /**
+     * Llaves retiradas antes de un reinicio; las que ya vencieron se descartan al construir el anillo
+     * Un archivo ilegible no impide arrancar (solo se pierden esas llaves)
+     */
+    private void loadRetired() {
+        if (!Files.exists(retiredPath)) {
+            return;
+        }
+        char[] password = properties.getKeystore().getPassword().toCharArray();
+        try (InputStream in = Files.newInputStream(retiredPath)) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+            for (String alias : Collections.list(keyStore.aliases())) {
+                KeyStore.Entry entry = keyStore.getEntry(alias,
+                        keyStore.isKeyEntry(alias) ? new KeyStore.PasswordProtection(password) : null);
+                Instant until = retiredUntil(entry);
+                if (until == null) {
+                    continue;
+                }
+                if (entry instanceof KeyStore.SecretKeyEntry secret) {
+                    Key hmacKey = Keys.hmacShaKeyFor(secret.getSecretKey().getEncoded());
+                    retiredKeys.put(alias, new RetiredKey(SignatureAlgorithm.HS256, hmacKey, null, until));
+                } else if (entry instanceof KeyStore.TrustedCertificateEntry trusted
+                        && trusted.getTrustedCertificate().getPublicKey() instanceof ECPublicKey publicKey) {
+                    retiredKeys.put(alias, new RetiredKey(SignatureAlgorithm.ES256, publicKey, trusted.getTrustedCertificate(), until));
+                }
+            }
+            log.info("{} llave(s) JWT retirada(s) cargadas de {}", retiredKeys.size(), retiredPath);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.error("Error leyendo llaves JWT retiradas {}: {}", retiredPath, e.getMessage());
+        }
+    }
+
+    // Se escribe en un temporal y se mueve: otra réplica nunca lee un archivo a medias
+    private void saveRetired() {
+        char[] password = properties.getKeystore().getPassword().toCharArray();
+        try {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(null, password);
+            for (Map.Entry<String, RetiredKey> retired : retiredKeys.entrySet()) {
+                RetiredKey key = retired.getValue();
+                Set<KeyStore.Entry.Attribute> attributes =
+                        Set.of(new PKCS12Attribute(RETIRED_UNTIL_OID, String.valueOf(key.until().toEpochMilli())));
+                if (key.verificationKey() instanceof SecretKey secretKey) {
+                    keyStore.setEntry(retired.getKey(), new KeyStore.SecretKeyEntry(secretKey, attributes),
+                            new KeyStore.PasswordProtection(password));
+                } else if (key.certificate() != null) {
+                    keyStore.setEntry(retired.getKey(), new KeyStore.TrustedCertificateEntry(key.certificate(), attributes), null);
+                } else {
+                    log.warn("Llave JWT retirada kid={} sin certificado: no sobrevivirá a un reinicio", retired.getKey());
+                }
+            }
+
+            Path temp = retiredPath.resolveSibling(retiredPath.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                keyStore.store(out, password);
+            }
+            Files.move(temp, retiredPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | GeneralSecurityException e) {
+            log.error("No se pudieron guardar las llaves JWT retiradas en {}: {}", retiredPath, e.getMessage());
+        }
+    }
+
+    private static Instant retiredUntil(KeyStore.Entry entry) {
+        return entry.getAttributes().stream()
+                .filter(attribute -> RETIRED_UNTIL_OID.equals(attribute.getName()))
+                .findFirst()
+                .map(attribute -> Instant.ofEpochMilli(Long.parseLong(attribute.getValue())))
+                .orElse(null);
+    }
+
+    private JwtKeySet buildKeySet() {
+        Instant now = clock.instant();
+        retiredKeys.values().removeIf(retired -> retired.until().isBefore(now));
+
+        String activeKeyId = selectActiveKeyId(now);
+        KeystoreEntry active = loadedEntries.get(activeKeyId);
+
+        Map<String, JwtKeySet.VerificationKey> verificationKeys = new LinkedHashMap<>();
+        loadedEntries.forEach((kid, entry) ->
+                verificationKeys.put(kid, new JwtKeySet.VerificationKey(entry.algorithm(), entry.verificationKey())));
+        retiredKeys.forEach((kid, retired) ->
+                verificationKeys.put(kid, new JwtKeySet.VerificationKey(retired.algorithm(), retired.verificationKey())));
+
+        Key legacyHmacKey = properties.isAcceptHs256() ? JwtKeySet.hmacKey(properties.getHmacSecret()) : null;
+        return new JwtKeySet(active.algorithm(), active.signingKey(), activeKeyId, verificationKeys, legacyHmacKey);
+    }
+
+    /**
+     * La llave fijada en active-key-id, o la más reciente cuyo activation-delay ya pasó
+     * (si ninguna lo cumple, la más reciente: no hay otra con qué firmar)
+     */
+    private String selectActiveKeyId(Instant now) {
+        String pinned = properties.getKeystore().getActiveKeyId();
+        if (pinned != null && !pinned.isBlank()) {
+            KeystoreEntry entry = loadedEntries.get(pinned);
+            if (entry == null || entry.signingKey() == null) {
+                throw new IllegalStateException("active-key-id no existe o no puede firmar: " + pinned);
+            }
+            return pinned;
+        }
+
+        Instant activatableBefore = now.minus(properties.getKeystore().getActivationDelay());
+        String newest = null;
+        String newestActivatable = null;
+        for (Map.Entry<String, KeystoreEntry> candidate : loadedEntries.entrySet()) {
+            KeystoreEntry entry = candidate.getValue();
+            if (entry.signingKey() == null) {
+                continue;
+            }
+            if (newest == null || entry.createdAt().isAfter(loadedEntries.get(newest).createdAt())) {
+                newest = candidate.getKey();
+            }
+            if (!entry.createdAt().isAfter(activatableBefore) && (newestActivatable == null
+                    || entry.createdAt().isAfter(loadedEntries.get(newestActivatable).createdAt()))) {
+                newestActivatable = candidate.getKey();
+            }
+        }
+        if (newest == null) {
+            throw new IllegalStateException("El keystore JWT no tiene llaves de firma");
+        }
+        return newestActivatable != null ? newestActivatable : newest;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    private record KeystoreEntry(SignatureAlgorithm algorithm, Key signingKey, Key verificationKey,
+                                 Certificate certificate, Instant createdAt) {
+    }
+
+    private record RetiredKey(SignatureAlgorithm algorithm, Key verificationKey, Certificate certificate, Instant until) {
+    }
+}
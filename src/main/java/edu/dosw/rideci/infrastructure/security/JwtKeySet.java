@@ -0,0 +1,211 @@
+package edu.dosw.rideci.infrastructure.security;
+
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conjunto inmutable de llaves JWT: con qué se firma y con qué se verifica
+ * - Cada llave tiene un kid; la verificación la busca en O(1) por el kid del header
+ * - HS256 y ES256 conviven durante la migración
+ * - Solo las llaves públicas (ES256) se exponen en el JWKS
+ */
+@Getter
+public class JwtKeySet {
+
+    private final SignatureAlgorithm signingAlgorithm;
+    private final Key signingKey;
+    private final String signingKeyId;
+    private final Map<String, VerificationKey> verificationKeys;
+    private final Key legacyHmacKey; // tokens emitidos antes de tener kid, null si ya no se aceptan
+    private final List<Map<String, Object>> jwks;
+
+    public JwtKeySet(SignatureAlgorithm signingAlgorithm, Key signingKey, String signingKeyId,
+                     Map<String, VerificationKey> verificationKeys, Key legacyHmacKey) {
+        this.signingAlgorithm = signingAlgorithm;
+        this.signingKey = signingKey;
+        this.signingKeyId = signingKeyId;
+        this.verificationKeys = Map.copyOf(verificationKeys);
+        this.legacyHmacKey = legacyHmacKey;
+        this.jwks = verificationKeys.entrySet().stream()
+                .filter(entry -> entry.getValue().key() instanceof ECPublicKey)
+                .map(entry -> toJwk(entry.getKey(), (ECPublicKey) entry.getValue().key()))
+                .toList();
+    }
+
+    /**
+     * Solo HS256 con el secreto indicado (modo original)
+     */
+    public static JwtKeySet hmac(String keyId, String secret) {
+        Key hmacKey = hmacKey(secret);
+        return new JwtKeySet(SignatureAlgorithm.HS256, hmacKey, keyId,
+                Map.of(keyId, new VerificationKey(SignatureAlgorithm.HS256, hmacKey)), hmacKey);
+    }
+
+    public static JwtKeySet fromProperties(JwtProperties properties) {
+        Key hmacKey = hmacKey(properties.getHmacSecret());
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(properties.getSigningAlgorithm());
+        boolean acceptHmac = algorithm == SignatureAlgorithm.HS256 || properties.isAcceptHs256();
+
+        Map<String, VerificationKey> verificationKeys = new LinkedHashMap<>();
+        if (acceptHmac) {
+            verificationKeys.put(properties.getHmacKeyId(), new VerificationKey(SignatureAlgorithm.HS256, hmacKey));
+        }
+
+        PrivateKey ecPrivateKey = null;
+        String ecKeyId = null;
+        if (properties.getEcPublicKey() != null && !properties.getEcPublicKey().isBlank()) {
+            ECPublicKey publicKey = parseEcPublicKey(properties.getEcPublicKey());
+            ecKeyId = thumbprint(publicKey);
+            verificationKeys.put(ecKeyId, new VerificationKey(SignatureAlgorithm.ES256, publicKey));
+        }
+        if (properties.getEcPrivateKey() != null && !properties.getEcPrivateKey().isBlank()) {
+            ecPrivateKey = parseEcPrivateKey(properties.getEcPrivateKey());
+        }
+
+        if (algorithm == SignatureAlgorithm.ES256) {
+            if (ecPrivateKey == null || ecKeyId == null) {
+                throw new IllegalStateException(
+                        "rideci.jwt.signing-algorithm=ES256 requiere ec-private-key y ec-public-key");
+            }
+            return new JwtKeySet(algorithm, ecPrivateKey, ecKeyId, verificationKeys, acceptHmac ? hmacKey : null);
+        }
+        if (algorithm != SignatureAlgorithm.HS256) {
+            throw new IllegalStateException("Algoritmo de firma no soportado: " + algorithm.getValue());
+        }
+        return new JwtKeySet(algorithm, hmacKey, properties.getHmacKeyId(), verificationKeys, hmacKey);
+    }
+
+    /**
+     * Llave de verificación según el header del JWS, o null si no se reconoce
+     * El alg del header debe coincidir con el de la llave registrada para ese kid
+     */
+    public Key resolveVerificationKey(String algorithm, String keyId) {
+        if (keyId != null) {
+            VerificationKey candidate = verificationKeys.get(keyId);
+            if (candidate == null || !candidate.algorithm().getValue().equals(algorithm)) {
+                return null;
+            }
+            return candidate.key();
+        }
+        return SignatureAlgorithm.HS256.getValue().equals(algorithm) ? legacyHmacKey : null;
+    }
+
+    /**
+     * Mismas llaves y misma llave de firma (para no publicar un JWKS nuevo sin cambios)
+     * Compara también el material: una llave reemplazada bajo el mismo alias cuenta como cambio
+     */
+    public boolean sameKeysAs(JwtKeySet other) {
+        if (other == null
+                || !signingKeyId.equals(other.signingKeyId)
+                || !sameKey(signingKey, other.signingKey)
+                || !sameKey(legacyHmacKey, other.legacyHmacKey)
+                || !verificationKeys.keySet().equals(other.verificationKeys.keySet())) {
+            return false;
+        }
+        return verificationKeys.entrySet().stream().allMatch(entry -> {
+            VerificationKey theirs = other.verificationKeys.get(entry.getKey());
+            return entry.getValue().algorithm() == theirs.algorithm()
+                    && sameKey(entry.getValue().key(), theirs.key());
+        });
+    }
+
+    private static boolean sameKey(Key key, Key other) {
+        if (key == null || other == null) {
+            return key == other;
+        }
+        return key.getAlgorithm().equals(other.getAlgorithm())
+                && Arrays.equals(key.getEncoded(), other.getEncoded());
+    }
+
+    public static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ECPublicKey parseEcPublicKey(String encoded) {
+        try {
+            return (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(decodePem(encoded)));
+        } catch (GeneralSecurityException | ClassCastException e) {
+            throw new IllegalStateException("Llave pública EC inválida", e);
+        }
+    }
+
+    static PrivateKey parseEcPrivateKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePrivate(new PKCS8EncodedKeySpec(decodePem(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Llave privada EC inválida", e);
+        }
+    }
+
+    private static byte[] decodePem(String encoded) {
+        String base64 = encoded.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    /**
+     * JWK público (RFC 7517) de una llave EC P-256
+     */
+    public static Map<String, Object> toJwk(String keyId, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        jwk.put("use", "sig");
+        jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+        jwk.put("kid", keyId);
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    /**
+     * kid = thumbprint SHA-256 del JWK (RFC 7638)
+     */
+    public static String thumbprint(ECPublicKey publicKey) {
+        String canonical = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\""
+                + coordinate(publicKey.getW().getAffineX())
+                + "\",\"y\":\"" + coordinate(publicKey.getW().getAffineY()) + "\"}";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Coordenada sin signo de 32 bytes en Base64URL
+    private static String coordinate(BigInteger value) {
+        byte[] raw = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(raw.length, 32);
+        System.arraycopy(raw, raw.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    /**
+     * Llave de verificación con el algoritmo con que fue registrada
+     */
+    public record VerificationKey(SignatureAlgorithm algorithm, Key key) {
+    }
+}
@@ -0,0 +1,45 @@
+package edu.dosw.rideci.infrastructure.security;
+
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Versión reactiva de JwtAuthenticationFilter (perfil reactive)
+ * - El rol del access token se vuelve la autoridad ROLE_<rol>; sin token válido la petición sigue sin autenticar
+ * - No es @Component: WebFlux registraría el WebFilter también fuera de Spring Security
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenProviderOutPort tokenProvider;
+
+    public ReactiveJwtAuthenticationFilter(TokenProviderOutPort tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            return chain.filter(exchange);
+        }
+        return tokenProvider.verify(header.substring(BEARER.length()).trim())
+                .filter(VerifiedToken::isAccessToken)
+                .filter(token -> token.getRole() != null)
+                .map(token -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                        new UsernamePasswordAuthenticationToken(token.getSubject(), null,
+                                List.of(new SimpleGrantedAuthority("ROLE_" + token.getRole()))))))
+                .orElseGet(() -> chain.filter(exchange));
+    }
+}
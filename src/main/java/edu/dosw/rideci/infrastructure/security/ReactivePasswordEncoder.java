@@ -0,0 +1,78 @@
+package edu.dosw.rideci.infrastructure.security;
+
+import edu.dosw.rideci.exceptions.ServiceBusyException;
+import edu.dosw.rideci.infrastructure.config.PasswordProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashing de contraseñas para el perfil reactive: el event loop nunca calcula un hash
+ * - Se ejecuta en un scheduler acotado (pool-size hilos, queue-capacity tareas en espera)
+ * - Calcula con el PasswordEncoder delegante sin BoundedPasswordEncoder (como BulkPasswordHasher):
+ *   el scheduler ya es el bulkhead, pasar además por el pool del servlet solo suma otro salto de hilo
+ * - Scheduler saturado o espera mayor a wait-timeout: ServiceBusyException (503 + Retry-After), como en el perfil servlet
+ * - wait-timeout cuenta solo la espera por un hilo: un hash que ya empezó termina (como en BoundedPasswordEncoder)
+ */
+@Component
+@Profile("reactive")
+public class ReactivePasswordEncoder {
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private final PasswordEncoder delegate;
+    private final Scheduler scheduler;
+    private final Duration waitTimeout;
+    private final Duration retryAfter;
+
+    public ReactivePasswordEncoder(PasswordEncoder delegate, PasswordProperties passwordProperties) {
+        PasswordProperties.Hashing hashing = passwordProperties.getHashing();
+        this.delegate = delegate instanceof BoundedPasswordEncoder bounded ? bounded.getDelegate() : delegate;
+        this.waitTimeout = hashing.getWaitTimeout();
+        this.retryAfter = hashing.getRetryAfter();
+        this.scheduler = Schedulers.newBoundedElastic(hashing.getPoolSize(), hashing.getQueueCapacity(), "password-hash-rx");
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return offload(() -> delegate.encode(rawPassword));
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // No calcula ningún hash: se resuelve en el hilo que llama
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> Mono<T> offload(Callable<T> hashing) {
+        return Mono.defer(() -> {
+            AtomicInteger state = new AtomicInteger(QUEUED);
+            // El timeout solo dispara si la tarea sigue en cola; si ya corre, nunca emite y se espera el hash
+            Mono<Long> queueTimeout = Mono.delay(waitTimeout)
+                    .flatMap(tick -> state.compareAndSet(QUEUED, ABANDONED) ? Mono.just(tick) : Mono.never());
+            return Mono.fromCallable(() -> state.compareAndSet(QUEUED, RUNNING) ? hashing.call() : null)
+                    .subscribeOn(scheduler)
+                    .timeout(queueTimeout);
+        }).onErrorMap(e -> e instanceof RejectedExecutionException || e instanceof TimeoutException,
+                e -> new ServiceBusyException("Servicio ocupado, intenta de nuevo en unos segundos", retryAfter));
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,95 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.concurrency.AuthIoExecutor;
+import edu.dosw.rideci.infrastructure.config.AuthIoProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias para AuthIoExecutor (I/O concurrente del login)
+ */
+class AuthIoExecutorTest {
+
+    private AuthIoProperties properties;
+    private AuthIoExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        properties = new AuthIoProperties();
+        properties.setPoolSize(2);
+        properties.setQueueCapacity(1);
+        executor = new AuthIoExecutor(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should run independent calls at the same time")
+    void shouldRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> first = executor.supply(() -> awaitOther(bothStarted));
+        CompletableFuture<Boolean> second = executor.supply(() -> awaitOther(bothStarted));
+
+        // Si corrieran una después de la otra, ninguna vería a la otra empezar
+        assertThat(AuthIoExecutor.join(first)).isTrue();
+        assertThat(AuthIoExecutor.join(second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rethrow the original exception, not a CompletionException")
+    void shouldUnwrapExceptions() {
+        CompletableFuture<Boolean> failing = executor.supply(() -> {
+            throw new AuthException("El email ya está registrado");
+        });
+
+        assertThatThrownBy(() -> AuthIoExecutor.join(failing))
+                .isInstanceOf(AuthException.class)
+                .hasMessage("El email ya está registrado");
+    }
+
+    @Test
+    @DisplayName("Should run in the calling thread when the pool and the queue are full")
+    void shouldRunInCallerWhenSaturated() {
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < properties.getPoolSize() + properties.getQueueCapacity(); i++) {
+            executor.run(() -> awaitQuietly(release));
+        }
+
+        try {
+            Thread caller = Thread.currentThread();
+            CompletableFuture<Thread> overflow = executor.supply(Thread::currentThread);
+
+            assertThat(overflow).isDone();
+            assertThat(AuthIoExecutor.join(overflow)).isSameAs(caller);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static boolean awaitOther(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.exceptions.ServiceBusyException;
+import edu.dosw.rideci.infrastructure.config.PasswordProperties;
+import edu.dosw.rideci.infrastructure.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias para BoundedPasswordEncoder (bulkhead de hashing)
+ */
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final AtomicInteger hashes = new AtomicInteger();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should encode and match through the pool")
+    void shouldEncodeAndMatch() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), hashing(2, 4, Duration.ofSeconds(5)), meterRegistry);
+
+        String hash = encoder.encode("Contraseña123*");
+
+        assertThat(encoder.matches("Contraseña123*", hash)).isTrue();
+        assertThat(encoder.matches("otra", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash.duration").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), hashing(1, 1, Duration.ofSeconds(5)), meterRegistry);
+        CompletableFuture.runAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.encode("b"));
+        waitForQueuedHashes(1);
+
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(ServiceBusyException.class)
+                .satisfies(e -> assertThat(((ServiceBusyException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(3)));
+        assertThat(meterRegistry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should give up on a queued hash after the wait timeout without computing it")
+    void shouldAbandonQueuedHashOnTimeout() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), hashing(1, 4, Duration.ofMillis(100)), meterRegistry);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.encode("b")).isInstanceOf(ServiceBusyException.class);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(hashes.get()).isEqualTo(1);
+    }
+
+    private void waitForQueuedHashes(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hash.queue").gauge().value() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashes.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+
+    private static PasswordProperties.Hashing hashing(int poolSize, int queueCapacity, Duration waitTimeout) {
+        PasswordProperties.Hashing hashing = new PasswordProperties.Hashing();
+        hashing.setPoolSize(poolSize);
+        hashing.setQueueCapacity(queueCapacity);
+        hashing.setWaitTimeout(waitTimeout);
+        hashing.setRetryAfter(Duration.ofSeconds(3));
+        return hashing;
+    }
+}
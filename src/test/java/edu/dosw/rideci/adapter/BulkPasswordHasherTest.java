@@ -0,0 +1,70 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.config.UserImportProperties;
+import edu.dosw.rideci.infrastructure.security.BulkPasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas para BulkPasswordHasher
+ */
+class BulkPasswordHasherTest {
+
+    private BulkPasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should use a single hash thread by default")
+    void shouldDefaultToSingleThread() {
+        assertThat(new UserImportProperties().getHashPoolSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should make the caller wait for room instead of hashing on its own thread when the queue is full")
+    void shouldNotHashOnCallerThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(any())).thenAnswer(invocation -> {
+            hashingThreads.add(Thread.currentThread().getName());
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        UserImportProperties properties = new UserImportProperties();
+        properties.setHashQueueCapacity(1);
+        hasher = new BulkPasswordHasher(encoder, properties, new SimpleMeterRegistry());
+
+        // 1 en cálculo + 1 en cola; el tercero espera lugar en vez de calcular en este hilo
+        CompletableFuture<String> first = hasher.encode("a");
+        CompletableFuture<String> second = hasher.encode("b");
+        CompletableFuture<CompletableFuture<String>> third = CompletableFuture.supplyAsync(() -> hasher.encode("c"));
+
+        Thread.sleep(100);
+        assertThat(third).isNotDone();
+        release.countDown();
+
+        assertThat(CompletableFuture.allOf(first, second, third.get(5, TimeUnit.SECONDS))
+                .thenApply(done -> true).get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(hashingThreads).allMatch(name -> name.startsWith("password-import-"));
+    }
+}
@@ -0,0 +1,264 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
+import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.infrastructure.config.RedisConfig;
+import edu.dosw.rideci.infrastructure.config.UserCacheProperties;
+import edu.dosw.rideci.infrastructure.persistence.repository.CachingUserAuthRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para CachingUserAuthRepositoryAdapter (cache local + Redis con invalidación)
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CachingUserAuthRepositoryAdapterTest {
+
+    private static final String ID = "idididid123";
+    private static final String KEY = "user-auth:" + ID;
+
+    @Mock
+    private UserAuthRepositoryOutPort delegate;
+
+    @Mock
+    private RedisTemplate<String, UserAuth> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, UserAuth> valueOperations;
+
+    @Mock
+    private StringRedisTemplate publisher;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private UserCacheProperties properties;
+    private AtomicLong nanos;
+    private CachingUserAuthRepositoryAdapter adapter;
+    private UserAuth userAuth;
+
+    @BeforeEach
+    void setup() {
+        properties = new UserCacheProperties();
+        nanos = new AtomicLong();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        adapter = new CachingUserAuthRepositoryAdapter(delegate, redisTemplate, publisher, listenerContainer,
+                properties, new SimpleMeterRegistry(), nanos::get);
+
+        userAuth = UserAuth.builder()
+                .id(ID)
+                .name("David")
+                .email("david.palacios-p@mail.escuelaing.edu.co")
+                .institutionalId(1000100282L)
+                .passwordHash("$2a$10$hashedPassword")
+                .role(Role.STUDENT)
+                .createdAt(LocalDateTime.of(2024, 11, 26, 10, 30))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should load from Mongo once and then serve from memory")
+    void shouldServeRepeatedReadsFromLocalCache() {
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(adapter.findById(ID)).get().extracting(UserAuth::getEmail).isEqualTo(userAuth.getEmail());
+        }
+
+        verify(delegate, times(1)).findById(ID);
+        verify(valueOperations, times(1)).get(KEY);
+        verify(valueOperations).set(eq(KEY), any(UserAuth.class), eq(properties.getRedisTtl()));
+    }
+
+    @Test
+    @DisplayName("Should never write the password hash to Redis nor return it from the cache")
+    void shouldNotCachePasswordHash() {
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+
+        assertThat(adapter.findById(ID)).get().extracting(UserAuth::getPasswordHash).isNull();
+        assertThat(adapter.findById(ID)).get().extracting(UserAuth::getPasswordHash).isNull();
+
+        ArgumentCaptor<UserAuth> cached = ArgumentCaptor.forClass(UserAuth.class);
+        verify(valueOperations).set(eq(KEY), cached.capture(), eq(properties.getRedisTtl()));
+        @SuppressWarnings("unchecked")
+        RedisSerializer<UserAuth> serializer = (RedisSerializer<UserAuth>) new RedisConfig()
+                .userAuthRedisTemplate(mock(RedisConnectionFactory.class)).getValueSerializer();
+        String serialized = new String(serializer.serialize(cached.getValue()), StandardCharsets.UTF_8);
+        assertThat(serialized).contains(userAuth.getEmail()).doesNotContain(userAuth.getPasswordHash());
+    }
+
+    @Test
+    @DisplayName("Should fill the local level from Redis without touching Mongo")
+    void shouldServeFromRedisOnLocalMiss() {
+        when(valueOperations.get(KEY)).thenReturn(userAuth);
+
+        assertThat(adapter.findById(ID)).isPresent();
+        assertThat(adapter.findById(ID)).isPresent();
+
+        verify(delegate, never()).findById(anyString());
+        verify(valueOperations, times(1)).get(KEY);
+    }
+
+    @Test
+    @DisplayName("Should reload after the local TTL expires")
+    void shouldExpireLocalEntries() {
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+
+        adapter.findById(ID);
+        nanos.addAndGet(properties.getLocalTtl().plus(Duration.ofSeconds(1)).toNanos());
+        adapter.findById(ID);
+
+        verify(delegate, times(2)).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers cannot alter the cached user")
+    void shouldReturnCopies() {
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+
+        adapter.findById(ID).orElseThrow().setRole(Role.ADMINISTRATOR);
+
+        assertThat(adapter.findById(ID)).get().extracting(UserAuth::getRole).isEqualTo(Role.STUDENT);
+    }
+
+    @Test
+    @DisplayName("Should evict both levels and notify replicas on update")
+    void shouldInvalidateOnUpdate() {
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+        when(delegate.update(eq(ID), any(UserAuth.class))).thenReturn(userAuth);
+        adapter.findById(ID);
+
+        adapter.update(ID, userAuth);
+        adapter.findById(ID);
+
+        verify(redisTemplate).delete(KEY);
+        verify(publisher).convertAndSend(properties.getInvalidationChannel(), ID);
+        verify(delegate, times(2)).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should evict on single-field updates")
+    void shouldInvalidateOnPasswordHashUpdate() {
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+        adapter.findById(ID);
+
+        adapter.updatePasswordHash(ID, "$2a$10$newHash");
+        adapter.findById(ID);
+
+        verify(delegate).updatePasswordHash(ID, "$2a$10$newHash");
+        verify(delegate, times(2)).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should evict the id returned by a password update by email")
+    void shouldInvalidateOnPasswordHashUpdateByEmail() {
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+        when(delegate.updatePasswordHashByEmail(userAuth.getEmail(), "$2a$10$newHash")).thenReturn(Optional.of(ID));
+        adapter.findById(ID);
+
+        assertThat(adapter.updatePasswordHashByEmail(userAuth.getEmail(), "$2a$10$newHash")).contains(ID);
+        adapter.findById(ID);
+
+        verify(redisTemplate).delete(KEY);
+        verify(delegate, times(2)).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should resolve the id before deleting by email")
+    void shouldInvalidateOnDeleteByEmail() {
+        when(delegate.findCredentialsByEmail(userAuth.getEmail()))
+                .thenReturn(Optional.of(UserCredentials.builder().id(ID).email(userAuth.getEmail()).build()));
+
+        adapter.deleteByEmail(userAuth.getEmail());
+
+        verify(delegate).deleteByEmail(userAuth.getEmail());
+        verify(redisTemplate).delete(KEY);
+        verify(publisher).convertAndSend(properties.getInvalidationChannel(), ID);
+    }
+
+    @Test
+    @DisplayName("Should invalidate every deleted id with a single Redis DEL on bulk delete")
+    void shouldInvalidateOnDeleteAllByEmail() {
+        Set<String> emails = Set.of(userAuth.getEmail(), "otro@mail.escuelaing.edu.co");
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+        when(delegate.deleteAllByEmail(emails)).thenReturn(List.of(ID, "otroId"));
+        adapter.findById(ID);
+
+        assertThat(adapter.deleteAllByEmail(emails)).containsExactly(ID, "otroId");
+        adapter.findById(ID);
+
+        verify(redisTemplate).delete(List.of(KEY, "user-auth:otroId"));
+        verify(publisher).convertAndSend(properties.getInvalidationChannel(), ID);
+        verify(publisher).convertAndSend(properties.getInvalidationChannel(), "otroId");
+        verify(delegate, times(2)).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should evict the local level when another replica publishes an invalidation")
+    void shouldInvalidateOnPubSubMessage() {
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+        adapter.findById(ID);
+
+        adapter.onMessage(new DefaultMessage(properties.getInvalidationChannel().getBytes(StandardCharsets.UTF_8),
+                ID.getBytes(StandardCharsets.UTF_8)), null);
+        adapter.findById(ID);
+
+        verify(delegate, times(2)).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should fall back to Mongo when Redis is down")
+    void shouldFallBackWhenRedisFails() {
+        when(valueOperations.get(KEY)).thenThrow(new IllegalStateException("redis caído"));
+        doThrow(new IllegalStateException("redis caído")).when(valueOperations)
+                .set(anyString(), any(UserAuth.class), any(Duration.class));
+        when(delegate.findById(ID)).thenReturn(Optional.of(userAuth));
+
+        assertThat(adapter.findById(ID)).isPresent();
+        verify(delegate).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should not cache users that do not exist")
+    void shouldNotCacheMisses() {
+        when(delegate.findById("noExiste")).thenReturn(Optional.empty());
+
+        assertThat(adapter.findById("noExiste")).isEmpty();
+        assertThat(adapter.findById("noExiste")).isEmpty();
+
+        verify(delegate, times(2)).findById("noExiste");
+        verify(valueOperations, never()).set(anyString(), any(UserAuth.class), any(Duration.class));
+    }
+}
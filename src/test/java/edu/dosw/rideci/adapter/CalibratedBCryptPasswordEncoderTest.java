@@ -0,0 +1,53 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.config.PasswordProperties;
+import edu.dosw.rideci.infrastructure.security.CalibratedBCryptPasswordEncoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para CalibratedBCryptPasswordEncoder
+ */
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Should ask for a rehash only when the stored cost is lower")
+    void shouldUpgradeOnlyLowerStrength() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("clave"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("clave"))).isFalse();
+        assertThat(encoder.upgradeEncoding(encoder.encode("clave"))).isFalse();
+        assertThat(encoder.upgradeEncoding("{noop}clave")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep matching hashes created with another cost")
+    void shouldMatchOtherStrengths() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertThat(encoder.matches("clave", new BCryptPasswordEncoder(4).encode("clave"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured bounds when calibrating")
+    void shouldCalibrateWithinBounds() {
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(Duration.ZERO, 4, 6)).isEqualTo(4);
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(Duration.ofMinutes(1), 4, 6)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should use the fixed strength without calibrating")
+    void shouldUseFixedStrength() {
+        PasswordProperties.Bcrypt bcrypt = new PasswordProperties.Bcrypt();
+        bcrypt.setStrength(7);
+
+        assertThat(CalibratedBCryptPasswordEncoder.fromProperties(bcrypt).getStrength()).isEqualTo(7);
+    }
+}
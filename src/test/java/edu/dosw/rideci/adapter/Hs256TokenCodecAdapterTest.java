@@ -0,0 +1,124 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.adapters.Hs256TokenCodecAdapter;
+import edu.dosw.rideci.infrastructure.adapters.JWTTokenProviderAdapter;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.security.JwtKeyRing;
+import edu.dosw.rideci.infrastructure.security.JwtKeySet;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para Hs256TokenCodecAdapter (mismos bytes que la ruta JJWT)
+ */
+class Hs256TokenCodecAdapterTest {
+
+    private static final String EMAIL = "david.palacios-p@mail.escuelaing.edu.co";
+
+    private Clock clock;
+    private JwtKeyRing keyRing;
+    private JWTTokenProviderAdapter jjwtProvider;
+    private Hs256TokenCodecAdapter fastProvider;
+
+    @BeforeEach
+    void setup() {
+        clock = Clock.fixed(Instant.parse("2025-03-04T05:06:07.123456789Z"), ZoneId.of("America/Bogota"));
+        keyRing = JwtKeyRing.fixed(JwtKeySet.hmac(JwtProperties.DEFAULT_HMAC_KEY_ID, JwtProperties.DEFAULT_HMAC_SECRET));
+        jjwtProvider = new JWTTokenProviderAdapter(keyRing, clock);
+        fastProvider = new Hs256TokenCodecAdapter(keyRing, jjwtProvider, clock);
+    }
+
+    @Test
+    @DisplayName("Should produce the same access token bytes as JJWT")
+    void shouldMatchJjwtAccessToken() {
+        String expected = jjwtProvider.generateAccessToken(EMAIL, "David Palacios", "STUDENT", 1000100282L);
+
+        assertThat(fastProvider.generateAccessToken(EMAIL, "David Palacios", "STUDENT", 1000100282L))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should escape names exactly like JJWT")
+    void shouldMatchJjwtWithSpecialCharacters() {
+        String name = "José \"Pepe\" Núñez\\\n\t\u0001 €😀";
+
+        assertThat(fastProvider.generateAccessToken(EMAIL, name, "ADMINISTRATOR", 7L))
+                .isEqualTo(jjwtProvider.generateAccessToken(EMAIL, name, "ADMINISTRATOR", 7L));
+    }
+
+    @Test
+    @DisplayName("Should omit null claims like JJWT")
+    void shouldMatchJjwtWithNullClaims() {
+        assertThat(fastProvider.generateAccessToken(EMAIL, null, "STUDENT", null))
+                .isEqualTo(jjwtProvider.generateAccessToken(EMAIL, null, "STUDENT", null));
+    }
+
+    @Test
+    @DisplayName("Should produce the same createdAt format for whole seconds and minutes")
+    void shouldMatchJjwtOnWholeMinutes() {
+        Clock wholeMinute = Clock.fixed(Instant.parse("2025-12-31T23:59:00Z"), ZoneId.of("UTC"));
+        JWTTokenProviderAdapter jjwt = new JWTTokenProviderAdapter(keyRing, wholeMinute);
+        Hs256TokenCodecAdapter fast = new Hs256TokenCodecAdapter(keyRing, jjwt, wholeMinute);
+
+        assertThat(fast.generateAccessToken(EMAIL, "A", "DRIVER", 1L))
+                .isEqualTo(jjwt.generateAccessToken(EMAIL, "A", "DRIVER", 1L));
+    }
+
+    @Test
+    @DisplayName("Should produce the same refresh token bytes as JJWT")
+    void shouldMatchJjwtRefreshToken() {
+        String token = fastProvider.generateRefreshToken(EMAIL, 1000100282L);
+
+        assertThat(token).isEqualTo(jjwtProvider.generateRefreshToken(EMAIL, 1000100282L));
+        assertThat(fastProvider.isRefreshToken(token)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should produce the same compact access token bytes as JJWT")
+    void shouldMatchJjwtCompactAccessToken() {
+        JwtProperties properties = new JwtProperties();
+        properties.setClaimProfile(JwtProperties.ClaimProfile.COMPACT);
+        JWTTokenProviderAdapter jjwt = new JWTTokenProviderAdapter(keyRing, properties, clock);
+        Hs256TokenCodecAdapter fast = new Hs256TokenCodecAdapter(keyRing, jjwt, clock);
+
+        assertThat(fast.generateAccessToken(EMAIL, "David Palacios", "PROFESSOR", 1000100282L))
+                .isEqualTo(jjwt.generateAccessToken(EMAIL, "David Palacios", "PROFESSOR", 1000100282L));
+
+        properties.setIncludeName(false);
+        jjwt = new JWTTokenProviderAdapter(keyRing, properties, clock);
+        fast = new Hs256TokenCodecAdapter(keyRing, jjwt, clock);
+        assertThat(fast.generateAccessToken(EMAIL, "David Palacios", "PROFESSOR", 1000100282L))
+                .isEqualTo(jjwt.generateAccessToken(EMAIL, "David Palacios", "PROFESSOR", 1000100282L));
+    }
+
+    @Test
+    @DisplayName("Should fall back to JJWT when signing with ES256")
+    void shouldFallBackForEs256() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtProperties properties = new JwtProperties();
+        properties.setSigningAlgorithm("ES256");
+        properties.setEcPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        properties.setEcPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        JwtKeyRing es256Ring = JwtKeyRing.fixed(JwtKeySet.fromProperties(properties));
+        Hs256TokenCodecAdapter provider = new Hs256TokenCodecAdapter(es256Ring,
+                new JWTTokenProviderAdapter(es256Ring, clock), clock);
+
+        String token = provider.generateAccessToken(EMAIL, "A", "STUDENT", 1L);
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+
+        assertThat(header).contains("\"alg\":\"ES256\"");
+        assertThat(provider.getUserIdFromToken(token)).isEqualTo(1L);
+    }
+}
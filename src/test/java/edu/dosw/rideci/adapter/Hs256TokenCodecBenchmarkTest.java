@@ -0,0 +1,74 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.infrastructure.adapters.Hs256TokenCodecAdapter;
+import edu.dosw.rideci.infrastructure.adapters.JWTTokenProviderAdapter;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.security.JwtKeyRing;
+import edu.dosw.rideci.infrastructure.security.JwtKeySet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comparación de rendimiento del login (access + refresh) entre JJWT y el codec HS256
+ * Solo corre con: mvn test -Dtest=Hs256TokenCodecBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class Hs256TokenCodecBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 500_000;
+
+    @Test
+    @DisplayName("Benchmark: tokens per second and bytes allocated per login")
+    void compareTokenCodecs() {
+        JwtKeyRing keyRing = JwtKeyRing.fixed(
+                JwtKeySet.hmac(JwtProperties.DEFAULT_HMAC_KEY_ID, JwtProperties.DEFAULT_HMAC_SECRET));
+        JWTTokenProviderAdapter jjwt = new JWTTokenProviderAdapter(keyRing);
+        Hs256TokenCodecAdapter fast = new Hs256TokenCodecAdapter(keyRing, jjwt);
+
+        Result jjwtResult = measure(jjwt);
+        Result fastResult = measure(fast);
+
+        System.out.printf("JJWT : %,.0f logins/s, %,d bytes/login%n", jjwtResult.opsPerSecond(), jjwtResult.bytesPerOp());
+        System.out.printf("HS256: %,.0f logins/s, %,d bytes/login%n", fastResult.opsPerSecond(), fastResult.bytesPerOp());
+
+        assertThat(fastResult.bytesPerOp()).isLessThan(jjwtResult.bytesPerOp());
+    }
+
+    private Result measure(TokenProviderOutPort provider) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += login(provider, i);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += login(provider, i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        assertThat(sink).isPositive();
+        return new Result(ITERATIONS * 1e9 / elapsed, bytes / ITERATIONS);
+    }
+
+    // Lo mismo que emite AuthService.login: un access y un refresh token
+    private static int login(TokenProviderOutPort provider, long userId) {
+        String access = provider.generateAccessToken("user" + userId + "@mail.escuelaing.edu.co",
+                "Usuario de Prueba", "STUDENT", userId);
+        String refresh = provider.generateRefreshToken("user" + userId + "@mail.escuelaing.edu.co", userId);
+        return access.length() + refresh.length();
+    }
+
+    private record Result(double opsPerSecond, long bytesPerOp) {
+    }
+}
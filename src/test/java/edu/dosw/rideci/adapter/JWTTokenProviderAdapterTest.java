@@ -1,12 +1,17 @@
 package edu.dosw.rideci.adapter;
 
+import edu.dosw.rideci.domain.models.VerifiedToken;
 import edu.dosw.rideci.infrastructure.adapters.JWTTokenProviderAdapter;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import io.jsonwebtoken.MalformedJwtException;
@@ -17,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Date;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -411,4 +417,145 @@ class JWTTokenProviderAdapterTest {
 
         assertThat(userId).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should verify access token once and expose its data")
+    void shouldVerifyAccessToken() {
+        String token = jwtTokenProvider.generateAccessToken(testEmail, testName, testRole, testUserId);
+
+        Optional<VerifiedToken> verified = jwtTokenProvider.verify(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().getSubject()).isEqualTo(testEmail);
+        assertThat(verified.get().getUserId()).isEqualTo(testUserId);
+        assertThat(verified.get().getRole()).isEqualTo(testRole);
+        assertThat(verified.get().getName()).isEqualTo(testName);
+        assertThat(verified.get().isAccessToken()).isTrue();
+        assertThat(verified.get().isRefreshToken()).isFalse();
+        assertThat(verified.get().getExpiresAt()).isAfter(new Date());
+    }
+
+    @Test
+    @DisplayName("Should verify refresh token once and expose its type")
+    void shouldVerifyRefreshToken() {
+        String token = jwtTokenProvider.generateRefreshToken(testEmail, testUserId);
+
+        Optional<VerifiedToken> verified = jwtTokenProvider.verify(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().isRefreshToken()).isTrue();
+        assertThat(verified.get().getRole()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return empty verification for invalid tokens")
+    void shouldReturnEmptyVerificationForInvalidTokens() {
+        String validToken = jwtTokenProvider.generateAccessToken(testEmail, testName, testRole, testUserId);
+
+        assertThat(jwtTokenProvider.verify(validToken + "corrupted")).isEmpty();
+        assertThat(jwtTokenProvider.verify("invalid.token.here")).isEmpty();
+        assertThat(jwtTokenProvider.verify(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should sign with ES256 and keep accepting HS256 tokens during migration")
+    void shouldSignWithEs256AndAcceptHs256() {
+        JWTTokenProviderAdapter es256Provider = new JWTTokenProviderAdapter(es256Properties());
+        String hs256Token = jwtTokenProvider.generateAccessToken(testEmail, testName, testRole, testUserId);
+
+        String es256Token = es256Provider.generateAccessToken(testEmail, testName, testRole, testUserId);
+
+        assertThat(es256Provider.verify(es256Token)).isPresent();
+        assertThat(es256Provider.verify(hs256Token)).isPresent();
+        assertThat(jwtTokenProvider.verify(es256Token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject HS256 tokens when migration is finished")
+    void shouldRejectHs256WhenNotAccepted() {
+        JwtProperties properties = es256Properties();
+        properties.setAcceptHs256(false);
+        JWTTokenProviderAdapter es256Provider = new JWTTokenProviderAdapter(properties);
+        String hs256Token = jwtTokenProvider.generateAccessToken(testEmail, testName, testRole, testUserId);
+
+        assertThat(es256Provider.verify(hs256Token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should publish ES256 public key as JWK with the token kid")
+    void shouldPublishEs256PublicJwk() {
+        JWTTokenProviderAdapter es256Provider = new JWTTokenProviderAdapter(es256Properties());
+        String token = es256Provider.generateRefreshToken(testEmail, testUserId);
+        String headerJson = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+
+        List<Map<String, Object>> jwks = es256Provider.getPublicJwks();
+
+        assertThat(jwks).hasSize(1);
+        assertThat(jwks.get(0)).containsEntry("kty", "EC").containsEntry("crv", "P-256").containsEntry("alg", "ES256");
+        assertThat(jwks.get(0)).doesNotContainKey("d");
+        assertThat(headerJson).contains("\"kid\":\"" + jwks.get(0).get("kid") + "\"");
+        assertThat(jwtTokenProvider.getPublicJwks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should generate compact access token without createdAt and with role code")
+    void shouldGenerateCompactAccessToken() {
+        JwtProperties properties = new JwtProperties();
+        properties.setClaimProfile(JwtProperties.ClaimProfile.COMPACT);
+        JWTTokenProviderAdapter compactProvider = new JWTTokenProviderAdapter(properties);
+
+        String token = compactProvider.generateAccessToken(testEmail, testName, testRole, testUserId);
+        Claims claims = compactProvider.getClaims(token);
+
+        assertThat(claims.get("uid", Long.class)).isEqualTo(testUserId);
+        assertThat(claims).containsEntry("r", "S")
+                .containsEntry("n", testName).containsEntry("t", "A");
+        assertThat(claims).doesNotContainKeys("role", "name", "createdAt", "userId", "type");
+        assertThat(compactProvider.getUserIdFromToken(token)).isEqualTo(testUserId);
+        assertThat(compactProvider.isAccessToken(token)).isTrue();
+
+        VerifiedToken verified = compactProvider.verify(token).orElseThrow();
+        assertThat(verified.getRole()).isEqualTo(testRole);
+        assertThat(verified.getName()).isEqualTo(testName);
+        assertThat(verified.getUserId()).isEqualTo(testUserId);
+    }
+
+    @Test
+    @DisplayName("Should leave the name out of compact tokens when configured")
+    void shouldOmitNameInCompactProfile() {
+        JwtProperties properties = new JwtProperties();
+        properties.setClaimProfile(JwtProperties.ClaimProfile.COMPACT);
+        properties.setIncludeName(false);
+        JWTTokenProviderAdapter compactProvider = new JWTTokenProviderAdapter(properties);
+
+        String token = compactProvider.generateAccessToken(testEmail, testName, "ADMINISTRATOR", testUserId);
+
+        assertThat(compactProvider.getClaims(token)).doesNotContainKey("n");
+        assertThat(compactProvider.verify(token).orElseThrow().getRole()).isEqualTo("ADMINISTRATOR");
+        assertThat(token.length())
+                .isLessThan(jwtTokenProvider.generateAccessToken(testEmail, testName, "ADMINISTRATOR", testUserId).length());
+    }
+
+    @Test
+    @DisplayName("Should keep reading standard tokens after switching to the compact profile")
+    void shouldReadStandardTokensWithCompactProfile() {
+        JwtProperties properties = new JwtProperties();
+        properties.setClaimProfile(JwtProperties.ClaimProfile.COMPACT);
+        JWTTokenProviderAdapter compactProvider = new JWTTokenProviderAdapter(properties);
+
+        String standardToken = jwtTokenProvider.generateAccessToken(testEmail, testName, testRole, testUserId);
+
+        assertThat(compactProvider.getUserIdFromToken(standardToken)).isEqualTo(testUserId);
+        assertThat(compactProvider.isAccessToken(standardToken)).isTrue();
+        assertThat(compactProvider.verify(standardToken).orElseThrow().getRole()).isEqualTo(testRole);
+    }
+
+    private JwtProperties es256Properties() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtProperties properties = new JwtProperties();
+        properties.setSigningAlgorithm("ES256");
+        properties.setEcPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        properties.setEcPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        return properties;
+    }
+}
@@ -0,0 +1,216 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.adapters.JWTTokenProviderAdapter;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.security.JwtKeyRing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para JwtKeyRing (rotación por kid desde keystore)
+ */
+class JwtKeyRingTest {
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    @TempDir
+    Path tempDir;
+
+    private Path keystorePath;
+    private JwtProperties properties;
+    private MutableClock clock;
+    private JwtKeyRing keyRing;
+
+    @BeforeEach
+    void setup() throws Exception {
+        keystorePath = tempDir.resolve("jwt-keys.p12");
+        writeKeystore(Instant.parse("2025-01-01T00:00:00Z"), "k1");
+
+        properties = new JwtProperties();
+        properties.getKeystore().setPath(keystorePath.toString());
+        properties.getKeystore().setPassword(new String(PASSWORD));
+        properties.getKeystore().setActiveKeyId("k1");
+        clock = new MutableClock(Instant.now());
+        keyRing = new JwtKeyRing(properties, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyRing.close();
+    }
+
+    @Test
+    @DisplayName("Should stamp the active kid on every token")
+    void shouldStampActiveKid() {
+        JWTTokenProviderAdapter provider = new JWTTokenProviderAdapter(keyRing);
+
+        String token = provider.generateAccessToken("a@mail.escuelaing.edu.co", "A", "STUDENT", 1L);
+
+        assertThat(header(token)).contains("\"kid\":\"k1\"");
+        assertThat(provider.verify(token)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should sign with the new key and keep validating the previous one after rotation")
+    void shouldKeepPreviousKeyAfterRotation() throws Exception {
+        JWTTokenProviderAdapter provider = new JWTTokenProviderAdapter(keyRing);
+        String oldToken = provider.generateRefreshToken("a@mail.escuelaing.edu.co", 1L);
+
+        writeKeystore(Instant.parse("2025-01-01T00:01:00Z"), "k2");
+        properties.getKeystore().setActiveKeyId("k2");
+        assertThat(keyRing.reload()).isTrue();
+        String newToken = provider.generateRefreshToken("a@mail.escuelaing.edu.co", 1L);
+
+        assertThat(header(newToken)).contains("\"kid\":\"k2\"");
+        assertThat(provider.verify(newToken)).isPresent();
+        assertThat(provider.verify(oldToken)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should drop a retired key once its retention has passed")
+    void shouldDropRetiredKeyAfterRetention() throws Exception {
+        JWTTokenProviderAdapter provider = new JWTTokenProviderAdapter(keyRing);
+        String oldToken = provider.generateAccessToken("a@mail.escuelaing.edu.co", "A", "STUDENT", 1L);
+
+        writeKeystore(Instant.parse("2025-01-01T00:01:00Z"), "k2");
+        properties.getKeystore().setActiveKeyId("k2");
+        keyRing.reload();
+        clock.advance(properties.getRetiredKeyRetention().plus(Duration.ofMinutes(1)));
+        keyRing.reload();
+
+        assertThat(keyRing.current().getVerificationKeys()).containsOnlyKeys("k2");
+        assertThat(provider.verify(oldToken)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep validating a retired key after a restart")
+    void shouldKeepRetiredKeyAcrossRestart() throws Exception {
+        JWTTokenProviderAdapter provider = new JWTTokenProviderAdapter(keyRing);
+        String oldToken = provider.generateRefreshToken("a@mail.escuelaing.edu.co", 1L);
+
+        writeKeystore(Instant.parse("2025-01-01T00:01:00Z"), "k2");
+        properties.getKeystore().setActiveKeyId("k2");
+        keyRing.reload();
+        keyRing.close();
+
+        keyRing = new JwtKeyRing(properties, clock);
+
+        assertThat(keyRing.current().getVerificationKeys()).containsOnlyKeys("k1", "k2");
+        assertThat(new JWTTokenProviderAdapter(keyRing).verify(oldToken)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reject new key material under an existing alias and keep verifying issued tokens")
+    void shouldRejectReusedAlias() throws Exception {
+        JWTTokenProviderAdapter provider = new JWTTokenProviderAdapter(keyRing);
+        String oldToken = provider.generateAccessToken("a@mail.escuelaing.edu.co", "A", "STUDENT", 1L);
+
+        writeKeystoreWithSecret(Instant.parse("2025-01-01T00:01:00Z"), "otro-secreto", "k1");
+
+        assertThat(keyRing.reload()).isFalse();
+        assertThat(keyRing.current().getSigningKeyId()).isEqualTo("k1");
+        assertThat(provider.verify(oldToken)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reject a retired alias that comes back with other key material")
+    void shouldRejectReusedRetiredAlias() throws Exception {
+        JWTTokenProviderAdapter provider = new JWTTokenProviderAdapter(keyRing);
+        String oldToken = provider.generateRefreshToken("a@mail.escuelaing.edu.co", 1L);
+        writeKeystore(Instant.parse("2025-01-01T00:01:00Z"), "k2");
+        properties.getKeystore().setActiveKeyId("k2");
+        keyRing.reload();
+
+        writeKeystoreWithSecret(Instant.parse("2025-01-01T00:02:00Z"), "otro-secreto", "k1", "k2");
+
+        assertThat(keyRing.reload()).isFalse();
+        assertThat(provider.verify(oldToken)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should accept a rewritten keystore that keeps the same material under each alias")
+    void shouldAcceptRewrittenKeystoreWithSameKeys() throws Exception {
+        writeKeystore(Instant.parse("2025-01-01T00:01:00Z"), "k1", "k2");
+
+        assertThat(keyRing.reload()).isTrue();
+        assertThat(keyRing.current().getVerificationKeys()).containsOnlyKeys("k1", "k2");
+    }
+
+    @Test
+    @DisplayName("Should keep current keys when the keystore cannot be read")
+    void shouldKeepKeysWhenKeystoreIsCorrupted() throws Exception {
+        Files.writeString(keystorePath, "not a keystore");
+        Files.setLastModifiedTime(keystorePath, FileTime.from(Instant.parse("2025-01-01T00:02:00Z")));
+
+        assertThat(keyRing.reload()).isFalse();
+        assertThat(keyRing.current().getSigningKeyId()).isEqualTo("k1");
+    }
+
+    private void writeKeystore(Instant modifiedAt, String... aliases) throws Exception {
+        writeKeystoreWithSecret(modifiedAt, "secreto-de-pruebas", aliases);
+    }
+
+    private void writeKeystoreWithSecret(Instant modifiedAt, String secretPrefix, String... aliases) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, PASSWORD);
+        for (String alias : aliases) {
+            byte[] secret = (secretPrefix + "-para-" + alias + "-con-256-bits-minimo").getBytes(StandardCharsets.UTF_8);
+            keyStore.setEntry(alias, new KeyStore.SecretKeyEntry(new SecretKeySpec(secret, "HmacSHA256")),
+                    new KeyStore.PasswordProtection(PASSWORD));
+        }
+        try (OutputStream out = Files.newOutputStream(keystorePath)) {
+            keyStore.store(out, PASSWORD);
+        }
+        Files.setLastModifiedTime(keystorePath, FileTime.from(modifiedAt));
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
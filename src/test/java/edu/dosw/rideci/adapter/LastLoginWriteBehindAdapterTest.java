@@ -0,0 +1,161 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.config.LastLoginProperties;
+import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
+import edu.dosw.rideci.infrastructure.persistence.repository.LastLoginWriteBehindAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para LastLoginWriteBehindAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LastLoginWriteBehindAdapterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 11, 26, 10, 30, 0);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private LastLoginProperties properties;
+    private LastLoginWriteBehindAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        properties = new LastLoginProperties();
+        properties.setFlushInterval(Duration.ofHours(1));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserAuthDocument.class)).thenReturn(bulkOperations);
+        adapter = new LastLoginWriteBehindAdapter(mongoTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.close();
+    }
+
+    @Test
+    @DisplayName("Should coalesce several logins of the same user into one update with the latest date")
+    void shouldCoalesceLogins() {
+        adapter.recordLogin("user-1", NOW.plusSeconds(5));
+        adapter.recordLogin("user-1", NOW);
+        adapter.recordLogin("user-1", NOW.plusSeconds(2));
+
+        assertThat(adapter.flush()).isEqualTo(1);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(1)).updateOne(any(Query.class), update.capture());
+        assertThat(update.getValue().getUpdateObject()).containsKey("$max");
+        assertThat(update.getValue().getUpdateObject().get("$max", org.bson.Document.class).get("lastLogin"))
+                .isEqualTo(NOW.plusSeconds(5));
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Should not touch Mongo when nothing is pending")
+    void shouldSkipEmptyFlush() {
+        assertThat(adapter.flush()).isZero();
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+    }
+
+    @Test
+    @DisplayName("Should keep pending logins when the bulk write fails")
+    void shouldRequeueOnFailure() {
+        when(bulkOperations.execute()).thenThrow(new RuntimeException("Mongo caído")).thenReturn(null);
+        adapter.recordLogin("user-1", NOW);
+        adapter.recordLogin("user-2", NOW);
+
+        assertThatThrownBy(() -> adapter.flush()).isInstanceOf(IllegalStateException.class);
+        assertThat(adapter.flush()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should flush before the interval when the batch size is reached")
+    void shouldFlushOnBatchSize() {
+        adapter.close();
+        properties.setMaxBatchSize(2);
+        adapter = new LastLoginWriteBehindAdapter(mongoTemplate, properties, new SimpleMeterRegistry());
+
+        adapter.recordLogin("user-1", NOW);
+        adapter.recordLogin("user-2", NOW);
+
+        verify(bulkOperations, timeout(2000)).execute();
+    }
+
+    @Test
+    @DisplayName("Should drain pending logins on shutdown")
+    void shouldDrainOnClose() {
+        adapter.recordLogin("user-1", NOW);
+
+        adapter.close();
+
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    @DisplayName("Should split the pending logins into bulk writes of at most max batch size")
+    void shouldChunkBulkWrites() {
+        adapter.close();
+        properties.setMaxBatchSize(2);
+        adapter = new LastLoginWriteBehindAdapter(mongoTemplate, properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 5; i++) {
+            adapter.recordLogin("user-" + i, NOW);
+        }
+        adapter.flush();
+
+        verify(bulkOperations, timeout(2000).times(5)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations, atLeast(3)).execute();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest pending logins above max pending and count them")
+    void shouldDropOldestAboveMaxPending() {
+        adapter.close();
+        properties.setMaxPending(10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        adapter = new LastLoginWriteBehindAdapter(mongoTemplate, properties, registry);
+
+        for (int i = 0; i < 11; i++) {
+            adapter.recordLogin("user-" + i, NOW.plusSeconds(i));
+        }
+
+        assertThat(registry.get("auth.last_login.dropped").counter().count()).isEqualTo(2);
+        assertThat(adapter.flush()).isEqualTo(9);
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations, times(9)).updateOne(queries.capture(), any(Update.class));
+        List<Object> ids = queries.getAllValues().stream().map(query -> query.getQueryObject().get("_id")).toList();
+        assertThat(ids).doesNotContain("user-0", "user-1").contains("user-2", "user-10");
+    }
+}
@@ -0,0 +1,139 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.application.events.UserEvent;
+import edu.dosw.rideci.application.port.out.EventPublisher;
+import edu.dosw.rideci.infrastructure.config.OutboxProperties;
+import edu.dosw.rideci.infrastructure.persistence.entity.OutboxEventDocument;
+import edu.dosw.rideci.infrastructure.persistence.repository.OutboxRelay;
+import edu.dosw.rideci.infrastructure.persistence.repository.OutboxRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para OutboxRelay (publicación por lotes con confirms)
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final String CLAIM = "claim-1";
+
+    @Mock
+    private OutboxRepositoryAdapter outbox;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    private OutboxProperties properties;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setup() {
+        properties = new OutboxProperties();
+        relay = new OutboxRelay(outbox, eventPublisher, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should publish the whole batch before waiting for the confirms and mark it sent")
+    void shouldPublishBatchWithConfirms() {
+        List<OutboxEventDocument> batch = List.of(event("e1", "a@mail.escuelaing.edu.co"), event("e2", "b@mail.escuelaing.edu.co"));
+        when(outbox.claimBatch(properties.getBatchSize(), properties.getLease())).thenReturn(batch);
+        when(eventPublisher.publishAsync(any(), eq("auth.user.create")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(relay.relayOnce()).isEqualTo(2);
+
+        verify(eventPublisher).publishAsync(batch.get(0).getPayload(), "auth.user.create");
+        verify(eventPublisher).publishAsync(batch.get(1).getPayload(), "auth.user.create");
+        verify(eventPublisher, never()).publish(any(), anyString());
+        verify(outbox).markSent(List.of("e1", "e2"), CLAIM);
+        verify(outbox, never()).markFailed(any(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should leave the event pending for a retry when the broker does not confirm")
+    void shouldRetryWhenConfirmsFail() {
+        when(outbox.claimBatch(properties.getBatchSize(), properties.getLease()))
+                .thenReturn(List.of(event("e1", "a@mail.escuelaing.edu.co")));
+        when(eventPublisher.publishAsync(any(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+
+        assertThat(relay.relayOnce()).isZero();
+
+        verify(outbox).markFailed(List.of("e1"), CLAIM, "nack", properties.getRetryBackoff());
+        verify(outbox, never()).markSent(any(), anyString());
+        verify(outbox, never()).markParked(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should mark the confirmed events sent and retry only the one the broker rejected")
+    void shouldIsolateFailingEvent() {
+        OutboxEventDocument ok = event("e1", "a@mail.escuelaing.edu.co");
+        OutboxEventDocument rejected = event("e2", "b@mail.escuelaing.edu.co");
+        OutboxEventDocument thrown = event("e3", "c@mail.escuelaing.edu.co");
+        when(outbox.claimBatch(properties.getBatchSize(), properties.getLease())).thenReturn(List.of(ok, rejected, thrown));
+        when(eventPublisher.publishAsync(ok.getPayload(), "auth.user.create"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(eventPublisher.publishAsync(rejected.getPayload(), "auth.user.create"))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+        when(eventPublisher.publishAsync(thrown.getPayload(), "auth.user.create"))
+                .thenThrow(new AmqpException("canal cerrado"));
+
+        assertThat(relay.relayOnce()).isEqualTo(1);
+
+        verify(outbox).markSent(List.of("e1"), CLAIM);
+        verify(outbox).markFailed(List.of("e2"), CLAIM, "nack", properties.getRetryBackoff());
+        verify(outbox).markFailed(List.of("e3"), CLAIM, "canal cerrado", properties.getRetryBackoff());
+    }
+
+    @Test
+    @DisplayName("Should park an event that fails on its last attempt instead of retrying it forever")
+    void shouldParkAfterMaxAttempts() {
+        OutboxEventDocument exhausted = event("e1", "a@mail.escuelaing.edu.co");
+        exhausted.setAttempts(properties.getMaxAttempts() - 1);
+        when(outbox.claimBatch(properties.getBatchSize(), properties.getLease())).thenReturn(List.of(exhausted));
+        when(eventPublisher.publishAsync(any(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+
+        assertThat(relay.relayOnce()).isZero();
+
+        verify(outbox).markParked(List.of("e1"), CLAIM, "nack");
+        verify(outbox, never()).markFailed(any(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should not publish anything when nothing is pending")
+    void shouldSkipEmptyBatch() {
+        when(outbox.claimBatch(properties.getBatchSize(), properties.getLease())).thenReturn(List.of());
+
+        assertThat(relay.relayOnce()).isZero();
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static OutboxEventDocument event(String id, String email) {
+        return OutboxEventDocument.builder()
+                .id(id)
+                .routingKey("auth.user.create")
+                .payload(UserEvent.builder().email(email).build())
+                .status(OutboxEventDocument.PENDING)
+                .claimId(CLAIM)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.config.PasswordConfig;
+import edu.dosw.rideci.infrastructure.config.PasswordProperties;
+import edu.dosw.rideci.infrastructure.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias del PasswordEncoder de PasswordConfig ({id} + migración en el login)
+ */
+class PasswordEncoderMigrationTest {
+
+    private static final String PASSWORD = "Contraseña123*";
+
+    private PasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder instanceof BoundedPasswordEncoder bounded) {
+            bounded.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep validating legacy unprefixed BCrypt hashes and ask to migrate them")
+    void shouldValidateLegacyBcryptHashes() {
+        encoder = encoder("argon2");
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertThat(encoder.matches(PASSWORD, legacyHash)).isTrue();
+        assertThat(encoder.matches("otra", legacyHash)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should create prefixed Argon2id hashes that need no migration")
+    void shouldEncodeWithArgon2() {
+        encoder = encoder("argon2");
+
+        String hash = encoder.encode(PASSWORD);
+
+        assertThat(hash).startsWith("{argon2}$argon2id$");
+        assertThat(encoder.matches(PASSWORD, hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should migrate hashes from another algorithm to the configured one")
+    void shouldMigrateBetweenAlgorithms() {
+        encoder = encoder("pbkdf2");
+        String pbkdf2Hash = encoder.encode(PASSWORD);
+        tearDown();
+        encoder = encoder("argon2");
+
+        assertThat(pbkdf2Hash).startsWith("{pbkdf2}");
+        assertThat(encoder.matches(PASSWORD, pbkdf2Hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(pbkdf2Hash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail fast on an unknown algorithm")
+    void shouldRejectUnknownAlgorithm() {
+        assertThatThrownBy(() -> encoder("md5")).isInstanceOf(IllegalStateException.class);
+    }
+
+    // Parámetros mínimos para que las pruebas sean rápidas
+    private static PasswordEncoder encoder(String algorithm) {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setAlgorithm(algorithm);
+        properties.getBcrypt().setStrength(4);
+        properties.getArgon2().setMemoryKib(1024);
+        properties.getArgon2().setIterations(1);
+        properties.getPbkdf2().setIterations(1000);
+        properties.getHashing().setPoolSize(2);
+        return new PasswordConfig().passwordEncoder(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,87 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.config.PasswordConfig;
+import edu.dosw.rideci.infrastructure.config.PasswordProperties;
+import edu.dosw.rideci.infrastructure.security.CalibratedBCryptPasswordEncoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Comparación de algoritmos de hash con los parámetros por defecto de PasswordProperties
+ * Simula logins concurrentes (un hilo por núcleo, igual que el pool de hashing)
+ * Solo corre con: mvn test -Dtest=PasswordHashingBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PasswordHashingBenchmarkTest {
+
+    private static final String PASSWORD = "Contraseña123*";
+    private static final int LOGINS_PER_THREAD = 50;
+
+    @Test
+    @DisplayName("Benchmark: logins per second and p99 latency per algorithm")
+    void compareAlgorithms() throws Exception {
+        PasswordProperties properties = new PasswordProperties();
+        CalibratedBCryptPasswordEncoder bcrypt = CalibratedBCryptPasswordEncoder.fromProperties(properties.getBcrypt());
+        Map<String, PasswordEncoder> encoders = PasswordConfig.encoders(bcrypt, properties);
+        int threads = properties.getHashing().getPoolSize();
+
+        System.out.printf("%d hilo(s); argon2 m=%d KiB t=%d; pbkdf2 %d iteraciones; bcrypt costo %d%n", threads,
+                properties.getArgon2().getMemoryKib(), properties.getArgon2().getIterations(),
+                properties.getPbkdf2().getIterations(), bcrypt.getStrength());
+        for (String algorithm : List.of(PasswordConfig.BCRYPT, PasswordConfig.ARGON2, PasswordConfig.PBKDF2)) {
+            measure(algorithm, encoders.get(algorithm), threads);
+        }
+    }
+
+    private void measure(String algorithm, PasswordEncoder encoder, int threads) throws Exception {
+        String hash = encoder.encode(PASSWORD);
+        for (int i = 0; i < 3; i++) {
+            encoder.matches(PASSWORD, hash); // Calentamiento
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    long[] latencies = new long[LOGINS_PER_THREAD];
+                    for (int i = 0; i < LOGINS_PER_THREAD; i++) {
+                        long loginStart = System.nanoTime();
+                        if (!encoder.matches(PASSWORD, hash)) {
+                            throw new IllegalStateException("El hash no coincide");
+                        }
+                        latencies[i] = System.nanoTime() - loginStart;
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[threads * LOGINS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(all);
+            System.out.printf("%-7s %8.1f logins/s  p50 %6.1f ms  p99 %6.1f ms%n", algorithm,
+                    all.length * 1e9 / elapsed,
+                    all[all.length / 2] / 1e6,
+                    all[(int) Math.ceil(all.length * 0.99) - 1] / 1e6);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.config.RabbitMQConfig;
+import edu.dosw.rideci.infrastructure.config.RabbitPublisherProperties;
+import edu.dosw.rideci.infrastructure.persistence.repository.RabbitEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Pruebas unitarias para RabbitEventPublisher (publisher confirms correlacionados)
+ */
+@ExtendWith(MockitoExtension.class)
+class RabbitEventPublisherTest {
+
+    private static final String ROUTING_KEY = "notifications.auth.user.resetPassword";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RabbitEventPublisher publisher;
+
+    @BeforeEach
+    void setup() {
+        RabbitPublisherProperties properties = new RabbitPublisherProperties();
+        properties.setConfirmTimeout(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new RabbitEventPublisher(rabbitTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should send every message before any confirm arrives and complete each future on its ack")
+    void shouldPipelineConfirms() {
+        CompletableFuture<Void> first = publisher.publishAsync("evento-1", ROUTING_KEY);
+        CompletableFuture<Void> second = publisher.publishAsync("evento-2", ROUTING_KEY);
+
+        List<CorrelationData> correlations = sentCorrelations(2);
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+        assertThat(gauge("auth.rabbit.publish.inflight")).isEqualTo(2.0);
+
+        correlations.forEach(correlation -> correlation.getFuture().complete(new CorrelationData.Confirm(true, null)));
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(gauge("auth.rabbit.publish.inflight")).isZero();
+        assertThat(counter("auth.rabbit.publish.confirmed")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should fail the future and count a nack when the broker rejects the message")
+    void shouldFailOnNack() {
+        CompletableFuture<Void> future = publisher.publishAsync("evento", ROUTING_KEY);
+
+        sentCorrelations(1).get(0).getFuture().complete(new CorrelationData.Confirm(false, "queue full"));
+
+        assertThatThrownBy(() -> RabbitEventPublisher.awaitConfirms(List.of(future), Duration.ofSeconds(1)))
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("queue full");
+        assertThat(counter("auth.rabbit.publish.nacked")).isEqualTo(1.0);
+        assertThat(gauge("auth.rabbit.publish.inflight")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail right away when the message cannot be sent")
+    void shouldFailWhenSendFails() {
+        AmqpConnectException down = new AmqpConnectException(new ConnectException("Connection refused"));
+        doThrow(down).when(rabbitTemplate)
+                .convertAndSend(eq(RabbitMQConfig.USER_EXCHANGE), anyString(), any(Object.class), any(CorrelationData.class));
+
+        CompletableFuture<Void> future = publisher.publishAsync("evento", ROUTING_KEY);
+
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(() -> publisher.publish("evento", ROUTING_KEY)).isSameAs(down);
+        assertThat(gauge("auth.rabbit.publish.inflight")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should time out publish when no confirm arrives")
+    void shouldTimeOutWithoutConfirm() {
+        assertThatThrownBy(() -> publisher.publish("evento", ROUTING_KEY))
+                .isInstanceOf(AmqpTimeoutException.class);
+        assertThat(gauge("auth.rabbit.publish.inflight")).isEqualTo(1.0);
+    }
+
+    private List<CorrelationData> sentCorrelations(int count) {
+        ArgumentCaptor<CorrelationData> captor = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate, times(count))
+                .convertAndSend(eq(RabbitMQConfig.USER_EXCHANGE), eq(ROUTING_KEY), any(Object.class), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
@@ -0,0 +1,147 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.exceptions.ServiceBusyException;
+import edu.dosw.rideci.infrastructure.config.PasswordProperties;
+import edu.dosw.rideci.infrastructure.security.BoundedPasswordEncoder;
+import edu.dosw.rideci.infrastructure.security.ReactivePasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para ReactivePasswordEncoder (perfil reactive)
+ */
+class ReactivePasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicReference<String> hashingThread = new AtomicReference<>();
+    private BoundedPasswordEncoder bounded;
+    private ReactivePasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+        if (bounded != null) {
+            bounded.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hash on its own scheduler with the raw encoder, skipping the servlet pool")
+    void shouldHashOnOwnSchedulerOnly() {
+        bounded = new BoundedPasswordEncoder(recordingEncoder(), hashing(2, 4, Duration.ofSeconds(5)), meterRegistry);
+        encoder = new ReactivePasswordEncoder(bounded, properties(hashing(2, 4, Duration.ofSeconds(5))));
+
+        StepVerifier.create(encoder.encode("Contraseña123*"))
+                .expectNext("hash")
+                .verifyComplete();
+
+        assertThat(hashingThread.get()).startsWith("password-hash-rx");
+        assertThat(meterRegistry.get("auth.password.hash.wait").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should encode and match with the delegate")
+    void shouldEncodeAndMatch() {
+        encoder = new ReactivePasswordEncoder(new BCryptPasswordEncoder(4), properties(hashing(2, 4, Duration.ofSeconds(5))));
+
+        String hash = encoder.encode("Contraseña123*").block();
+
+        StepVerifier.create(encoder.matches("Contraseña123*", hash)).expectNext(true).verifyComplete();
+        StepVerifier.create(encoder.matches("otra", hash)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should answer busy when the hash waits for a thread longer than the wait timeout")
+    void shouldFailBusyOnTimeout() {
+        encoder = new ReactivePasswordEncoder(blockingEncoder(), properties(hashing(1, 4, Duration.ofMillis(100))));
+        encoder.encode("ocupa el único hilo").subscribe(hash -> { }, error -> { });
+
+        StepVerifier.create(encoder.encode("a"))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOfSatisfying(ServiceBusyException.class,
+                        busy -> assertThat(busy.getRetryAfter()).isEqualTo(Duration.ofSeconds(3))))
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should finish a hash that started in time even if it runs longer than the wait timeout")
+    void shouldNotTimeOutRunningHash() {
+        encoder = new ReactivePasswordEncoder(blockingEncoder(), properties(hashing(1, 4, Duration.ofMillis(100))));
+        new Thread(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        }).start();
+
+        StepVerifier.create(encoder.encode("a"))
+                .expectNext("hash")
+                .verifyComplete();
+    }
+
+    private PasswordEncoder recordingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThread.set(Thread.currentThread().getName());
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+
+    private static PasswordProperties properties(PasswordProperties.Hashing hashing) {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setHashing(hashing);
+        return properties;
+    }
+
+    private static PasswordProperties.Hashing hashing(int poolSize, int queueCapacity, Duration waitTimeout) {
+        PasswordProperties.Hashing hashing = new PasswordProperties.Hashing();
+        hashing.setPoolSize(poolSize);
+        hashing.setQueueCapacity(queueCapacity);
+        hashing.setWaitTimeout(waitTimeout);
+        hashing.setRetryAfter(Duration.ofSeconds(3));
+        return hashing;
+    }
+}
@@ -0,0 +1,117 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.domain.models.PasswordResetTokenData;
+import edu.dosw.rideci.infrastructure.adapters.ReactivePasswordResetAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para ReactivePasswordResetAdapter (perfil reactive)
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactivePasswordResetAdapterTest {
+
+    private static final String TOKEN = "ABCD1234";
+    private static final String KEY = "rideci_reset:" + TOKEN;
+    private static final String EMAIL = "david.palacios-p@mail.escuelaing.edu.co";
+
+    @Mock
+    private ReactiveRedisTemplate<String, PasswordResetTokenData> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, PasswordResetTokenData> valueOperations;
+
+    @Mock
+    private ReactiveListOperations<String, PasswordResetTokenData> listOperations;
+
+    private ReactivePasswordResetAdapter adapter;
+    private PasswordResetTokenData tokenData;
+
+    @BeforeEach
+    void setup() {
+        adapter = new ReactivePasswordResetAdapter(redisTemplate);
+        tokenData = PasswordResetTokenData.builder()
+                .email(EMAIL)
+                .createdAt(LocalDateTime.now())
+                .attempts(1)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should save the token under the same key and TTL as the blocking adapter")
+    void shouldSaveResetToken() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.set(KEY, tokenData, Duration.ofMinutes(15))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(adapter.saveResetToken(TOKEN, tokenData, 15)).verifyComplete();
+
+        verify(valueOperations).set(KEY, tokenData, Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Should increment attempts keeping the remaining TTL")
+    void shouldIncrementAttemptsKeepingTtl() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(KEY)).thenReturn(Mono.just(tokenData));
+        when(redisTemplate.getExpire(KEY)).thenReturn(Mono.just(Duration.ofMinutes(7)));
+        ArgumentCaptor<PasswordResetTokenData> saved = ArgumentCaptor.forClass(PasswordResetTokenData.class);
+        when(valueOperations.set(eq(KEY), saved.capture(), eq(Duration.ofMinutes(7)))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(adapter.incrementAttempts(TOKEN)).verifyComplete();
+
+        assertThat(saved.getValue().getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not rewrite a token that is about to expire")
+    void shouldSkipIncrementWhenExpiring() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(KEY)).thenReturn(Mono.just(tokenData));
+        when(redisTemplate.getExpire(KEY)).thenReturn(Mono.just(Duration.ofSeconds(30)));
+
+        StepVerifier.create(adapter.incrementAttempts(TOKEN)).verifyComplete();
+
+        verify(valueOperations, never()).set(anyString(), any(PasswordResetTokenData.class), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should complete empty for an unknown token")
+    void shouldReturnEmptyForUnknownToken() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(KEY)).thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.getResetToken(TOKEN)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should count zero attempts when the list does not exist")
+    void shouldCountZeroAttempts() {
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        when(listOperations.size("reset_attempt:" + EMAIL)).thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.countResetAttempts(EMAIL))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,153 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.domain.models.RefreshToken;
+import edu.dosw.rideci.infrastructure.config.RefreshTokenStoreProperties;
+import edu.dosw.rideci.infrastructure.persistence.repository.ReactiveRefreshTokenRepositoryAdapter;
+import edu.dosw.rideci.infrastructure.security.TokenDigests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para ReactiveRefreshTokenRepositoryAdapter (mismo formato que el adaptador servlet)
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveRefreshTokenRepositoryAdapterTest {
+
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.refresh_token_example";
+    private static final String DIGEST = TokenDigests.sha256(TOKEN);
+    private static final String KEY = "refreshToken:" + DIGEST;
+    private static final String USER_KEY = "refreshToken:sessions:usuario123";
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveHashOperations<String, String, String> hashOperations;
+
+    @Mock
+    private ReactiveSetOperations<String, String> setOperations;
+
+    @Mock
+    private ReactiveZSetOperations<String, String> zSetOperations;
+
+    private RefreshTokenStoreProperties properties;
+    private ReactiveRefreshTokenRepositoryAdapter adapter;
+    private RefreshToken refreshToken;
+
+    @BeforeEach
+    void setup() {
+        properties = new RefreshTokenStoreProperties();
+        adapter = new ReactiveRefreshTokenRepositoryAdapter(redisTemplate, properties);
+        LocalDateTime now = LocalDateTime.of(2025, 11, 27, 15, 55, 0);
+        refreshToken = RefreshToken.builder()
+                .token(TOKEN)
+                .userAuthId("usuario123")
+                .expiresAt(now.plusDays(3))
+                .createdAt(now)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should store the hash under the token digest and index it in the user ZSET by expiry, pruning expired ones")
+    @SuppressWarnings("unchecked")
+    void shouldSaveUnderDigestKey() {
+        long before = System.currentTimeMillis();
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        ArgumentCaptor<Map<String, String>> hash = ArgumentCaptor.forClass(Map.class);
+        when(hashOperations.putAll(eq(KEY), hash.capture())).thenReturn(Mono.just(true));
+        when(redisTemplate.expire(anyString(), eq(Duration.ofDays(3)))).thenReturn(Mono.just(true));
+        ArgumentCaptor<Double> score = ArgumentCaptor.forClass(Double.class);
+        when(zSetOperations.add(eq(USER_KEY), eq(DIGEST), score.capture())).thenReturn(Mono.just(true));
+        ArgumentCaptor<Range<Double>> pruned = ArgumentCaptor.forClass(Range.class);
+        when(zSetOperations.removeRangeByScore(eq(USER_KEY), pruned.capture())).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(adapter.save(refreshToken))
+                .assertNext(saved -> {
+                    assertThat(saved.getId()).isEqualTo(DIGEST);
+                    assertThat(saved.getToken()).isEqualTo(TOKEN);
+                })
+                .verifyComplete();
+
+        assertThat(hash.getValue()).doesNotContainKey("token").containsEntry("userAuthId", "usuario123");
+        verify(redisTemplate).expire(KEY, Duration.ofDays(3));
+        verify(redisTemplate).expire(USER_KEY, Duration.ofDays(3));
+        long after = System.currentTimeMillis();
+        assertThat(score.getValue()).isBetween((double) before + Duration.ofDays(3).toMillis(),
+                (double) after + Duration.ofDays(3).toMillis());
+        assertThat(pruned.getValue().getLowerBound().getValue()).contains(0d);
+        assertThat(pruned.getValue().getUpperBound().getValue()).hasValueSatisfying(
+                upTo -> assertThat(upTo).isBetween((double) before, (double) after));
+        verify(redisTemplate, never()).opsForSet();
+    }
+
+    @Test
+    @DisplayName("Should find a token by its digest key without touching the legacy indexes")
+    void shouldFindByDigest() {
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(KEY)).thenReturn(Flux.just(
+                new AbstractMap.SimpleEntry<>("userAuthId", "usuario123"),
+                new AbstractMap.SimpleEntry<>("expiresAt", "2025-11-30T15:55")));
+
+        StepVerifier.create(adapter.findByToken(TOKEN))
+                .assertNext(found -> {
+                    assertThat(found.getUserAuthId()).isEqualTo("usuario123");
+                    assertThat(found.getToken()).isEqualTo(TOKEN);
+                })
+                .verifyComplete();
+
+        verify(redisTemplate, never()).opsForSet();
+    }
+
+    @Test
+    @DisplayName("Should complete empty without the legacy lookup when the fallback is off")
+    void shouldSkipLegacyWhenDisabled() {
+        properties.setLegacyFallback(false);
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(KEY)).thenReturn(Flux.empty());
+
+        StepVerifier.create(adapter.findByToken(TOKEN)).verifyComplete();
+
+        verify(redisTemplate, never()).opsForSet();
+    }
+
+    @Test
+    @DisplayName("Should delete every session of the user and the user ZSET in one DEL")
+    void shouldDeleteAllByUserAuthId() {
+        properties.setLegacyFallback(false);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.range(USER_KEY, Range.unbounded())).thenReturn(Flux.just(DIGEST, "otro"));
+        when(redisTemplate.delete(any(String[].class))).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(adapter.deleteAllByUserAuthId("usuario123")).verifyComplete();
+
+        verify(redisTemplate).delete(KEY, "refreshToken:otro", USER_KEY);
+        verify(redisTemplate, never()).opsForSet();
+    }
+}
@@ -0,0 +1,148 @@
+package edu.dosw.rideci.adapter;
+
+import com.mongodb.client.result.UpdateResult;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.exceptions.DuplicateUserException;
+import edu.dosw.rideci.infrastructure.config.UserCacheProperties;
+import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
+import edu.dosw.rideci.infrastructure.persistence.repository.ReactiveUserAuthRepositoryAdapter;
+import edu.dosw.rideci.infrastructure.persistence.repository.mapper.UserAuthMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para ReactiveUserAuthRepositoryAdapter (perfil reactive)
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserAuthRepositoryAdapterTest {
+
+    private static final String ID = "idididid123";
+    private static final String EMAIL = "david.palacios-p@mail.escuelaing.edu.co";
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private UserAuthMapper userAuthMapper;
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    private UserCacheProperties cacheProperties;
+    private ReactiveUserAuthRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        cacheProperties = new UserCacheProperties();
+        adapter = new ReactiveUserAuthRepositoryAdapter(mongoTemplate, userAuthMapper, redisTemplate, cacheProperties);
+    }
+
+    @Test
+    @DisplayName("Should read credentials with the covered projection as a raw Document")
+    void shouldFindCredentialsByEmail() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+        when(mongoTemplate.findOne(query.capture(), eq(Document.class), eq("userAuth")))
+                .thenReturn(Mono.just(new Document("_id", ID)
+                        .append("passwordHash", "$argon2id$hash")
+                        .append("role", "STUDENT")
+                        .append("name", "David")
+                        .append("institutionalId", 1000100282L)));
+
+        StepVerifier.create(adapter.findCredentialsByEmail(EMAIL))
+                .assertNext(credentials -> {
+                    assertThat(credentials.getId()).isEqualTo(ID);
+                    assertThat(credentials.getEmail()).isEqualTo(EMAIL);
+                    assertThat(credentials.getRole()).isEqualTo(Role.STUDENT);
+                    assertThat(credentials.getInstitutionalId()).isEqualTo(1000100282L);
+                })
+                .verifyComplete();
+
+        assertThat(query.getValue().getFieldsObject())
+                .containsOnlyKeys("_id", "passwordHash", "role", "name", "institutionalId");
+    }
+
+    @Test
+    @DisplayName("Should translate a duplicate email into DuplicateUserException")
+    void shouldTranslateDuplicateEmail() {
+        UserAuth userAuth = UserAuth.builder().email(EMAIL).build();
+        UserAuthDocument document = new UserAuthDocument();
+        when(userAuthMapper.toDocument(userAuth)).thenReturn(document);
+        when(mongoTemplate.insert(document)).thenReturn(Mono.error(new DuplicateKeyException(
+                "E11000 duplicate key error collection: rideci.userAuth index: email dup key: { email: \"" + EMAIL + "\" }")));
+
+        StepVerifier.create(adapter.insert(userAuth))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOfSatisfying(DuplicateUserException.class,
+                        duplicate -> assertThat(duplicate.getField()).isEqualTo(DuplicateUserException.Field.EMAIL)))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the servlet user cache after a hash update")
+    void shouldInvalidateCacheOnHashUpdate() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(UserAuthDocument.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(redisTemplate.delete(cacheProperties.getKeyPrefix() + ID)).thenReturn(Mono.just(1L));
+        when(redisTemplate.convertAndSend(cacheProperties.getInvalidationChannel(), ID)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(adapter.updatePasswordHash(ID, "$argon2id$nuevo"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(redisTemplate).convertAndSend(cacheProperties.getInvalidationChannel(), ID);
+    }
+
+    @Test
+    @DisplayName("Should still report the update when Redis is down")
+    void shouldIgnoreRedisFailureOnInvalidation() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(UserAuthDocument.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(redisTemplate.delete(cacheProperties.getKeyPrefix() + ID))
+                .thenReturn(Mono.error(new IllegalStateException("Redis caído")));
+        when(redisTemplate.convertAndSend(cacheProperties.getInvalidationChannel(), ID)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(adapter.updatePasswordHash(ID, "$argon2id$nuevo"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should set the hash by email and return the id, or complete empty when nothing matched")
+    void shouldUpdatePasswordHashByEmail() {
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(Document.class), eq("userAuth")))
+                .thenReturn(Mono.just(new Document("_id", ID)), Mono.empty());
+        when(redisTemplate.delete(cacheProperties.getKeyPrefix() + ID)).thenReturn(Mono.just(1L));
+        when(redisTemplate.convertAndSend(cacheProperties.getInvalidationChannel(), ID)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(adapter.updatePasswordHashByEmail(EMAIL, "$argon2id$nuevo"))
+                .expectNext(ID)
+                .verifyComplete();
+        StepVerifier.create(adapter.updatePasswordHashByEmail("otro@mail.escuelaing.edu.co", "$argon2id$nuevo"))
+                .verifyComplete();
+
+        verify(redisTemplate, times(1)).convertAndSend(anyString(), anyString());
+    }
+}
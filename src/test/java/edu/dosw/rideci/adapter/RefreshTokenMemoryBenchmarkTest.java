@@ -0,0 +1,218 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.infrastructure.adapters.Hs256TokenCodecAdapter;
+import edu.dosw.rideci.infrastructure.adapters.JWTTokenProviderAdapter;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.security.JwtKeyRing;
+import edu.dosw.rideci.infrastructure.security.JwtKeySet;
+import edu.dosw.rideci.infrastructure.security.TokenDigests;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Memoria de Redis por sesión activa según cómo se guarda el refresh token
+ * - @RedisHash: formato original (hash con el JWT + set del keyspace + índices por token y usuario + set :idx)
+ * - JWT como clave: refreshToken:{jwt} y set del usuario con los JWT
+ * - SHA-256 como clave: refreshToken:{sha256} y set del usuario con los digests (RefreshTokenRepositoryAdapter)
+ * Necesita un Redis vacío de pruebas; usa la base 15 y la vacía con FLUSHDB entre formatos
+ * Solo corre con: mvn test -Dtest=RefreshTokenMemoryBenchmarkTest -Dbenchmark=true
+ * Deja la tabla en target/benchmarks/refresh-token-memory.md para copiarla a docs/benchmarks
+ * Opcionales: -Dbenchmark.redis.host=localhost -Dbenchmark.redis.port=6379 -Dbenchmark.sessions=1000000
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RefreshTokenMemoryBenchmarkTest {
+
+    private static final int SESSIONS = Integer.getInteger("benchmark.sessions", 1_000_000);
+    private static final int SESSIONS_PER_USER = 2;
+    private static final int PIPELINE = 10_000;
+    private static final int LOOKUPS = 20_000;
+    private static final long TTL_SECONDS = 259200L;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static TokenProviderOutPort tokenProvider;
+
+    @BeforeAll
+    static void connect() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("benchmark.redis.host", "localhost"),
+                Integer.getInteger("benchmark.redis.port", 6379));
+        configuration.setDatabase(15);
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        JwtKeyRing keyRing = JwtKeyRing.fixed(
+                JwtKeySet.hmac(JwtProperties.DEFAULT_HMAC_KEY_ID, JwtProperties.DEFAULT_HMAC_SECRET));
+        tokenProvider = new Hs256TokenCodecAdapter(keyRing, new JWTTokenProviderAdapter(keyRing));
+    }
+
+    @AfterAll
+    static void disconnect() {
+        flushDb();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Benchmark: Redis bytes per active session and lookup time per layout")
+    void compareLayouts() throws IOException {
+        Result redisHash = measure(Layout.REDIS_HASH);
+        Result fullToken = measure(Layout.FULL_TOKEN);
+        Result digest = measure(Layout.DIGEST);
+
+        StringBuilder report = new StringBuilder()
+                .append(String.format("%,d sesiones, %d por usuario, Redis %s%n%n", SESSIONS, SESSIONS_PER_USER, redisVersion()))
+                .append("| Formato | used_memory / sesión | HGETALL (µs) |\n")
+                .append("|---|---:|---:|\n");
+        for (Result result : List.of(redisHash, fullToken, digest)) {
+            report.append(String.format("| %s | %,d B | %,.1f |%n",
+                    result.layout(), result.bytesPerSession(), result.microsPerLookup()));
+        }
+        System.out.print(report);
+        Path file = Path.of("target", "benchmarks", "refresh-token-memory.md");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+
+        assertThat(digest.bytesPerSession()).isLessThan(fullToken.bytesPerSession());
+        assertThat(fullToken.bytesPerSession()).isLessThan(redisHash.bytesPerSession());
+    }
+
+    private Result measure(Layout layout) {
+        flushDb();
+        long before = usedMemory();
+
+        List<String> sample = new ArrayList<>(LOOKUPS);
+        List<String> chunk = new ArrayList<>(PIPELINE);
+        String userAuthId = null;
+        for (int i = 0; i < SESSIONS; i++) {
+            if (i % SESSIONS_PER_USER == 0) {
+                userAuthId = new ObjectId().toHexString();
+            }
+            String token = tokenProvider.generateRefreshToken("user" + i + "@mail.escuelaing.edu.co", 1000000000L + i);
+            if (sample.size() < LOOKUPS) {
+                sample.add(token);
+            }
+            chunk.add(userAuthId + " " + token);
+            if (chunk.size() == PIPELINE || i == SESSIONS - 1) {
+                write(layout, chunk);
+                chunk.clear();
+            }
+        }
+
+        long bytes = usedMemory() - before;
+        long start = System.nanoTime();
+        for (String token : sample) {
+            assertThat(lookup(layout, token)).isNotEmpty();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(layout, bytes / SESSIONS, elapsed / 1e3 / sample.size());
+    }
+
+    private static void write(Layout layout, List<String> sessions) {
+        LocalDateTime now = LocalDateTime.now();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String session : sessions) {
+                String userAuthId = session.substring(0, session.indexOf(' '));
+                String token = session.substring(session.indexOf(' ') + 1);
+                Map<String, String> hash = new LinkedHashMap<>();
+                switch (layout) {
+                    case REDIS_HASH -> {
+                        String id = UUID.randomUUID().toString();
+                        String key = "refreshTokens:" + id;
+                        String tokenIndex = "refreshTokens:token:" + token;
+                        String userIndex = "refreshTokens:userAuthId:" + userAuthId;
+                        hash.put("_class", "edu.dosw.rideci.infrastructure.persistence.entity.RefreshTokenDocument");
+                        hash.put("id", id);
+                        hash.put("token", token);
+                        hash.put("userAuthId", userAuthId);
+                        hash.put("expiresAt", now.plusDays(3).toString());
+                        hash.put("createdAt", now.toString());
+                        hash.put("ttl", String.valueOf(TTL_SECONDS));
+                        redis.hMSet(key, hash);
+                        redis.expire(key, TTL_SECONDS);
+                        redis.sAdd("refreshTokens", id);
+                        redis.sAdd(tokenIndex, id);
+                        redis.sAdd(userIndex, id);
+                        redis.sAdd(key + ":idx", tokenIndex, userIndex);
+                    }
+                    case FULL_TOKEN, DIGEST -> {
+                        String member = layout == Layout.DIGEST ? TokenDigests.sha256(token) : token;
+                        String key = "refreshToken:" + member;
+                        hash.put("userAuthId", userAuthId);
+                        hash.put("expiresAt", now.plusDays(3).toString());
+                        hash.put("createdAt", now.toString());
+                        redis.hMSet(key, hash);
+                        redis.expire(key, TTL_SECONDS);
+                        String userKey = "refreshToken:sessions:" + userAuthId;
+                        redis.zAdd(userKey, System.currentTimeMillis() + TTL_SECONDS * 1000d, member);
+                        redis.expire(userKey, TTL_SECONDS);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // Lo que hace findByToken en cada formato (@RedisHash: set del índice y luego el hash)
+    private static Map<Object, Object> lookup(Layout layout, String token) {
+        return switch (layout) {
+            case REDIS_HASH -> redisTemplate.opsForSet().members("refreshTokens:token:" + token).stream()
+                    .findFirst()
+                    .map(id -> redisTemplate.opsForHash().entries("refreshTokens:" + id))
+                    .orElse(Map.of());
+            case FULL_TOKEN -> redisTemplate.opsForHash().entries("refreshToken:" + token);
+            case DIGEST -> redisTemplate.opsForHash().entries("refreshToken:" + TokenDigests.sha256(token));
+        };
+    }
+
+    private static long usedMemory() {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("memory"));
+        return Long.parseLong(info.getProperty("used_memory"));
+    }
+
+    private static String redisVersion() {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("server"));
+        return info.getProperty("redis_version");
+    }
+
+    private static void flushDb() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    private enum Layout {
+        REDIS_HASH, FULL_TOKEN, DIGEST
+    }
+
+    private record Result(Layout layout, long bytesPerSession, double microsPerLookup) {
+    }
+}
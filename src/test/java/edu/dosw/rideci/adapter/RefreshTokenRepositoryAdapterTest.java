@@ -1,57 +1,81 @@
 package edu.dosw.rideci.adapter;
 
 import edu.dosw.rideci.domain.models.RefreshToken;
+import edu.dosw.rideci.infrastructure.config.RefreshTokenStoreProperties;
 import edu.dosw.rideci.infrastructure.persistence.entity.RefreshTokenDocument;
 import edu.dosw.rideci.infrastructure.persistence.redis.RefreshTokenRepository;
 import edu.dosw.rideci.infrastructure.persistence.repository.RefreshTokenRepositoryAdapter;
+import edu.dosw.rideci.infrastructure.security.TokenDigests;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
- * Pruebas unitarias para RefreshTokenRepositoryAdapter
+ * Pruebas unitarias para RefreshTokenRepositoryAdapter (clave directa por SHA-256 del token)
  */
 @ExtendWith(MockitoExtension.class)
 class RefreshTokenRepositoryAdapterTest {
 
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.refresh_token_example";
+    private static final String DIGEST = TokenDigests.sha256(TOKEN);
+    private static final String KEY = "refreshToken:" + DIGEST;
+    private static final String USER_KEY = "refreshToken:sessions:usuario123";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
     @Mock
-    private RefreshTokenRepository redisRepository;
+    private HashOperations<String, Object, Object> hashOperations;
 
-    @InjectMocks
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private RefreshTokenRepository legacyRepository;
+
+    private RefreshTokenStoreProperties properties;
     private RefreshTokenRepositoryAdapter refreshTokenRepositoryAdapter;
 
     private RefreshToken refreshToken;
-    private RefreshTokenDocument refreshTokenDocument;
     private LocalDateTime now;
     private LocalDateTime expiresAt;
 
     @BeforeEach
     void setup() {
+        properties = new RefreshTokenStoreProperties();
+        refreshTokenRepositoryAdapter = new RefreshTokenRepositoryAdapter(redisTemplate, legacyRepository, properties);
+
         now = LocalDateTime.of(2025, 11, 27, 15, 55, 0);
-        expiresAt = now.plusDays(7); // 7 días después
+        expiresAt = now.plusDays(3);
 
         refreshToken = RefreshToken.builder()
-                .id("token123")
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.refresh_token_example")
-                .userAuthId("usuario123")
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        refreshTokenDocument = RefreshTokenDocument.builder()
-                .id("token123")
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.refresh_token_example")
+                .token(TOKEN)
                 .userAuthId("usuario123")
                 .expiresAt(expiresAt)
                 .createdAt(now)
@@ -59,269 +83,140 @@ class RefreshTokenRepositoryAdapterTest {
     }
 
     @Test
-    @DisplayName("Should save RefreshToken - Successfull")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @DisplayName("Should save only the token digest, under its own key with EXPIRE and in the user ZSET scored by expiry, in one pipeline")
     void shouldSaveRefreshToken() {
-        // Given
-        when(redisRepository.save(any(RefreshTokenDocument.class))).thenReturn(refreshTokenDocument);
-
-        // When
+        long before = System.currentTimeMillis();
         RefreshToken result = refreshTokenRepositoryAdapter.save(refreshToken);
-
-        // Then
-        assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo("token123");
-        assertThat(result.getToken()).isEqualTo("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.refresh_token_example");
+        long after = System.currentTimeMillis();
+
+        ArgumentCaptor<SessionCallback> callback = ArgumentCaptor.forClass(SessionCallback.class);
+        verify(redisTemplate, times(1)).executePipelined(callback.capture());
+
+        RedisOperations operations = mock(RedisOperations.class);
+        HashOperations pipelinedHash = mock(HashOperations.class);
+        ZSetOperations pipelinedZSet = mock(ZSetOperations.class);
+        when(operations.opsForHash()).thenReturn(pipelinedHash);
+        when(operations.opsForZSet()).thenReturn(pipelinedZSet);
+        callback.getValue().execute(operations);
+
+        Duration ttl = Duration.ofDays(3);
+        verify(pipelinedHash).putAll(KEY, Map.of(
+                "userAuthId", "usuario123",
+                "expiresAt", expiresAt.toString(),
+                "createdAt", now.toString()));
+        verify(operations).expire(KEY, ttl);
+        ArgumentCaptor<Double> score = ArgumentCaptor.forClass(Double.class);
+        verify(pipelinedZSet).add(eq(USER_KEY), eq(DIGEST), score.capture());
+        assertThat(score.getValue()).isBetween((double) before + ttl.toMillis(), (double) after + ttl.toMillis());
+        ArgumentCaptor<Double> prunedUpTo = ArgumentCaptor.forClass(Double.class);
+        verify(pipelinedZSet).removeRangeByScore(eq(USER_KEY), eq(0d), prunedUpTo.capture());
+        assertThat(prunedUpTo.getValue()).isBetween((double) before, (double) after);
+        verify(operations).expire(USER_KEY, ttl);
+        verify(operations, never()).opsForSet();
+
+        assertThat(DIGEST).hasSize(43);
+        assertThat(result.getId()).isEqualTo(DIGEST);
+        assertThat(result.getToken()).isEqualTo(TOKEN);
         assertThat(result.getUserAuthId()).isEqualTo("usuario123");
         assertThat(result.getExpiresAt()).isEqualTo(expiresAt);
-        assertThat(result.getCreatedAt()).isEqualTo(now);
-
-        verify(redisRepository, times(1)).save(any(RefreshTokenDocument.class));
+        verifyNoInteractions(legacyRepository);
     }
 
     @Test
-    @DisplayName("Should save RefreshToken without id")
-    void shouldSaveRefreshTokenWithoutId() {
-        RefreshToken newRefreshToken = RefreshToken.builder()
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.new_token")
-                .userAuthId("auth456")
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        RefreshTokenDocument savedDocument = RefreshTokenDocument.builder()
-                .id("mongoGenerated_id")
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.new_token")
-                .userAuthId("usuario456")
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        when(redisRepository.save(any(RefreshTokenDocument.class))).thenReturn(savedDocument);
-
-        RefreshToken result = refreshTokenRepositoryAdapter.save(newRefreshToken);
-
-        assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo("mongoGenerated_id");
-        assertThat(result.getToken()).isEqualTo("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.new_token");
-        assertThat(result.getUserAuthId()).isEqualTo("usuario456");
-
-        verify(redisRepository, times(1)).save(any(RefreshTokenDocument.class));
-    }
-
-    @Test
-    @DisplayName("Should find RefreshToken by token - Success")
+    @DisplayName("Should find a token with a single HGETALL on its digest key")
     void shouldFindRefreshTokenByToken() {
-        String tokenString = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.refresh_token_example";
-        when(redisRepository.findByToken(tokenString)).thenReturn(Optional.of(refreshTokenDocument));
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(KEY)).thenReturn(Map.of(
+                "userAuthId", "usuario123",
+                "expiresAt", expiresAt.toString(),
+                "createdAt", now.toString()));
 
-        Optional<RefreshToken> result = refreshTokenRepositoryAdapter.findByToken(tokenString);
+        Optional<RefreshToken> result = refreshTokenRepositoryAdapter.findByToken(TOKEN);
 
         assertThat(result).isPresent();
-        assertThat(result.get().getId()).isEqualTo("token123");
-        assertThat(result.get().getToken()).isEqualTo(tokenString);
+        assertThat(result.get().getId()).isEqualTo(DIGEST);
+        assertThat(result.get().getToken()).isEqualTo(TOKEN);
         assertThat(result.get().getUserAuthId()).isEqualTo("usuario123");
         assertThat(result.get().getExpiresAt()).isEqualTo(expiresAt);
-
-        verify(redisRepository, times(1)).findByToken(tokenString);
+        assertThat(result.get().getCreatedAt()).isEqualTo(now);
+        verifyNoInteractions(legacyRepository);
     }
 
     @Test
-    @DisplayName("Should return empty when token does not exist")
-    void shouldReturnEmptyWhenTokenNotFound() {
-        String nonExistentToken = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.nonexistent_token";
-        when(redisRepository.findByToken(nonExistentToken)).thenReturn(Optional.empty());
-
-        Optional<RefreshToken> result = refreshTokenRepositoryAdapter.findByToken(nonExistentToken);
+    @DisplayName("Should fall back to the legacy @RedisHash store when the key does not exist")
+    void shouldFindLegacyRefreshToken() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(KEY)).thenReturn(Map.of());
+        when(legacyRepository.findByToken(TOKEN)).thenReturn(Optional.of(RefreshTokenDocument.builder()
+                .id("legacy-id").token(TOKEN).userAuthId("usuario123").expiresAt(expiresAt).createdAt(now).build()));
 
-        assertThat(result).isEmpty();
+        Optional<RefreshToken> result = refreshTokenRepositoryAdapter.findByToken(TOKEN);
 
-        verify(redisRepository, times(1)).findByToken(nonExistentToken);
-    }
-
-    @Test
-    @DisplayName("Should delete all RefreshTokens by userAuthId")
-    void shouldDeleteAllByUserAuthId() {
-        String userAuthId = "usuario123";
-        doNothing().when(redisRepository).deleteAllByUserAuthId(userAuthId);
-
-        refreshTokenRepositoryAdapter.deleteAllByUserAuthId(userAuthId);
-
-        verify(redisRepository, times(1)).deleteAllByUserAuthId(userAuthId);
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo("legacy-id");
+        assertThat(result.get().getUserAuthId()).isEqualTo("usuario123");
     }
 
     @Test
-    @DisplayName("Should delete all tokens for user without exception")
-    void shouldDeleteAllTokensWithoutException() {
-        String userAuthId = "usuario456";
-        doNothing().when(redisRepository).deleteAllByUserAuthId(userAuthId);
+    @DisplayName("Should return empty when the token does not exist and the legacy fallback is off")
+    void shouldReturnEmptyWhenTokenNotFound() {
+        properties.setLegacyFallback(false);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(KEY)).thenReturn(Map.of());
 
-        refreshTokenRepositoryAdapter.deleteAllByUserAuthId(userAuthId);
+        assertThat(refreshTokenRepositoryAdapter.findByToken(TOKEN)).isEmpty();
 
-        verify(redisRepository, times(1)).deleteAllByUserAuthId(userAuthId);
-        verifyNoMoreInteractions(redisRepository);
+        verifyNoInteractions(legacyRepository);
     }
 
     @Test
-    @DisplayName("Should attempt to delete all tokens even if user has no tokens")
-    void shouldAttemptDeleteAllTokensForUserWithNoTokens() {
-        String userAuthId = "usuarioSinTokens";
-        doNothing().when(redisRepository).deleteAllByUserAuthId(userAuthId);
+    @DisplayName("Should delete every token of the user and the user ZSET in one DEL")
+    void shouldDeleteAllByUserAuthId() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.range(USER_KEY, 0, -1)).thenReturn(new LinkedHashSet<>(List.of("t1", "t2")));
 
-        refreshTokenRepositoryAdapter.deleteAllByUserAuthId(userAuthId);
+        refreshTokenRepositoryAdapter.deleteAllByUserAuthId("usuario123");
 
-        // Then
-        verify(redisRepository, times(1)).deleteAllByUserAuthId(userAuthId);
+        verify(redisTemplate, times(1)).delete(List.of("refreshToken:t1", "refreshToken:t2", USER_KEY));
+        verify(redisTemplate, never()).opsForSet();
+        verify(legacyRepository).deleteAllByUserAuthId("usuario123");
     }
 
     @Test
-    @DisplayName("Should delete RefreshToken by token")
+    @DisplayName("Should delete a token and remove it from the user ZSET")
     void shouldDeleteByToken() {
-        String tokenString = refreshToken.getToken();
-
-        doNothing().when(redisRepository).deleteByToken(tokenString);
+        when(redisTemplate.delete(KEY)).thenReturn(true);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
 
         refreshTokenRepositoryAdapter.deleteByToken(refreshToken);
 
-        verify(redisRepository, times(1)).deleteByToken(tokenString);
+        verify(zSetOperations).remove(USER_KEY, DIGEST);
+        verifyNoInteractions(legacyRepository);
     }
 
     @Test
-    @DisplayName("Should delete RefreshToken by token without exception")
-    void shouldDeleteByTokenWithoutException() {
-        RefreshToken tokenToDelete = RefreshToken.builder()
-                .id("token456")
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.token_to_delete")
-                .userAuthId("usuario789")
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        String tokenString = tokenToDelete.getToken();
+    @DisplayName("Should delete a legacy token when it was not stored under its key")
+    void shouldDeleteLegacyToken() {
+        when(redisTemplate.delete(KEY)).thenReturn(false);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
 
-        doNothing().when(redisRepository).deleteByToken(tokenString);
-
-        refreshTokenRepositoryAdapter.deleteByToken(tokenToDelete);
-
-        verify(redisRepository, times(1)).deleteByToken(tokenString);
-        verifyNoMoreInteractions(redisRepository);
-    }
-
-    @Test
-    @DisplayName("Should save RefreshToken with expiration date in the future")
-    void shouldSaveRefreshTokenWithFutureExpiration() {
-        LocalDateTime futureExpiration = now.plusDays(30);
-        RefreshToken longLivedToken = RefreshToken.builder()
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.long_lived_token")
-                .userAuthId("usuario123")
-                .expiresAt(futureExpiration)
-                .createdAt(now)
-                .build();
-
-        RefreshTokenDocument savedDocument = RefreshTokenDocument.builder()
-                .id("tokenConLargaVida")
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.tokenLargaVida")
-                .userAuthId("usuario123")
-                .expiresAt(futureExpiration)
-                .createdAt(now)
-                .build();
-
-        when(redisRepository.save(any(RefreshTokenDocument.class))).thenReturn(savedDocument);
-
-        RefreshToken result = refreshTokenRepositoryAdapter.save(longLivedToken);
-
-        assertThat(result).isNotNull();
-        assertThat(result.getExpiresAt()).isEqualTo(futureExpiration);
-        assertThat(result.getExpiresAt()).isAfter(now);
-
-        verify(redisRepository, times(1)).save(any(RefreshTokenDocument.class));
-    }
-
-    @Test
-    @DisplayName("Should map all fields correctly from document to domain")
-    void shouldMapAllFieldsCorrectlyFromDocumentToDomain() {
-        String tokenString = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.complete_token";
-        when(redisRepository.findByToken(tokenString)).thenReturn(Optional.of(refreshTokenDocument));
-
-        Optional<RefreshToken> result = refreshTokenRepositoryAdapter.findByToken(tokenString);
-
-        assertThat(result).isPresent();
-        RefreshToken token = result.get();
-        assertThat(token.getId()).isEqualTo(refreshTokenDocument.getId());
-        assertThat(token.getToken()).isEqualTo(refreshTokenDocument.getToken());
-        assertThat(token.getUserAuthId()).isEqualTo(refreshTokenDocument.getUserAuthId());
-        assertThat(token.getExpiresAt()).isEqualTo(refreshTokenDocument.getExpiresAt());
-        assertThat(token.getCreatedAt()).isEqualTo(refreshTokenDocument.getCreatedAt());
-
-        verify(redisRepository, times(1)).findByToken(tokenString);
-    }
-
-    @Test
-    @DisplayName("Should save multiple RefreshTokens for same user")
-    void shouldSaveMultipleTokensForSameUser() {
-        String userAuthId = "usuario123";
-
-        RefreshToken token1 = RefreshToken.builder()
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.token1")
-                .userAuthId(userAuthId)
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        RefreshToken token2 = RefreshToken.builder()
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.token2")
-                .userAuthId(userAuthId)
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        RefreshTokenDocument savedDoc1 = RefreshTokenDocument.builder()
-                .id("token_id_1")
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.token1")
-                .userAuthId(userAuthId)
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        RefreshTokenDocument savedDoc2 = RefreshTokenDocument.builder()
-                .id("token_id_2")
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.token2")
-                .userAuthId(userAuthId)
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        when(redisRepository.save(any(RefreshTokenDocument.class)))
-                .thenReturn(savedDoc1)
-                .thenReturn(savedDoc2);
-
-        RefreshToken result1 = refreshTokenRepositoryAdapter.save(token1);
-        RefreshToken result2 = refreshTokenRepositoryAdapter.save(token2);
-
-        assertThat(result1.getUserAuthId()).isEqualTo(userAuthId);
-        assertThat(result2.getUserAuthId()).isEqualTo(userAuthId);
-        assertThat(result1.getId()).isNotEqualTo(result2.getId());
-        assertThat(result1.getToken()).isNotEqualTo(result2.getToken());
+        refreshTokenRepositoryAdapter.deleteByToken(refreshToken);
 
-        verify(redisRepository, times(2)).save(any(RefreshTokenDocument.class));
+        verify(legacyRepository, times(1)).deleteByToken(TOKEN);
     }
 
     @Test
-    @DisplayName("Should handle deletion of non-existent token gracefully")
-    void shouldHandleDeletionOfNonExistentToken() {
-        RefreshToken nonExistentToken = RefreshToken.builder()
-                .id("noExiste")
-                .token("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.noExiste")
-                .userAuthId("usuario999")
-                .expiresAt(expiresAt)
-                .createdAt(now)
-                .build();
-
-        String tokenString = nonExistentToken.getToken();
-
-        doNothing().when(redisRepository).deleteByToken(tokenString);
+    @DisplayName("Should skip the user ZSET when the token has no userAuthId")
+    void shouldDeleteTokenWithoutUser() {
+        properties.setLegacyFallback(false);
+        RefreshToken orphan = RefreshToken.builder().token(TOKEN).build();
+        when(redisTemplate.delete(KEY)).thenReturn(false);
 
-        refreshTokenRepositoryAdapter.deleteByToken(nonExistentToken);
+        refreshTokenRepositoryAdapter.deleteByToken(orphan);
 
-        verify(redisRepository, times(1)).deleteByToken(tokenString);
+        verify(redisTemplate, never()).opsForZSet();
+        verify(legacyRepository, never()).deleteByToken(anyString());
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
     }
 }
@@ -0,0 +1,80 @@
+package edu.dosw.rideci.adapter;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
+import edu.dosw.rideci.infrastructure.persistence.mongodb.UserAuthIndexes;
+import edu.dosw.rideci.infrastructure.persistence.repository.UserAuthRepositoryAdapter;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica contra un Mongo real que la búsqueda de credenciales del login se resuelve solo con el índice
+ * (sin FETCH ni documentos leídos). Usa una base de datos propia y la borra al terminar
+ * Se ejecuta solo si existe MONGO_URI
+ */
+@EnabledIfEnvironmentVariable(named = "MONGO_URI", matches = ".+")
+class UserAuthCredentialsQueryPlanTest {
+
+    private static final String DATABASE = "rideci_query_plan_test";
+    private static final String EMAIL = "david.palacios-p@mail.escuelaing.edu.co";
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        client = MongoClients.create(System.getenv("MONGO_URI"));
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.dropCollection(UserAuthDocument.class);
+        UserAuthIndexes.ensure(mongoTemplate);
+
+        for (int i = 0; i < 50; i++) {
+            mongoTemplate.insert(UserAuthDocument.builder()
+                    .name("Usuario " + i)
+                    .email(i == 0 ? EMAIL : "usuario" + i + "@mail.escuelaing.edu.co")
+                    .institutionalId(1000100000L + i)
+                    .passwordHash("$2a$10$hash" + i)
+                    .role(Role.STUDENT)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.getDatabase(DATABASE).drop();
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Should answer the credential lookup from the email_credentials index only")
+    void shouldUseCoveredIndexScan() {
+        Query query = UserAuthRepositoryAdapter.credentialsByEmail(EMAIL);
+
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(UserAuthDocument.class))
+                .find(query.getQueryObject())
+                .projection(query.getFieldsObject())
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+
+        // Solo el plan ganador: los rechazados (p. ej. el índice único de email + FETCH) no cuentan
+        String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+        Document stats = explain.get("executionStats", Document.class);
+
+        assertThat(winningPlan).contains("IXSCAN").contains(UserAuthIndexes.CREDENTIALS_INDEX).doesNotContain("FETCH");
+        assertThat(stats.get("nReturned", Number.class).intValue()).isEqualTo(1);
+        assertThat(stats.get("totalDocsExamined", Number.class).intValue()).isZero();
+    }
+}
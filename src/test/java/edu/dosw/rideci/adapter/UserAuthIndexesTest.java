@@ -0,0 +1,91 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
+import edu.dosw.rideci.infrastructure.persistence.mongodb.UserAuthIndexes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para UserAuthIndexes (índices requeridos al arrancar)
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserAuthIndexesTest {
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private UserAuthIndexes indexes;
+
+    @BeforeEach
+    void setup() {
+        when(mongoOperations.indexOps(UserAuthDocument.class)).thenReturn(indexOperations);
+        indexes = new UserAuthIndexes(mongoOperations);
+    }
+
+    @Test
+    @DisplayName("Should create the credentials index and both unique indexes")
+    void shouldEnsureAllIndexes() {
+        indexes.ensureIndexes();
+
+        verify(indexOperations, times(3)).ensureIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    @DisplayName("Should fail startup when existing duplicates block a unique index")
+    void shouldFailOnDuplicatedData() {
+        when(indexOperations.ensureIndex(named(UserAuthIndexes.EMAIL_UNIQUE_INDEX)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: rideci.userAuth index: email"));
+
+        assertThatThrownBy(() -> indexes.ensureIndexes())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("deduplicarlos");
+    }
+
+    @Test
+    @DisplayName("Should fail startup when a unique index cannot be created")
+    void shouldFailWhenUniqueIndexIsMissing() {
+        when(indexOperations.ensureIndex(named(UserAuthIndexes.INSTITUTIONAL_ID_UNIQUE_INDEX)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo caído"));
+
+        assertThatThrownBy(() -> indexes.ensureIndexes())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(UserAuthIndexes.INSTITUTIONAL_ID_UNIQUE_INDEX);
+    }
+
+    @Test
+    @DisplayName("Should only log when the credentials index fails")
+    void shouldContinueWithoutCredentialsIndex() {
+        when(indexOperations.ensureIndex(named(UserAuthIndexes.CREDENTIALS_INDEX)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo lento"));
+
+        assertThatCode(() -> indexes.ensureIndexes()).doesNotThrowAnyException();
+        verify(indexOperations, times(3)).ensureIndex(any(IndexDefinition.class));
+    }
+
+    private static IndexDefinition named(String name) {
+        return argThat(index -> index != null && name.equals(index.getIndexOptions().get("name")));
+    }
+}
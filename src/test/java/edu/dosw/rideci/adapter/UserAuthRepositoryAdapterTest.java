@@ -1,25 +1,51 @@
 package edu.dosw.rideci.adapter;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.result.UpdateResult;
 import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
 import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.exceptions.DuplicateUserException;
 import edu.dosw.rideci.infrastructure.persistence.entity.UserAuthDocument;
+import edu.dosw.rideci.infrastructure.persistence.mongodb.UserAuthIndexes;
 import edu.dosw.rideci.infrastructure.persistence.mongodb.UserAuthRepository;
 import edu.dosw.rideci.infrastructure.persistence.repository.UserAuthRepositoryAdapter;
 import edu.dosw.rideci.infrastructure.persistence.repository.mapper.UserAuthMapper;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,6 +60,9 @@ class UserAuthRepositoryAdapterTest {
     @Mock
     private UserAuthMapper userAuthMapper;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private UserAuthRepositoryAdapter userAuthRepositoryAdapter;
 
@@ -146,6 +175,43 @@ class UserAuthRepositoryAdapterTest {
         verify(userAuthMapper, never()).toDomain(any());
     }
 
+    @Test
+    @DisplayName("Should read login credentials through the covered projection")
+    void shouldFindCredentialsByEmail() {
+        String email = "david.palacios-p@mail.escuelaing.edu.co";
+        ObjectId id = new ObjectId();
+        Document projected = new Document("_id", id)
+                .append("passwordHash", "$2a$10$hashedPassword")
+                .append("role", "STUDENT")
+                .append("name", "David")
+                .append("institutionalId", 1000100282L);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+        when(mongoTemplate.findOne(query.capture(), eq(Document.class), eq("userAuth"))).thenReturn(projected);
+
+        Optional<UserCredentials> result = userAuthRepositoryAdapter.findCredentialsByEmail(email);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(id.toHexString());
+        assertThat(result.get().getEmail()).isEqualTo(email);
+        assertThat(result.get().getPasswordHash()).isEqualTo("$2a$10$hashedPassword");
+        assertThat(result.get().getRole()).isEqualTo(Role.STUDENT);
+        assertThat(result.get().getInstitutionalId()).isEqualTo(1000100282L);
+        assertThat(query.getValue().getFieldsObject())
+                .containsOnlyKeys("_id", "passwordHash", "role", "name", "institutionalId");
+        verify(mongoRepository, never()).findByEmail(any());
+        verify(userAuthMapper, never()).toDomain(any());
+    }
+
+    @Test
+    @DisplayName("Should return empty credentials when email does not exist")
+    void shouldReturnEmptyCredentialsWhenEmailNotFound() {
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("userAuth"))).thenReturn(null);
+
+        assertThat(userAuthRepositoryAdapter.findCredentialsByEmail("inexistente@mail.escuelaing.edu.co")).isEmpty();
+    }
+
     @Test
     @DisplayName("Should return true when email exists")
     void shouldReturnTrueWhenEmailExists() {
@@ -172,6 +238,67 @@ class UserAuthRepositoryAdapterTest {
         verify(mongoRepository, times(1)).existsByEmail(email);
     }
 
+    @Test
+    @DisplayName("Should return true when institutionalId exists")
+    void shouldCheckInstitutionalIdField() {
+        when(mongoRepository.existsByInstitutionalId(1000100282L)).thenReturn(true);
+
+        assertThat(userAuthRepositoryAdapter.existsByInstitutionalId(1000100282L)).isTrue();
+
+        verify(mongoRepository).existsByInstitutionalId(1000100282L);
+    }
+
+    @Test
+    @DisplayName("Should insert a new UserAuth without replacing")
+    void shouldInsertUserAuth() {
+        when(userAuthMapper.toDocument(userAuth)).thenReturn(userAuthDocument);
+        when(mongoTemplate.insert(userAuthDocument)).thenReturn(userAuthDocument);
+        when(userAuthMapper.toDomain(userAuthDocument)).thenReturn(userAuth);
+
+        UserAuth result = userAuthRepositoryAdapter.insert(userAuth);
+
+        assertThat(result.getId()).isEqualTo("idididid123");
+        verify(mongoTemplate).insert(userAuthDocument);
+        verify(mongoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should translate a duplicate email into DuplicateUserException")
+    void shouldTranslateDuplicateEmail() {
+        when(userAuthMapper.toDocument(userAuth)).thenReturn(userAuthDocument);
+        when(mongoTemplate.insert(userAuthDocument)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: rideci.userAuth index: email dup key: { email: \"david.palacios-p@mail.escuelaing.edu.co\" }"));
+
+        assertThatThrownBy(() -> userAuthRepositoryAdapter.insert(userAuth))
+                .isInstanceOf(DuplicateUserException.class)
+                .hasMessage("El email ya está registrado")
+                .extracting(e -> ((DuplicateUserException) e).getField())
+                .isEqualTo(DuplicateUserException.Field.EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should translate a duplicate institutionalId into DuplicateUserException")
+    void shouldTranslateDuplicateInstitutionalId() {
+        when(userAuthMapper.toDocument(userAuth)).thenReturn(userAuthDocument);
+        when(mongoTemplate.insert(userAuthDocument)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: rideci.userAuth index: institutionalId dup key: { institutionalId: 1000100282 }"));
+
+        assertThatThrownBy(() -> userAuthRepositoryAdapter.insert(userAuth))
+                .isInstanceOf(DuplicateUserException.class)
+                .hasMessage("Carnet ya registrado");
+    }
+
+    @Test
+    @DisplayName("Should rethrow duplicates on other indexes unchanged")
+    void shouldRethrowUnknownDuplicate() {
+        DuplicateKeyException other = new DuplicateKeyException(
+                "E11000 duplicate key error collection: rideci.userAuth index: _id_ dup key: { _id: \"idididid123\" }");
+        when(userAuthMapper.toDocument(userAuth)).thenReturn(userAuthDocument);
+        when(mongoTemplate.insert(userAuthDocument)).thenThrow(other);
+
+        assertThatThrownBy(() -> userAuthRepositoryAdapter.insert(userAuth)).isSameAs(other);
+    }
+
     @Test
     @DisplayName("Should update UserAuth - Success")
     void shouldUpdateUserAuth() {
@@ -198,8 +325,8 @@ class UserAuthRepositoryAdapterTest {
                 .lastLogin(now)
                 .build();
 
-        when(mongoRepository.findById(userId)).thenReturn(Optional.of(userAuthDocument));
-        when(mongoRepository.save(any(UserAuthDocument.class))).thenReturn(updatedDocument);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(UserAuthDocument.class))).thenReturn(updatedDocument);
         when(userAuthMapper.toDomain(updatedDocument)).thenReturn(updatedUserAuth);
 
         UserAuth result = userAuthRepositoryAdapter.update(userId, updatedUserAuth);
@@ -209,8 +336,8 @@ class UserAuthRepositoryAdapterTest {
         assertThat(result.getPasswordHash()).isEqualTo("$2a$10$newHashedPassword");
         assertThat(result.getRole()).isEqualTo(Role.PROFESSOR);
 
-        verify(mongoRepository, times(1)).findById(userId);
-        verify(mongoRepository, times(1)).save(any(UserAuthDocument.class));
+        verify(mongoRepository, never()).findById(any());
+        verify(mongoRepository, never()).save(any());
         verify(userAuthMapper, times(1)).toDomain(updatedDocument);
     }
 
@@ -224,13 +351,13 @@ class UserAuthRepositoryAdapterTest {
                 .role(Role.PROFESSOR)
                 .build();
 
-        when(mongoRepository.findById(userId)).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(UserAuthDocument.class))).thenReturn(null);
 
         assertThatThrownBy(() -> userAuthRepositoryAdapter.update(userId, updatedUserAuth))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Usuario no encontrado");
 
-        verify(mongoRepository, times(1)).findById(userId);
         verify(mongoRepository, never()).save(any());
         verify(userAuthMapper, never()).toDomain(any());
     }
@@ -314,35 +441,225 @@ class UserAuthRepositoryAdapterTest {
     @Test
     @DisplayName("Should update only password and role")
     void shouldUpdateOnlyPasswordAndRole() {
-        // Given
         String userId = "idididid123";
-        String originalEmail = "david.palacios-p@mail.escuelaing.edu.co";
-        Long originalInstitutionalId = 1000100282L;
-        LocalDateTime originalCreatedAt = now;
-
         UserAuth updatedUserAuth = UserAuth.builder()
                 .passwordHash("$2a$10$newHashedPassword")
                 .role(Role.ADMINISTRATOR)
                 .build();
 
-        when(mongoRepository.findById(userId)).thenReturn(Optional.of(userAuthDocument));
-        when(mongoRepository.save(any(UserAuthDocument.class))).thenAnswer(invocation -> {
-            UserAuthDocument doc = invocation.getArgument(0);
-
-            assertThat(doc.getEmail()).isEqualTo(originalEmail);
-            assertThat(doc.getInstitutionalId()).isEqualTo(originalInstitutionalId);
-            assertThat(doc.getCreatedAt()).isEqualTo(originalCreatedAt);
-            assertThat(doc.getPasswordHash()).isEqualTo("$2a$10$newHashedPassword");
-            assertThat(doc.getRole()).isEqualTo(Role.ADMINISTRATOR);
-            return doc;
-        });
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        when(mongoTemplate.findAndModify(query.capture(), update.capture(), options.capture(),
+                eq(UserAuthDocument.class))).thenReturn(userAuthDocument);
         when(userAuthMapper.toDomain(any(UserAuthDocument.class))).thenReturn(userAuth);
 
-        UserAuth result = userAuthRepositoryAdapter.update(userId, updatedUserAuth);
+        userAuthRepositoryAdapter.update(userId, updatedUserAuth);
 
-        verify(mongoRepository, times(1)).findById(userId);
-        verify(mongoRepository, times(1)).save(any(UserAuthDocument.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("_id", userId);
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set).containsOnlyKeys("passwordHash", "role");
+        assertThat(set.get("passwordHash")).isEqualTo("$2a$10$newHashedPassword");
+        assertThat(set.get("role")).isEqualTo(Role.ADMINISTRATOR);
+        assertThat(options.getValue().isReturnNew()).isTrue();
+        verify(mongoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the stored hash when updating a user read without passwordHash")
+    void shouldUpdateOnlyRoleWithoutPasswordHash() {
+        UserAuth hashless = UserAuth.builder().role(Role.ADMINISTRATOR).build();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        when(mongoTemplate.findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(UserAuthDocument.class))).thenReturn(userAuthDocument);
+        when(userAuthMapper.toDomain(any(UserAuthDocument.class))).thenReturn(userAuth);
+
+        userAuthRepositoryAdapter.update("idididid123", hashless);
+
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set).containsOnlyKeys("role");
     }
+
+    @Test
+    @DisplayName("Should keep the stored hash when saving a user read without passwordHash")
+    void shouldSaveWithoutOverwritingPasswordHash() {
+        UserAuth hashless = UserAuth.builder()
+                .id("idididid123")
+                .email("david.palacios-p@mail.escuelaing.edu.co")
+                .institutionalId(1000100282L)
+                .role(Role.STUDENT)
+                .build();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        when(mongoTemplate.findAndModify(query.capture(), update.capture(), options.capture(),
+                eq(UserAuthDocument.class))).thenReturn(userAuthDocument);
+        when(userAuthMapper.toDomain(any(UserAuthDocument.class))).thenReturn(userAuth);
+
+        UserAuth result = userAuthRepositoryAdapter.save(hashless);
+
+        assertThat(result.getPasswordHash()).isEqualTo("$2a$10$hashedPassword");
+        assertThat(query.getValue().getQueryObject()).containsEntry("_id", "idididid123");
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set).doesNotContainKey("passwordHash").containsEntry("email", hashless.getEmail());
+        assertThat(options.getValue().isUpsert()).isTrue();
+        verify(mongoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should update only the password hash with a single $set")
+    void shouldUpdatePasswordHashOnly() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        when(mongoTemplate.updateFirst(any(Query.class), update.capture(), eq(UserAuthDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        boolean result = userAuthRepositoryAdapter.updatePasswordHash("idididid123", "$2a$10$newHashedPassword");
+
+        assertThat(result).isTrue();
+        Document updateObject = update.getValue().getUpdateObject();
+        assertThat(updateObject).containsOnlyKeys("$set");
+        assertThat(updateObject.get("$set", Document.class))
+                .containsExactly(Map.entry("passwordHash", "$2a$10$newHashedPassword"));
+        verify(mongoRepository, never()).findById(any());
+        verify(mongoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should set the password hash by email in one findAndModify and return the id")
+    void shouldUpdatePasswordHashByEmail() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+        when(mongoTemplate.findAndModify(query.capture(), update.capture(), eq(Document.class), eq("userAuth")))
+                .thenReturn(new Document("_id", "idididid123"));
+
+        assertThat(userAuthRepositoryAdapter.updatePasswordHashByEmail("a@mail.escuelaing.edu.co", "$2a$10$x"))
+                .contains("idididid123");
+
+        assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("email", "a@mail.escuelaing.edu.co"));
+        assertThat(query.getValue().getFieldsObject()).isEqualTo(new Document("_id", 1));
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class))
+                .containsExactly(Map.entry("passwordHash", "$2a$10$x"));
+        verify(mongoRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("Should return empty when the email matches no user")
+    void shouldReturnEmptyWhenEmailMatchesNothing() {
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+
+        assertThat(userAuthRepositoryAdapter.updatePasswordHashByEmail("noExiste@mail.escuelaing.edu.co", "$2a$10$x"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report false when the field update matches no user")
+    void shouldReturnFalseWhenFieldUpdateMatchesNothing() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(UserAuthDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThat(userAuthRepositoryAdapter.updatePasswordHash("noExiste", "$2a$10$x")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should insert a batch with one unordered bulk and assign ids before inserting")
+    void shouldInsertAllUnordered() {
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserAuthDocument.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        UserAuth first = UserAuth.builder().email("a@mail.escuelaing.edu.co").build();
+        UserAuth second = UserAuth.builder().email("b@mail.escuelaing.edu.co").build();
+
+        assertThat(userAuthRepositoryAdapter.insertAll(List.of(first, second))).isEmpty();
+
+        assertThat(first.getId()).isNotNull().isNotEqualTo(second.getId());
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Should report duplicates per position without failing the rest of the batch")
+    void shouldReportBulkDuplicatesPerRow() {
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        BulkOperationException bulkError = mock(BulkOperationException.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserAuthDocument.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(bulkError);
+        when(bulkError.getErrors()).thenReturn(List.of(
+                new BulkWriteError(11000, "E11000 duplicate key error collection: rideci.userAuth index: "
+                        + UserAuthIndexes.INSTITUTIONAL_ID_UNIQUE_INDEX + " dup key: { institutionalId: 1 }", new BsonDocument(), 2),
+                new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)));
+
+        Map<Integer, RuntimeException> errors = userAuthRepositoryAdapter.insertAll(List.of(
+                UserAuth.builder().build(), UserAuth.builder().build(), UserAuth.builder().build()));
+
+        assertThat(errors).containsOnlyKeys(0, 2);
+        assertThat(errors.get(2)).isInstanceOfSatisfying(DuplicateUserException.class,
+                e -> assertThat(e.getField()).isEqualTo(DuplicateUserException.Field.INSTITUTIONAL_ID));
+        assertThat(errors.get(0)).isNotInstanceOf(DuplicateUserException.class);
+    }
+
+    @Test
+    @DisplayName("Should bulk delete the ids read by email with one $in deleteMany and return them")
+    void shouldDeleteAllByEmail() {
+        Set<String> emails = Set.of("a@mail.escuelaing.edu.co", "b@mail.escuelaing.edu.co");
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("userAuth")))
+                .thenReturn(List.of(new Document("_id", "id-a"), new Document("_id", "id-b")));
+
+        assertThat(userAuthRepositoryAdapter.deleteAllByEmail(emails)).containsExactly("id-a", "id-b");
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).remove(removed.capture(), eq(UserAuthDocument.class));
+        assertThat(removed.getValue().getQueryObject())
+                .isEqualTo(new Document("_id", new Document("$in", List.of("id-a", "id-b"))));
+        verifyNoInteractions(mongoRepository);
+    }
+
+    @Test
+    @DisplayName("Should skip the delete when no email matches")
+    void shouldSkipDeleteAllWhenNothingMatches() {
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("userAuth"))).thenReturn(List.of());
+
+        assertThat(userAuthRepositoryAdapter.deleteAllByEmail(Set.of("nadie@mail.escuelaing.edu.co"))).isEmpty();
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(UserAuthDocument.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should stream users from a projected, batched cursor and close it")
+    void shouldStreamUsersFromCursor() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        FindIterable<Document> find = mock(FindIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        ObjectId id = new ObjectId();
+        when(mongoTemplate.getCollectionName(UserAuthDocument.class)).thenReturn("userAuth");
+        when(mongoTemplate.getCollection("userAuth")).thenReturn(collection);
+        when(collection.find()).thenReturn(find);
+        when(find.projection(any())).thenReturn(find);
+        when(find.sort(any())).thenReturn(find);
+        when(find.batchSize(anyInt())).thenReturn(find);
+        when(find.cursor()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn(new Document("_id", id).append("email", "a@mail.escuelaing.edu.co"));
+
+        List<Map<String, Object>> exported = new ArrayList<>();
+        userAuthRepositoryAdapter.forEachUser(new LinkedHashSet<>(List.of("id", "email", "role")), 500, exported::add);
+
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0).keySet()).containsExactly("id", "email", "role");
+        assertThat(exported.get(0))
+                .containsEntry("id", id.toHexString())
+                .containsEntry("email", "a@mail.escuelaing.edu.co")
+                .doesNotContainKey("passwordHash");
+        verify(find).projection(new Document("_id", 1).append("email", 1).append("role", 1));
+        verify(find).batchSize(500);
+        verify(cursor).close();
+    }
+
     @Test
     @DisplayName("Should delete UserAuth - Success")
     void shouldDeleteUserAuth() {
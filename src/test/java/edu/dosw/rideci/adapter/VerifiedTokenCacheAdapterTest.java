@@ -0,0 +1,96 @@
+package edu.dosw.rideci.adapter;
+
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.infrastructure.adapters.VerifiedTokenCacheAdapter;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para VerifiedTokenCacheAdapter
+ */
+class VerifiedTokenCacheAdapterTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-04T05:06:07Z");
+
+    private final AtomicLong ticker = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCacheAdapter cache;
+
+    @BeforeEach
+    void setup() {
+        JwtProperties properties = new JwtProperties();
+        properties.getIntrospection().setCacheMaxTtl(Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCacheAdapter(properties, meterRegistry, ticker::get, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should return a cached token until it expires")
+    void shouldExpireWithToken() {
+        cache.put("token-a", tokenExpiringIn(Duration.ofSeconds(30)));
+
+        advance(Duration.ofSeconds(29));
+        assertThat(cache.get("token-a")).isPresent();
+
+        advance(Duration.ofSeconds(2));
+        assertThat(cache.get("token-a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should cap the entry lifetime at cache-max-ttl")
+    void shouldCapAtMaxTtl() {
+        cache.put("token-a", tokenExpiringIn(Duration.ofMinutes(30)));
+
+        advance(Duration.ofMinutes(5).plusSeconds(1));
+
+        assertThat(cache.get("token-a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not store an already expired token")
+    void shouldNotStoreExpiredToken() {
+        cache.put("token-a", tokenExpiringIn(Duration.ofSeconds(-1)));
+
+        assertThat(cache.get("token-a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should record hits and misses")
+    void shouldRecordHitsAndMisses() {
+        cache.put("token-a", tokenExpiringIn(Duration.ofMinutes(1)));
+
+        cache.get("token-a");
+        cache.get("token-a");
+        cache.get("token-b");
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private void advance(Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+
+    private static VerifiedToken tokenExpiringIn(Duration duration) {
+        return VerifiedToken.builder()
+                .subject("a@mail.escuelaing.edu.co")
+                .userId(1L)
+                .type(VerifiedToken.ACCESS)
+                .role("STUDENT")
+                .issuedAt(Date.from(NOW))
+                .expiresAt(Date.from(NOW.plus(duration)))
+                .build();
+    }
+}
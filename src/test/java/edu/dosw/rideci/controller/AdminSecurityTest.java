@@ -0,0 +1,212 @@
+package edu.dosw.rideci.controller;
+
+import edu.dosw.rideci.application.port.in.ImportUsersUseCase;
+import edu.dosw.rideci.application.port.out.LastLoginRecorderOutPort;
+import edu.dosw.rideci.application.port.out.OutboxOutPort;
+import edu.dosw.rideci.application.port.out.RefreshTokenRepositoryOutPort;
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.application.service.AuthService;
+import edu.dosw.rideci.application.service.PasswordResetService;
+import edu.dosw.rideci.application.service.UserExportService;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.infrastructure.concurrency.AuthIoExecutor;
+import edu.dosw.rideci.infrastructure.config.SecurityConfig;
+import edu.dosw.rideci.infrastructure.config.UserExportProperties;
+import edu.dosw.rideci.infrastructure.controllers.AdminUserController;
+import edu.dosw.rideci.infrastructure.controllers.AuthController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas de seguridad para /auth/register y /admin/** con los filtros reales (SecurityConfig + JwtAuthenticationFilter)
+ * AuthService y UserExportService son los reales; solo se simulan los puertos de salida
+ */
+@WebMvcTest(controllers = {AuthController.class, AdminUserController.class})
+@Import({SecurityConfig.class, AuthService.class, UserExportService.class, UserExportProperties.class})
+class AdminSecurityTest {
+
+    private static final String ADMIN_TOKEN = "admin-token";
+    private static final String STUDENT_TOKEN = "student-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TokenProviderOutPort tokenProvider;
+
+    @MockitoBean
+    private UserAuthRepositoryOutPort userAuthRepository;
+
+    @MockitoBean
+    private RefreshTokenRepositoryOutPort refreshTokenRepository;
+
+    @MockitoBean
+    private OutboxOutPort outbox;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private LastLoginRecorderOutPort lastLoginRecorder;
+
+    @MockitoBean
+    private AuthIoExecutor authIoExecutor;
+
+    @MockitoBean
+    private PasswordResetService passwordResetService;
+
+    @MockitoBean
+    private ImportUsersUseCase importUsersUseCase;
+
+    @BeforeEach
+    void setup() {
+        when(tokenProvider.verify(ADMIN_TOKEN)).thenReturn(Optional.of(accessToken("ADMINISTRATOR")));
+        when(tokenProvider.verify(STUDENT_TOKEN)).thenReturn(Optional.of(accessToken("STUDENT")));
+    }
+
+    @Test
+    @DisplayName("Should refuse a public registration that asks for ADMINISTRATOR, without creating the user")
+    void shouldRejectSelfRegisteredAdministrator() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(registration("ADMINISTRATOR")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("El rol ADMINISTRATOR no se puede elegir en el registro"));
+
+        verify(userAuthRepository, never()).insert(any(UserAuth.class));
+        verify(outbox, never()).enqueue(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should give 403 on /admin/** to the role a public registration can get")
+    void shouldForbidAdminForSelfRegisteredRole() throws Exception {
+        mockMvc.perform(get("/admin/users/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + STUDENT_TOKEN))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/admin/users/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + STUDENT_TOKEN)
+                        .contentType(AdminUserController.TEXT_CSV_VALUE)
+                        .content("email,role\nintruso@mail.escuelaing.edu.co,ADMINISTRATOR\n"))
+                .andExpect(status().isForbidden());
+
+        verify(importUsersUseCase, never()).importUsers(any(), any());
+        verify(userAuthRepository, never()).forEachUser(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer 401 on the export without an access token")
+    void shouldRequireTokenForExport() throws Exception {
+        mockMvc.perform(get("/admin/users/export"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/admin/users/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer token-invalido"))
+                .andExpect(status().isUnauthorized());
+
+        verify(userAuthRepository, never()).forEachUser(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should stream the export to an administrator without any passwordHash")
+    void shouldExportWithoutPasswordHash() throws Exception {
+        givenStoredUsers();
+
+        String body = mockMvc.perform(get("/admin/users/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + ADMIN_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(2).allSatisfy(line -> assertThat(line)
+                .contains("\"email\"")
+                .doesNotContain("passwordHash")
+                .doesNotContain("$argon2id"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to export passwordHash even when an administrator asks for it")
+    void shouldRejectPasswordHashField() throws Exception {
+        mockMvc.perform(get("/admin/users/export")
+                        .param("fields", "id,passwordHash")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + ADMIN_TOKEN))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(not(containsString("$argon2id"))));
+
+        verify(userAuthRepository, never()).forEachUser(any(), anyInt(), any());
+    }
+
+    // Simula la proyección de Mongo: el documento guardado sí tiene passwordHash, solo salen los campos pedidos
+    @SuppressWarnings("unchecked")
+    private void givenStoredUsers() {
+        List<Map<String, Object>> stored = List.of(
+                Map.of("id", "id-1", "email", "a@mail.escuelaing.edu.co", "role", "STUDENT", "passwordHash", "$argon2id$a"),
+                Map.of("id", "id-2", "email", "b@mail.escuelaing.edu.co", "role", "PROFESSOR", "passwordHash", "$argon2id$b"));
+        doAnswer(invocation -> {
+            Collection<String> fields = invocation.getArgument(0);
+            Consumer<Map<String, Object>> consumer = invocation.getArgument(2);
+            stored.forEach(user -> {
+                Map<String, Object> projected = new LinkedHashMap<>(user);
+                projected.keySet().retainAll(fields);
+                consumer.accept(projected);
+            });
+            return null;
+        }).when(userAuthRepository).forEachUser(any(), anyInt(), any());
+    }
+
+    private static VerifiedToken accessToken(String role) {
+        return VerifiedToken.builder()
+                .subject(role.toLowerCase() + "@mail.escuelaing.edu.co")
+                .userId(1000100282L)
+                .type(VerifiedToken.ACCESS)
+                .role(role)
+                .build();
+    }
+
+    private static String registration(String role) {
+        return """
+                {
+                    "name": "Intruso",
+                    "email": "intruso@mail.escuelaing.edu.co",
+                    "password": "Contraseña123*",
+                    "phoneNumber": "3193475479",
+                    "role": "%s",
+                    "identificationType": "CC",
+                    "identificationNumber": "1016948815",
+                    "address": "Calle 1",
+                    "institutionalId": 1000100282
+                }
+                """.formatted(role);
+    }
+}
@@ -5,6 +5,7 @@ import edu.dosw.rideci.application.service.PasswordResetService;
 import edu.dosw.rideci.domain.models.enums.AccountState;
 import edu.dosw.rideci.domain.models.enums.Role;
 import edu.dosw.rideci.domain.models.enums.identificationType;
+import edu.dosw.rideci.exceptions.ServiceBusyException;
 import edu.dosw.rideci.infrastructure.controllers.AuthController;
 import edu.dosw.rideci.infrastructure.controllers.dto.Request.LoginRequest;
 import edu.dosw.rideci.infrastructure.controllers.dto.Request.RefreshTokenRequest;
@@ -24,6 +25,7 @@ import org.springframework.security.core.token.TokenService;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -223,6 +225,27 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.institutionalId").value(1000100282L));
     }
 
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when password hashing is saturated")
+    void shouldReturnServiceUnavailableWhenHashingIsBusy() throws Exception {
+        // Given
+        when(authService.login(any(LoginRequest.class)))
+                .thenThrow(new ServiceBusyException("Servicio ocupado", Duration.ofSeconds(2)));
+
+        // When & Then
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {
+                            "email": "david.palacios-p@mail.escuelaing.edu.co",
+                            "password": "Contraseña123*"
+                        }
+                        """))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Servicio ocupado"));
+    }
+
     @Test
     @DisplayName("Should fail to login with missing email")
     void shouldFailLoginWithMissingEmail() throws Exception {
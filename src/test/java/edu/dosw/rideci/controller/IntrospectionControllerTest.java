@@ -0,0 +1,104 @@
+package edu.dosw.rideci.controller;
+
+import edu.dosw.rideci.application.service.TokenIntrospectionService;
+import edu.dosw.rideci.infrastructure.controllers.IntrospectionController;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.IntrospectionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para IntrospectionController
+ */
+@WebMvcTest(IntrospectionController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class IntrospectionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @Test
+    @DisplayName("Should introspect an active token sent as form data")
+    void shouldIntrospectActiveTokenFromForm() throws Exception {
+        when(tokenIntrospectionService.introspect("access-token")).thenReturn(IntrospectionResponse.builder()
+                .active(true)
+                .sub("david.palacios-p@mail.escuelaing.edu.co")
+                .exp(1741066567L)
+                .tokenType("Bearer")
+                .userId(1000100282L)
+                .role("STUDENT")
+                .build());
+
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "access-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.active").value(true))
+                .andExpect(jsonPath("$.sub").value("david.palacios-p@mail.escuelaing.edu.co"))
+                .andExpect(jsonPath("$.token_type").value("Bearer"))
+                .andExpect(jsonPath("$.user_id").value(1000100282L))
+                .andExpect(jsonPath("$.role").value("STUDENT"));
+    }
+
+    @Test
+    @DisplayName("Should answer only active=false for an invalid token sent as JSON")
+    void shouldIntrospectInactiveTokenFromJson() throws Exception {
+        when(tokenIntrospectionService.introspect("bad-token")).thenReturn(IntrospectionResponse.inactive());
+
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {
+                            "token": "bad-token"
+                        }
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(false))
+                .andExpect(jsonPath("$.sub").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should reject a request without token")
+    void shouldRejectMissingToken() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should introspect a batch of tokens in request order")
+    void shouldIntrospectBatch() throws Exception {
+        when(tokenIntrospectionService.introspectBatch(List.of("t1", "t2"))).thenReturn(List.of(
+                IntrospectionResponse.builder().active(true).userId(1L).build(),
+                IntrospectionResponse.inactive()));
+
+        mockMvc.perform(post("/auth/introspect/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {
+                            "tokens": ["t1", "t2"]
+                        }
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].active").value(true))
+                .andExpect(jsonPath("$.results[0].user_id").value(1))
+                .andExpect(jsonPath("$.results[1].active").value(false));
+    }
+}
@@ -0,0 +1,106 @@
+package edu.dosw.rideci.controller;
+
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.application.service.TokenIntrospectionService;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.infrastructure.config.SecurityConfig;
+import edu.dosw.rideci.infrastructure.controllers.IntrospectionController;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.IntrospectionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas de seguridad para /auth/introspect con los filtros reales (SecurityConfig + JwtAuthenticationFilter)
+ * RFC 7662 §2.1: quien pregunta por un token tiene que autenticarse
+ */
+@WebMvcTest(IntrospectionController.class)
+@Import(SecurityConfig.class)
+class IntrospectionSecurityTest {
+
+    private static final String ADMIN_TOKEN = "admin-token";
+    private static final String STUDENT_TOKEN = "student-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TokenProviderOutPort tokenProvider;
+
+    @MockitoBean
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @BeforeEach
+    void setup() {
+        when(tokenProvider.verify(ADMIN_TOKEN)).thenReturn(Optional.of(accessToken("ADMINISTRATOR")));
+        when(tokenProvider.verify(STUDENT_TOKEN)).thenReturn(Optional.of(accessToken("STUDENT")));
+    }
+
+    @Test
+    @DisplayName("Should answer 401 on introspection without an access token")
+    void shouldRequireTokenForIntrospection() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "access-token"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/introspect/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\": [\"access-token\"]}"))
+                .andExpect(status().isUnauthorized());
+
+        verify(tokenIntrospectionService, never()).introspect(anyString());
+        verify(tokenIntrospectionService, never()).introspectBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should give 403 on introspection to a non-administrator token")
+    void shouldForbidIntrospectionForStudent() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + STUDENT_TOKEN)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "access-token"))
+                .andExpect(status().isForbidden());
+
+        verify(tokenIntrospectionService, never()).introspect(anyString());
+    }
+
+    @Test
+    @DisplayName("Should introspect for an administrator token")
+    void shouldIntrospectForAdministrator() throws Exception {
+        when(tokenIntrospectionService.introspect("access-token"))
+                .thenReturn(IntrospectionResponse.builder().active(true).build());
+
+        mockMvc.perform(post("/auth/introspect")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + ADMIN_TOKEN)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "access-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(true));
+    }
+
+    private static VerifiedToken accessToken(String role) {
+        return VerifiedToken.builder()
+                .subject(role.toLowerCase() + "@mail.escuelaing.edu.co")
+                .userId(1000100282L)
+                .type(VerifiedToken.ACCESS)
+                .role(role)
+                .build();
+    }
+}
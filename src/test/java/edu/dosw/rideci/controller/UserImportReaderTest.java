@@ -0,0 +1,84 @@
+package edu.dosw.rideci.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.infrastructure.controllers.UserImportReader;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.UserImportRow;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias para UserImportReader (NDJSON y CSV en streaming)
+ */
+class UserImportReaderTest {
+
+    private static final String VALID_JSON = "{\"name\":\"Ana\",\"email\":\"ana@mail.escuelaing.edu.co\","
+            + "\"password\":\"Contraseña123*\",\"phoneNumber\":\"3001234567\",\"role\":\"STUDENT\","
+            + "\"identificationType\":\"CC\",\"identificationNumber\":\"1001\",\"address\":\"Calle 1\","
+            + "\"institutionalId\":1000100282}";
+
+    private static final String CSV_HEADER =
+            "name,email,password,phoneNumber,role,identificationType,identificationNumber,address,institutionalId";
+
+    private ObjectMapper objectMapper;
+    private Validator validator;
+
+    @BeforeEach
+    void setup() {
+        objectMapper = new ObjectMapper();
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Test
+    @DisplayName("Should read NDJSON line by line and keep going after bad rows")
+    void shouldReadNdjson() {
+        List<UserImportRow> rows = read(UserImportReader.Format.NDJSON, String.join("\n",
+                VALID_JSON,
+                "",
+                "{no es json",
+                VALID_JSON.replace("ana@mail.escuelaing.edu.co", "ana@gmail.com")));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).isValid()).isTrue();
+        assertThat(rows.get(0).getRequest().getRole()).isEqualTo(Role.STUDENT);
+        assertThat(rows.get(0).getRequest().getAddress()).isEqualTo("Calle 1");
+        assertThat(rows.get(1).getLine()).isEqualTo(3);
+        assertThat(rows.get(1).getError()).isEqualTo("Fila mal formada");
+        assertThat(rows.get(2).getEmail()).isEqualTo("ana@gmail.com");
+        assertThat(rows.get(2).getError()).contains("@escuelaing.edu.co");
+    }
+
+    @Test
+    @DisplayName("Should map CSV columns by header, honoring quoted commas")
+    void shouldReadCsv() {
+        List<UserImportRow> rows = read(UserImportReader.Format.CSV, String.join("\n",
+                CSV_HEADER,
+                "Ana,ana@mail.escuelaing.edu.co,Contraseña123*,3001234567,STUDENT,CC,1001,\"Calle 1, apto \"\"2\"\"\",1000100282",
+                "Luis,luis@mail.escuelaing.edu.co,Contraseña123*,3001234567"));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).isValid()).isTrue();
+        assertThat(rows.get(0).getLine()).isEqualTo(2);
+        assertThat(rows.get(0).getRequest().getAddress()).isEqualTo("Calle 1, apto \"2\"");
+        assertThat(rows.get(0).getRequest().getInstitutionalId()).isEqualTo(1000100282L);
+        assertThat(rows.get(1).getError()).isEqualTo("Se esperaban 9 columnas y hay 4");
+    }
+
+    private List<UserImportRow> read(UserImportReader.Format format, String content) {
+        UserImportReader reader = new UserImportReader(new BufferedReader(new StringReader(content)), format,
+                objectMapper, validator);
+        List<UserImportRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
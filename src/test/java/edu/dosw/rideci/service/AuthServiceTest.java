@@ -0,0 +1,259 @@
+package edu.dosw.rideci.service;
+
+import edu.dosw.rideci.application.events.UserEvent;
+import edu.dosw.rideci.application.port.in.RegisterUserUseCase;
+import edu.dosw.rideci.application.port.out.LastLoginRecorderOutPort;
+import edu.dosw.rideci.application.port.out.OutboxOutPort;
+import edu.dosw.rideci.application.port.out.RefreshTokenRepositoryOutPort;
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.application.service.AuthService;
+import edu.dosw.rideci.domain.models.RefreshToken;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
+import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.domain.models.enums.identificationType;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.exceptions.DuplicateUserException;
+import edu.dosw.rideci.infrastructure.concurrency.AuthIoExecutor;
+import edu.dosw.rideci.infrastructure.config.AuthIoProperties;
+import edu.dosw.rideci.infrastructure.config.MongoConfig;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.LoginRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.RegisterRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.AuthResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para AuthService (perfil servlet)
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String EMAIL = "david.palacios-p@mail.escuelaing.edu.co";
+    private static final String PASSWORD = "Contraseña123*";
+    private static final String OLD_HASH = "{bcrypt}$2a$10$hash";
+
+    @Mock
+    private UserAuthRepositoryOutPort userAuthRepository;
+
+    @Mock
+    private RefreshTokenRepositoryOutPort refreshTokenRepository;
+
+    @Mock
+    private OutboxOutPort outbox;
+
+    @Mock
+    private TokenProviderOutPort tokenProvider;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private LastLoginRecorderOutPort lastLoginRecorder;
+
+    private AuthService authService;
+    private LoginRequest loginRequest;
+    private RegisterRequest registerRequest;
+
+    @BeforeEach
+    void setup() {
+        AuthIoProperties ioProperties = new AuthIoProperties();
+        ioProperties.setPoolSize(2);
+        authService = new AuthService(userAuthRepository, refreshTokenRepository, outbox, tokenProvider,
+                passwordEncoder, lastLoginRecorder, new AuthIoExecutor(ioProperties, new SimpleMeterRegistry()));
+
+        loginRequest = new LoginRequest();
+        loginRequest.setEmail(EMAIL);
+        loginRequest.setPassword(PASSWORD);
+
+        registerRequest = RegisterRequest.builder()
+                .name("David")
+                .email(EMAIL)
+                .password(PASSWORD)
+                .phoneNumber("3193475479")
+                .role(Role.STUDENT)
+                .identificationType(identificationType.CC)
+                .identificationNumber("1000100282")
+                .Address("Calle 1")
+                .institutionalId(1000100282L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should register by inserting directly, without existence queries, and enqueue the event")
+    void shouldRegisterInsertFirst() {
+        when(passwordEncoder.encode(PASSWORD)).thenReturn("{argon2}$argon2id$hash");
+        ArgumentCaptor<UserAuth> inserted = ArgumentCaptor.forClass(UserAuth.class);
+        when(userAuthRepository.insert(inserted.capture())).thenAnswer(invocation -> {
+            UserAuth userAuth = invocation.getArgument(0);
+            userAuth.setId("id-1");
+            return userAuth;
+        });
+
+        assertThat(authService.registerUser(registerRequest).getEmail()).isEqualTo(EMAIL);
+
+        assertThat(inserted.getValue().getPasswordHash()).isEqualTo("{argon2}$argon2id$hash");
+        verify(userAuthRepository, never()).existsByEmail(anyString());
+        verify(userAuthRepository, never()).existsByInstitutionalId(anyLong());
+        verify(outbox).enqueue(any(UserEvent.class), eq("auth.user.create"));
+    }
+
+    @Test
+    @DisplayName("Should rethrow a duplicate from the unique index and enqueue nothing")
+    void shouldRejectDuplicateOnInsert() {
+        when(passwordEncoder.encode(PASSWORD)).thenReturn("{argon2}$argon2id$hash");
+        when(userAuthRepository.insert(any(UserAuth.class)))
+                .thenThrow(new DuplicateUserException(DuplicateUserException.Field.EMAIL));
+
+        assertThatThrownBy(() -> authService.registerUser(registerRequest))
+                .isInstanceOf(DuplicateUserException.class)
+                .hasMessage("El email ya está registrado");
+
+        verify(outbox, never()).enqueue(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a self-registration as ADMINISTRATOR before hashing or inserting")
+    void shouldRejectSelfRegisteredAdministrator() {
+        registerRequest.setRole(Role.ADMINISTRATOR);
+
+        assertThatThrownBy(() -> authService.registerUser(registerRequest))
+                .isInstanceOf(AuthException.class)
+                .hasMessage("El rol ADMINISTRATOR no se puede elegir en el registro");
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userAuthRepository, never()).insert(any(UserAuth.class));
+        verify(outbox, never()).enqueue(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should insert the user and enqueue its event inside one Mongo transaction, committed once")
+    void shouldRegisterUserAndEventInOneTransaction() {
+        PlatformTransactionManager mongoTransactions = mock(PlatformTransactionManager.class);
+        PlatformTransactionManager otherTransactions = mock(PlatformTransactionManager.class);
+        TransactionStatus status = new SimpleTransactionStatus();
+        when(mongoTransactions.getTransaction(any())).thenReturn(status);
+        when(passwordEncoder.encode(PASSWORD)).thenReturn("{argon2}$argon2id$hash");
+        when(userAuthRepository.insert(any(UserAuth.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactional(mongoTransactions, otherTransactions).registerUser(registerRequest);
+
+        InOrder inOrder = inOrder(mongoTransactions, userAuthRepository, outbox);
+        inOrder.verify(mongoTransactions).getTransaction(any());
+        inOrder.verify(userAuthRepository).insert(any(UserAuth.class));
+        inOrder.verify(outbox).enqueue(any(UserEvent.class), eq("auth.user.create"));
+        inOrder.verify(mongoTransactions).commit(status);
+        verify(mongoTransactions, never()).rollback(any());
+        verifyNoInteractions(otherTransactions);
+    }
+
+    @Test
+    @DisplayName("Should roll back the inserted user when the outbox event cannot be written")
+    void shouldRollBackUserWhenOutboxFails() {
+        PlatformTransactionManager mongoTransactions = mock(PlatformTransactionManager.class);
+        TransactionStatus status = new SimpleTransactionStatus();
+        when(mongoTransactions.getTransaction(any())).thenReturn(status);
+        when(passwordEncoder.encode(PASSWORD)).thenReturn("{argon2}$argon2id$hash");
+        when(userAuthRepository.insert(any(UserAuth.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalStateException("Mongo caído")).when(outbox).enqueue(any(), anyString());
+
+        assertThatThrownBy(() -> transactional(mongoTransactions, mock(PlatformTransactionManager.class))
+                .registerUser(registerRequest))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(mongoTransactions).rollback(status);
+        verify(mongoTransactions, never()).commit(any());
+    }
+
+    // Proxy con el mismo interceptor que arma Spring: resuelve el transactionManager por nombre
+    private RegisterUserUseCase transactional(PlatformTransactionManager mongoTransactions,
+                                              PlatformTransactionManager otherTransactions) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean(MongoConfig.TRANSACTION_MANAGER, mongoTransactions);
+        beanFactory.addBean("transactionManager", otherTransactions);
+        TransactionInterceptor interceptor = new TransactionInterceptor();
+        interceptor.setTransactionAttributeSource(new AnnotationTransactionAttributeSource());
+        interceptor.setBeanFactory(beanFactory);
+
+        ProxyFactory proxyFactory = new ProxyFactory(authService);
+        proxyFactory.addAdvice(interceptor);
+        return (RegisterUserUseCase) proxyFactory.getProxy();
+    }
+
+    private void givenValidLogin(boolean upgrade) {
+        when(userAuthRepository.findCredentialsByEmail(EMAIL)).thenReturn(Optional.of(UserCredentials.builder()
+                .id("id-1")
+                .email(EMAIL)
+                .passwordHash(OLD_HASH)
+                .role(Role.STUDENT)
+                .name("David")
+                .institutionalId(1000100282L)
+                .build()));
+        when(passwordEncoder.matches(PASSWORD, OLD_HASH)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(OLD_HASH)).thenReturn(upgrade);
+        when(tokenProvider.generateAccessToken(EMAIL, "David", "STUDENT", 1000100282L)).thenReturn("access");
+        when(tokenProvider.generateRefreshToken(EMAIL, 1000100282L)).thenReturn("refresh");
+    }
+
+    @Test
+    @DisplayName("Should log in without rehashing an up-to-date hash")
+    void shouldLoginWithoutRehash() {
+        givenValidLogin(false);
+
+        assertThat(authService.login(loginRequest).getRefreshToken()).isEqualTo("refresh");
+
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(userAuthRepository, never()).updatePasswordHash(anyString(), anyString());
+        verify(refreshTokenRepository, never()).deleteByToken(any());
+    }
+
+    @Test
+    @DisplayName("Should still log in, keeping the refresh token, when the rehash fails")
+    void shouldLoginWhenRehashFails() {
+        givenValidLogin(true);
+        when(passwordEncoder.encode(PASSWORD)).thenReturn("{argon2}$argon2id$nuevo");
+        doThrow(new IllegalStateException("Mongo caído"))
+                .when(userAuthRepository).updatePasswordHash("id-1", "{argon2}$argon2id$nuevo");
+
+        AuthResponse response = authService.login(loginRequest);
+
+        assertThat(response.getAccessToken()).isEqualTo("access");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh");
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getToken()).isEqualTo("refresh");
+        verify(refreshTokenRepository, never()).deleteByToken(any());
+    }
+}
@@ -0,0 +1,90 @@
+package edu.dosw.rideci.service;
+
+import edu.dosw.rideci.application.port.out.EventPublisher;
+import edu.dosw.rideci.application.port.out.PasswordResetOutPort;
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.application.service.PasswordResetService;
+import edu.dosw.rideci.domain.models.PasswordResetTokenData;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.ResetPasswordRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para PasswordResetService
+ */
+@ExtendWith(MockitoExtension.class)
+class PasswordResetServiceTest {
+
+    private static final String EMAIL = "david.palacios-p@mail.escuelaing.edu.co";
+    private static final String TOKEN = "ABCD1234";
+
+    @Mock
+    private UserAuthRepositoryOutPort userAuthRepository;
+
+    @Mock
+    private PasswordResetOutPort resetCachePort;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @InjectMocks
+    private PasswordResetService passwordResetService;
+
+    private ResetPasswordRequest request;
+
+    @BeforeEach
+    void setup() {
+        request = new ResetPasswordRequest();
+        request.setResetToken(TOKEN);
+        request.setNewPassword("NuevaClave123*");
+        request.setConfirmPassword("NuevaClave123*");
+        when(resetCachePort.getResetToken(TOKEN)).thenReturn(Optional.of(PasswordResetTokenData.builder()
+                .email(EMAIL)
+                .createdAt(LocalDateTime.now())
+                .attempts(0)
+                .build()));
+        when(passwordEncoder.encode("NuevaClave123*")).thenReturn("$argon2id$nuevo");
+    }
+
+    @Test
+    @DisplayName("Should set the new hash by email without loading the user")
+    void shouldResetPasswordByEmail() {
+        when(userAuthRepository.updatePasswordHashByEmail(EMAIL, "$argon2id$nuevo")).thenReturn(Optional.of("id-1"));
+
+        passwordResetService.resetPassword(request);
+
+        verify(userAuthRepository, never()).findByEmail(anyString());
+        verify(resetCachePort).deleteResetToken(TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should fail and keep the token when no user matches the email")
+    void shouldFailWhenNothingMatched() {
+        when(userAuthRepository.updatePasswordHashByEmail(EMAIL, "$argon2id$nuevo")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> passwordResetService.resetPassword(request))
+                .isInstanceOf(AuthException.class)
+                .hasMessage("Usuario no encontrado");
+
+        verify(resetCachePort, never()).deleteResetToken(TOKEN);
+    }
+}
@@ -0,0 +1,234 @@
+package edu.dosw.rideci.service;
+
+import edu.dosw.rideci.application.port.out.LastLoginRecorderOutPort;
+import edu.dosw.rideci.application.port.out.ReactiveOutboxOutPort;
+import edu.dosw.rideci.application.port.out.ReactiveRefreshTokenRepositoryOutPort;
+import edu.dosw.rideci.application.port.out.ReactiveUserAuthRepositoryOutPort;
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.application.service.ReactiveAuthService;
+import edu.dosw.rideci.domain.models.RefreshToken;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.UserCredentials;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.LoginRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.RegisterRequest;
+import edu.dosw.rideci.infrastructure.security.ReactivePasswordEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para ReactiveAuthService (perfil reactive)
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveAuthServiceTest {
+
+    private static final String EMAIL = "david.palacios-p@mail.escuelaing.edu.co";
+    private static final String HASH = "$argon2id$v=19$m=19456,t=2,p=1$hash";
+
+    @Mock
+    private ReactiveUserAuthRepositoryOutPort userAuthRepository;
+
+    @Mock
+    private ReactiveRefreshTokenRepositoryOutPort refreshTokenRepository;
+
+    @Mock
+    private ReactiveOutboxOutPort outbox;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private TokenProviderOutPort tokenProvider;
+
+    @Mock
+    private ReactivePasswordEncoder passwordEncoder;
+
+    @Mock
+    private LastLoginRecorderOutPort lastLoginRecorder;
+
+    private ReactiveAuthService service;
+    private UserCredentials credentials;
+    private LoginRequest loginRequest;
+
+    @BeforeEach
+    void setup() {
+        service = new ReactiveAuthService(userAuthRepository, refreshTokenRepository, outbox,
+                transactionalOperator, tokenProvider, passwordEncoder, lastLoginRecorder);
+
+        credentials = UserCredentials.builder()
+                .id("idididid123")
+                .email(EMAIL)
+                .passwordHash(HASH)
+                .role(Role.STUDENT)
+                .name("David")
+                .institutionalId(1000100282L)
+                .build();
+
+        loginRequest = LoginRequest.builder()
+                .email(EMAIL)
+                .password("Contraseña123*")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should login, record lastLogin and store the refresh token")
+    void shouldLogin() {
+        when(userAuthRepository.findCredentialsByEmail(EMAIL)).thenReturn(Mono.just(credentials));
+        when(passwordEncoder.matches("Contraseña123*", HASH)).thenReturn(Mono.just(true));
+        when(passwordEncoder.upgradeEncoding(HASH)).thenReturn(false);
+        when(tokenProvider.generateAccessToken(EMAIL, "David", "STUDENT", 1000100282L)).thenReturn("access");
+        when(tokenProvider.generateRefreshToken(EMAIL, 1000100282L)).thenReturn("refresh");
+        when(refreshTokenRepository.save(any(RefreshToken.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(service.login(loginRequest))
+                .assertNext(response -> {
+                    assertThat(response.getAccessToken()).isEqualTo("access");
+                    assertThat(response.getRefreshToken()).isEqualTo("refresh");
+                    assertThat(response.getInstitutionalId()).isEqualTo(1000100282L);
+                })
+                .verifyComplete();
+
+        verify(lastLoginRecorder).recordLogin(eq("idididid123"), any(LocalDateTime.class));
+        verify(userAuthRepository, never()).updatePasswordHash(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should rehash on login when the stored hash is outdated")
+    void shouldRehashOutdatedHash() {
+        when(userAuthRepository.findCredentialsByEmail(EMAIL)).thenReturn(Mono.just(credentials));
+        when(passwordEncoder.matches("Contraseña123*", HASH)).thenReturn(Mono.just(true));
+        when(passwordEncoder.upgradeEncoding(HASH)).thenReturn(true);
+        when(passwordEncoder.encode("Contraseña123*")).thenReturn(Mono.just("$argon2id$nuevo"));
+        when(userAuthRepository.updatePasswordHash("idididid123", "$argon2id$nuevo")).thenReturn(Mono.just(true));
+        when(tokenProvider.generateAccessToken(anyString(), anyString(), anyString(), any())).thenReturn("access");
+        when(tokenProvider.generateRefreshToken(anyString(), any())).thenReturn("refresh");
+        when(refreshTokenRepository.save(any(RefreshToken.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(service.login(loginRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(userAuthRepository).updatePasswordHash("idididid123", "$argon2id$nuevo");
+    }
+
+    @Test
+    @DisplayName("Should still log in when the rehash fails")
+    void shouldLoginWhenRehashFails() {
+        when(userAuthRepository.findCredentialsByEmail(EMAIL)).thenReturn(Mono.just(credentials));
+        when(passwordEncoder.matches("Contraseña123*", HASH)).thenReturn(Mono.just(true));
+        when(passwordEncoder.upgradeEncoding(HASH)).thenReturn(true);
+        when(passwordEncoder.encode("Contraseña123*")).thenReturn(Mono.just("$argon2id$nuevo"));
+        when(userAuthRepository.updatePasswordHash("idididid123", "$argon2id$nuevo"))
+                .thenReturn(Mono.error(new IllegalStateException("Mongo caído")));
+        when(tokenProvider.generateAccessToken(anyString(), anyString(), anyString(), any())).thenReturn("access");
+        when(tokenProvider.generateRefreshToken(anyString(), any())).thenReturn("refresh");
+        when(refreshTokenRepository.save(any(RefreshToken.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(service.login(loginRequest))
+                .assertNext(response -> assertThat(response.getRefreshToken()).isEqualTo("refresh"))
+                .verifyComplete();
+
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Should fail with AuthException on wrong password")
+    void shouldRejectWrongPassword() {
+        when(userAuthRepository.findCredentialsByEmail(EMAIL)).thenReturn(Mono.just(credentials));
+        when(passwordEncoder.matches("Contraseña123*", HASH)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.login(loginRequest))
+                .expectErrorMatches(e -> e instanceof AuthException && e.getMessage().equals("Contraseña incorrecta"))
+                .verify();
+
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should fail with AuthException when the email is not registered")
+    void shouldRejectUnknownEmail() {
+        when(userAuthRepository.findCredentialsByEmail(EMAIL)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.login(loginRequest))
+                .expectErrorMatches(e -> e instanceof AuthException && e.getMessage().equals("Email no registrado"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should renew the access token from a stored refresh token")
+    void shouldRefresh() {
+        when(tokenProvider.verify("refresh")).thenReturn(Optional.of(VerifiedToken.builder()
+                .subject(EMAIL).userId(1000100282L).type(VerifiedToken.REFRESH).build()));
+        when(refreshTokenRepository.findByToken("refresh")).thenReturn(Mono.just(RefreshToken.builder()
+                .token("refresh").userAuthId("idididid123").expiresAt(LocalDateTime.now().plusDays(1)).build()));
+        when(userAuthRepository.findById("idididid123")).thenReturn(Mono.just(UserAuth.builder()
+                .id("idididid123").email(EMAIL).name("David").role(Role.STUDENT).institutionalId(1000100282L).build()));
+        when(tokenProvider.generateAccessToken(EMAIL, "David", "STUDENT", 1000100282L)).thenReturn("access-2");
+
+        StepVerifier.create(service.refreshAccessToken("refresh"))
+                .assertNext(response -> {
+                    assertThat(response.getAccessToken()).isEqualTo("access-2");
+                    assertThat(response.getRefreshToken()).isEqualTo("refresh");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should delete an expired refresh token and fail")
+    void shouldRejectExpiredRefreshToken() {
+        RefreshToken expired = RefreshToken.builder()
+                .token("refresh").userAuthId("idididid123").expiresAt(LocalDateTime.now().minusMinutes(1)).build();
+        when(tokenProvider.verify("refresh")).thenReturn(Optional.of(VerifiedToken.builder()
+                .subject(EMAIL).userId(1000100282L).type(VerifiedToken.REFRESH).build()));
+        when(refreshTokenRepository.findByToken("refresh")).thenReturn(Mono.just(expired));
+        when(refreshTokenRepository.deleteByToken(expired)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.refreshAccessToken("refresh"))
+                .expectErrorMatches(e -> e instanceof AuthException && e.getMessage().equals("Refresh token expirado"))
+                .verify();
+
+        verify(userAuthRepository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a self-registration as ADMINISTRATOR before hashing or inserting")
+    void shouldRejectSelfRegisteredAdministrator() {
+        RegisterRequest request = RegisterRequest.builder()
+                .email(EMAIL)
+                .password("Contraseña123*")
+                .role(Role.ADMINISTRATOR)
+                .institutionalId(1000100282L)
+                .build();
+
+        StepVerifier.create(service.registerUser(request))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(AuthException.class)
+                        .hasMessage("El rol ADMINISTRATOR no se puede elegir en el registro"))
+                .verify();
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userAuthRepository, never()).insert(any(UserAuth.class));
+    }
+}
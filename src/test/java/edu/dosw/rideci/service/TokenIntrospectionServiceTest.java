@@ -0,0 +1,134 @@
+package edu.dosw.rideci.service;
+
+import edu.dosw.rideci.application.port.out.TokenProviderOutPort;
+import edu.dosw.rideci.application.port.out.VerifiedTokenCacheOutPort;
+import edu.dosw.rideci.application.service.TokenIntrospectionService;
+import edu.dosw.rideci.domain.models.VerifiedToken;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.config.JwtProperties;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.IntrospectionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para TokenIntrospectionService
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private TokenProviderOutPort tokenProvider;
+
+    @Mock
+    private VerifiedTokenCacheOutPort verifiedTokenCache;
+
+    private JwtProperties jwtProperties;
+    private TokenIntrospectionService service;
+
+    @BeforeEach
+    void setup() {
+        jwtProperties = new JwtProperties();
+        service = new TokenIntrospectionService(tokenProvider, verifiedTokenCache, jwtProperties);
+    }
+
+    @Test
+    @DisplayName("Should answer from cache without verifying again")
+    void shouldUseCache() {
+        when(verifiedTokenCache.get("token-a")).thenReturn(Optional.of(token(VerifiedToken.ACCESS, 1L)));
+
+        IntrospectionResponse response = service.introspect("token-a");
+
+        assertThat(response.isActive()).isTrue();
+        assertThat(response.getUserId()).isEqualTo(1L);
+        verify(tokenProvider, never()).verify(anyString());
+    }
+
+    @Test
+    @DisplayName("Should cache only active access tokens")
+    void shouldCacheOnlyAccessTokens() {
+        when(verifiedTokenCache.get(anyString())).thenReturn(Optional.empty());
+        when(tokenProvider.verify("access")).thenReturn(Optional.of(token(VerifiedToken.ACCESS, 1L)));
+        when(tokenProvider.verify("refresh")).thenReturn(Optional.of(token(VerifiedToken.REFRESH, 1L)));
+
+        assertThat(service.introspect("access").isActive()).isTrue();
+        assertThat(service.introspect("refresh").isActive()).isFalse();
+        verify(verifiedTokenCache, times(1)).put(anyString(), any());
+        verify(verifiedTokenCache).put(eq("access"), any());
+    }
+
+    @Test
+    @DisplayName("Should keep request order and verify duplicates once")
+    void shouldIntrospectBatchInOrder() {
+        when(verifiedTokenCache.get(anyString())).thenReturn(Optional.empty());
+        when(tokenProvider.verify("t1")).thenReturn(Optional.of(token(VerifiedToken.ACCESS, 1L)));
+        when(tokenProvider.verify("t2")).thenReturn(Optional.empty());
+        when(tokenProvider.verify("t3")).thenReturn(Optional.of(token(VerifiedToken.ACCESS, 3L)));
+
+        List<IntrospectionResponse> results = service.introspectBatch(Arrays.asList("t3", "t1", "t2", "t1", null, "t3"));
+
+        assertThat(results).extracting(IntrospectionResponse::isActive)
+                .containsExactly(true, true, false, true, false, true);
+        assertThat(results).extracting(IntrospectionResponse::getUserId)
+                .containsExactly(3L, 1L, null, 1L, null, 3L);
+        verify(tokenProvider, times(1)).verify("t1");
+        verify(tokenProvider, times(1)).verify("t3");
+    }
+
+    @Test
+    @DisplayName("Should verify a batch on the calling thread, not on the common ForkJoinPool")
+    void shouldIntrospectBatchOnCallingThread() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        when(verifiedTokenCache.get(anyString())).thenReturn(Optional.empty());
+        when(tokenProvider.verify(anyString())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return Optional.empty();
+        });
+
+        service.introspectBatch(List.of("t1", "t2", "t3", "t4", "t5", "t6", "t7", "t8"));
+
+        assertThat(threads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    @DisplayName("Should reject batches larger than the configured maximum")
+    void shouldRejectOversizedBatch() {
+        jwtProperties.getIntrospection().setBatchMaxSize(2);
+
+        assertThatThrownBy(() -> service.introspectBatch(Collections.nCopies(3, "t")))
+                .isInstanceOf(AuthException.class)
+                .hasMessageContaining("2");
+    }
+
+    private static VerifiedToken token(String type, Long userId) {
+        return VerifiedToken.builder()
+                .subject("a@mail.escuelaing.edu.co")
+                .userId(userId)
+                .type(type)
+                .role("STUDENT")
+                .issuedAt(new Date())
+                .expiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+    }
+}
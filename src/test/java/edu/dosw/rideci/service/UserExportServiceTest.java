@@ -0,0 +1,84 @@
+package edu.dosw.rideci.service;
+
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.application.service.UserExportService;
+import edu.dosw.rideci.exceptions.AuthException;
+import edu.dosw.rideci.infrastructure.config.UserExportProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Pruebas unitarias para UserExportService
+ */
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+    @Mock
+    private UserAuthRepositoryOutPort userAuthRepositoryOutPort;
+
+    private UserExportProperties properties;
+    private UserExportService service;
+
+    @BeforeEach
+    void setup() {
+        properties = new UserExportProperties();
+        properties.setCursorBatchSize(250);
+        service = new UserExportService(userAuthRepositoryOutPort, properties);
+    }
+
+    @Test
+    @DisplayName("Should stream every user the cursor returns with the requested fields")
+    @SuppressWarnings("unchecked")
+    void shouldStreamRequestedFields() {
+        doAnswer(invocation -> {
+            Consumer<Map<String, Object>> consumer = invocation.getArgument(2);
+            consumer.accept(Map.of("id", "id-a", "email", "a@mail.escuelaing.edu.co"));
+            consumer.accept(Map.of("id", "id-b", "email", "b@mail.escuelaing.edu.co"));
+            return null;
+        }).when(userAuthRepositoryOutPort).forEachUser(any(), eq(250), any());
+
+        List<Map<String, Object>> exported = new ArrayList<>();
+        service.exportUsers(List.of("id", "email", "id"), exported::add);
+
+        assertThat(exported).extracting(user -> user.get("id")).containsExactly("id-a", "id-b");
+        verify(userAuthRepositoryOutPort).forEachUser(eq(Set.of("id", "email")), eq(250), any());
+    }
+
+    @Test
+    @DisplayName("Should use the default fields when none are requested")
+    void shouldUseDefaultFields() {
+        service.exportUsers(null, user -> { });
+
+        verify(userAuthRepositoryOutPort).forEachUser(eq(Set.copyOf(properties.getDefaultFields())), eq(250), any());
+    }
+
+    @Test
+    @DisplayName("Should reject passwordHash or unknown fields before opening the cursor")
+    void shouldRejectNonExportableFields() {
+        assertThatThrownBy(() -> service.exportUsers(List.of("email", "passwordHash"), user -> { }))
+                .isInstanceOf(AuthException.class)
+                .hasMessage("Campo no exportable: passwordHash");
+        assertThatThrownBy(() -> service.exportUsers(List.of("telefono"), user -> { }))
+                .isInstanceOf(AuthException.class);
+
+        verifyNoInteractions(userAuthRepositoryOutPort);
+    }
+}
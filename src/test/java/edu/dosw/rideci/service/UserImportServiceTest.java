@@ -0,0 +1,126 @@
+package edu.dosw.rideci.service;
+
+import edu.dosw.rideci.application.events.UserEvent;
+import edu.dosw.rideci.application.port.out.OutboxOutPort;
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import edu.dosw.rideci.application.service.UserImportService;
+import edu.dosw.rideci.domain.models.UserAuth;
+import edu.dosw.rideci.domain.models.enums.Role;
+import edu.dosw.rideci.domain.models.enums.identificationType;
+import edu.dosw.rideci.exceptions.DuplicateUserException;
+import edu.dosw.rideci.infrastructure.config.UserImportProperties;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.RegisterRequest;
+import edu.dosw.rideci.infrastructure.controllers.dto.Request.UserImportRow;
+import edu.dosw.rideci.infrastructure.controllers.dto.Response.UserImportResult;
+import edu.dosw.rideci.infrastructure.security.BulkPasswordHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para UserImportService (importación masiva por lotes)
+ */
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserAuthRepositoryOutPort userAuthRepositoryOutPort;
+
+    @Mock
+    private OutboxOutPort outbox;
+
+    @Mock
+    private BulkPasswordHasher passwordHasher;
+
+    private UserImportService service;
+    private List<UserImportResult> results;
+
+    @BeforeEach
+    void setup() {
+        UserImportProperties properties = new UserImportProperties();
+        properties.setBatchSize(2);
+        service = new UserImportService(userAuthRepositoryOutPort, outbox, passwordHasher, properties);
+        results = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should insert full batches, queue events only for created users and report every row")
+    void shouldImportInBatches() {
+        when(passwordHasher.encode(anyString())).thenReturn(CompletableFuture.completedFuture("$2a$10$hash"));
+        when(userAuthRepositoryOutPort.insertAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<UserAuth> users = invocation.getArgument(0);
+                    users.forEach(user -> user.setId("id-" + user.getInstitutionalId()));
+                    return users.size() == 2
+                            ? Map.of(1, new DuplicateUserException(DuplicateUserException.Field.EMAIL))
+                            : Map.of();
+                });
+
+        service.importUsers(List.of(
+                valid(1, "a@mail.escuelaing.edu.co", 1L),
+                UserImportRow.builder().line(2).email("malo").error("Email inválido").build(),
+                valid(3, "b@mail.escuelaing.edu.co", 3L),
+                valid(4, "c@mail.escuelaing.edu.co", 4L)).iterator(), results::add);
+
+        verify(userAuthRepositoryOutPort, times(2)).insertAll(anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outbox, times(2)).enqueueAll(events.capture(), eq("auth.user.create"));
+        assertThat(events.getAllValues().get(0)).extracting(UserEvent::getEmail).containsExactly("a@mail.escuelaing.edu.co");
+        assertThat(events.getAllValues().get(1)).extracting(UserEvent::getEmail).containsExactly("c@mail.escuelaing.edu.co");
+
+        // La fila inválida sale en cuanto se lee, antes que el lote donde estaba
+        assertThat(results).extracting(UserImportResult::getLine).containsExactly(2L, 1L, 3L, 4L);
+        assertThat(results).extracting(UserImportResult::getStatus).containsExactly(
+                UserImportResult.Status.INVALID,
+                UserImportResult.Status.CREATED,
+                UserImportResult.Status.DUPLICATE,
+                UserImportResult.Status.CREATED);
+        assertThat(results.get(1).getId()).isEqualTo("id-1");
+        assertThat(results.get(2).getMessage()).isEqualTo("El email ya está registrado");
+    }
+
+    @Test
+    @DisplayName("Should not touch Mongo when every row is invalid")
+    void shouldSkipInsertWhenNothingIsValid() {
+        service.importUsers(List.of(UserImportRow.builder().line(1).error("Fila mal formada").build()).iterator(),
+                results::add);
+
+        verify(userAuthRepositoryOutPort, never()).insertAll(anyList());
+        assertThat(results).singleElement()
+                .extracting(UserImportResult::getStatus).isEqualTo(UserImportResult.Status.INVALID);
+    }
+
+    private static UserImportRow valid(long line, String email, Long institutionalId) {
+        RegisterRequest request = RegisterRequest.builder()
+                .name("Estudiante " + line)
+                .email(email)
+                .password("Contraseña123*")
+                .phoneNumber("3001234567")
+                .role(Role.STUDENT)
+                .identificationType(identificationType.CC)
+                .identificationNumber("100" + line)
+                .Address("Calle 1")
+                .institutionalId(institutionalId)
+                .build();
+        return UserImportRow.builder().line(line).request(request).email(email).build();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.dosw.rideci.service;
+
+import edu.dosw.rideci.application.events.UserSyncFailedEvent;
+import edu.dosw.rideci.application.events.listener.UserSyncErrorListener;
+import edu.dosw.rideci.application.port.out.UserAuthRepositoryOutPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para UserSyncErrorListener (compensación por lotes)
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSyncErrorListenerTest {
+
+    @Mock
+    private UserAuthRepositoryOutPort userAuthRepositoryOutPort;
+
+    @InjectMocks
+    private UserSyncErrorListener listener;
+
+    @Test
+    @DisplayName("Should dedupe the emails of a batch and delete them in one call")
+    void shouldCompensateBatchWithOneDelete() {
+        when(userAuthRepositoryOutPort.deleteAllByEmail(any())).thenReturn(List.of("id-a", "id-b"));
+
+        listener.onUserCreateFailed(List.of(
+                failed("a@mail.escuelaing.edu.co"),
+                failed("b@mail.escuelaing.edu.co"),
+                failed("a@mail.escuelaing.edu.co"),
+                failed(null)));
+
+        verify(userAuthRepositoryOutPort, times(1))
+                .deleteAllByEmail(Set.of("a@mail.escuelaing.edu.co", "b@mail.escuelaing.edu.co"));
+    }
+
+    @Test
+    @DisplayName("Should propagate a failed delete so the whole batch is redelivered")
+    void shouldFailWholeBatch() {
+        when(userAuthRepositoryOutPort.deleteAllByEmail(any())).thenThrow(new IllegalStateException("Mongo caído"));
+
+        assertThatThrownBy(() -> listener.onUserCreateFailed(List.of(failed("a@mail.escuelaing.edu.co"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static UserSyncFailedEvent failed(String email) {
+        return UserSyncFailedEvent.builder().email(email).reason("user-management no disponible").build();
+    }
+}